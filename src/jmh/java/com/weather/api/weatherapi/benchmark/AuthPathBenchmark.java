@@ -0,0 +1,82 @@
+package com.weather.api.weatherapi.benchmark;
+
+import com.weather.api.weatherapi.filter.ApiKeyAuthentication;
+import com.weather.api.weatherapi.filter.PublicEndpoints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request authentication cost of a weather request before and after the single-pass
+ * fast path.
+ * <p>
+ * The {@code legacy} benchmark mirrors the previous flow: the filter streams over the excluded
+ * endpoints with {@code startsWith}, looks the key up, and the service looks the same key up again.
+ * The {@code fastPath} benchmark walks the precompiled {@link PublicEndpoints#MATCHER} once, looks the
+ * key up once, and the service reads the {@link ApiKeyAuthentication} left in the security context.
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthPathBenchmark {
+
+    private static final Set<String> LEGACY_EXCLUDED_ENDPOINTS = Set.of(
+            "/api/weather/health",
+            "/api/key",
+            "/api/key/**",
+            "/swagger-ui.html",
+            "/swagger-ui",
+            "/v3/api-docs"
+    );
+
+    private static final String API_KEY = "e7dd890a480d1e9547cd9d92b2f803c7";
+
+    @Param({"/api/weather/getWeather", "/api/weather/health"})
+    private String uri;
+
+    private Set<String> validKeys;
+
+    @Setup
+    public void setUp() {
+        validKeys = Set.of(API_KEY, "5f4dcc3b5aa765d61d8327deb882cf99", "3c6e0b8a9c15224a8228b9a98ca1531d",
+                "d8578edf8458ce06fbc5bb76a58c5ca4", "e99a18c428cb38d5f260853678922e03");
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        if (LEGACY_EXCLUDED_ENDPOINTS.stream().anyMatch(uri::startsWith)) {
+            return true;
+        }
+        // ApiKeyFilter, then WeatherService
+        return validKeys.contains(API_KEY) && validKeys.contains(API_KEY);
+    }
+
+    @Benchmark
+    public boolean fastPath() {
+        if (PublicEndpoints.MATCHER.matches(uri)) {
+            return true;
+        }
+        try {
+            // ApiKeyFilter
+            if (!validKeys.contains(API_KEY)) {
+                return false;
+            }
+            SecurityContextHolder.getContext().setAuthentication(new ApiKeyAuthentication(API_KEY));
+            // WeatherService
+            return ApiKeyAuthentication.isAuthenticated(API_KEY);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.weather.api.weatherapi.benchmark;
+
+import com.weather.api.weatherapi.ratelimit.RateLimitDecision;
+import com.weather.api.weatherapi.ratelimit.RateLimitTier;
+import com.weather.api.weatherapi.ratelimit.RateLimiter;
+import com.weather.api.weatherapi.ratelimit.SlidingWindowRateLimiter;
+import com.weather.api.weatherapi.ratelimit.TokenBucketRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rate limit checks per second from many threads.
+ * <p>
+ * With {@code keys=1} every thread contends on the same API key; with more keys the checks spread
+ * across independent per-key state.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    private static final RateLimitTier TIER = new RateLimitTier(1_000_000, Duration.ofSeconds(1));
+
+    @Param({"token-bucket", "sliding-window"})
+    private String algorithm;
+
+    @Param({"1", "1000"})
+    private int keys;
+
+    private RateLimiter rateLimiter;
+    private String[] apiKeys;
+
+    @Setup
+    public void setUp() {
+        rateLimiter = "token-bucket".equals(algorithm) ? new TokenBucketRateLimiter() : new SlidingWindowRateLimiter();
+        apiKeys = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            apiKeys[i] = "API_KEY_" + i;
+        }
+    }
+
+    @Benchmark
+    public RateLimitDecision tryAcquire() {
+        return rateLimiter.tryAcquire(apiKeys[ThreadLocalRandom.current().nextInt(keys)], 1, TIER);
+    }
+}
@@ -0,0 +1,119 @@
+package com.weather.api.weatherapi.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares platform threads and virtual threads for many concurrent blocking upstream calls.
+ * <p>
+ * Each operation issues {@code concurrency} RestTemplate calls against a local OpenWeatherMap stub
+ * that answers after {@code upstreamLatencyMs}. The platform model uses a fixed pool sized like
+ * Tomcat's default (200 threads); the virtual model starts one virtual thread per call.
+ * <p>
+ * The virtual model requires Java 21: {@code ./gradlew jmh -PjavaVersion=21}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ThreadModelBenchmark {
+
+    private static final byte[] STUB_RESPONSE =
+            "{\"weather\":[{\"description\":\"clear sky\"}]}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"platform", "virtual"})
+    private String threadModel;
+
+    @Param({"2000"})
+    private int concurrency;
+
+    @Param({"50"})
+    private int upstreamLatencyMs;
+
+    private HttpServer stub;
+    private ExecutorService stubExecutor;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+    private Executor executor;
+    private ExecutorService platformPool;
+    private String url;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        stubExecutor = Executors.newCachedThreadPool();
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        stub.createContext("/data/2.5/weather", exchange -> {
+            try {
+                Thread.sleep(upstreamLatencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, STUB_RESPONSE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(STUB_RESPONSE);
+            }
+        });
+        stub.setExecutor(stubExecutor);
+        stub.start();
+        url = "http://127.0.0.1:" + stub.getAddress().getPort() + "/data/2.5/weather?q=London,UK";
+
+        httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(concurrency)
+                        .setMaxConnPerRoute(concurrency)
+                        .build())
+                .build();
+        restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+
+        if ("virtual".equals(threadModel)) {
+            executor = new VirtualThreadTaskExecutor("bench-virtual-");
+        } else {
+            platformPool = Executors.newFixedThreadPool(200);
+            executor = platformPool;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (platformPool != null) {
+            platformPool.shutdownNow();
+        }
+        httpClient.close();
+        stub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public void concurrentUpstreamCalls() {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            calls[i] = CompletableFuture.runAsync(() -> restTemplate.getForObject(url, String.class), executor);
+        }
+        CompletableFuture.allOf(calls).join();
+    }
+}
@@ -0,0 +1,68 @@
+package com.weather.api.weatherapi.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.api.weatherapi.dto.WeatherApiResponse;
+import com.weather.api.weatherapi.upstream.WeatherApiResponseDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding an OpenWeatherMap response with full Jackson data binding (the previous
+ * {@code RestTemplate} path) against the streaming {@link WeatherApiResponseDecoder}.
+ * <p>
+ * Run with {@code ./gradlew jmh}; the GC profiler reports bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WeatherApiResponseDecodingBenchmark {
+
+    private static final String RESPONSE = """
+            {"coord":{"lon":-0.1257,"lat":51.5085},
+             "weather":[{"id":803,"main":"Clouds","description":"broken clouds","icon":"04d"}],
+             "base":"stations",
+             "main":{"temp":289.92,"feels_like":289.48,"temp_min":288.15,"temp_max":291.48,
+                     "pressure":1012,"humidity":72,"sea_level":1012,"grnd_level":1008},
+             "visibility":10000,
+             "wind":{"speed":4.63,"deg":240,"gust":8.75},
+             "clouds":{"all":75},
+             "dt":1718019600,
+             "sys":{"type":2,"id":2075535,"country":"GB","sunrise":1717991023,"sunset":1718050794},
+             "timezone":3600,"id":2643743,"name":"London","cod":200}
+            """;
+
+    private byte[] body;
+    private ObjectMapper objectMapper;
+    private WeatherApiResponseDecoder decoder;
+
+    @Setup
+    public void setUp() {
+        body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+        // Mirrors the ObjectMapper Spring configures for MappingJackson2HttpMessageConverter
+        objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        decoder = new WeatherApiResponseDecoder();
+    }
+
+    @Benchmark
+    public String databind() throws IOException {
+        WeatherApiResponse response = objectMapper.readValue(new ByteArrayInputStream(body), WeatherApiResponse.class);
+        return response.getWeather().get(0).getDescription();
+    }
+
+    @Benchmark
+    public String streaming() throws IOException {
+        WeatherApiResponse response = decoder.decode(new ByteArrayInputStream(body));
+        return response.getWeather().get(0).getDescription();
+    }
+}
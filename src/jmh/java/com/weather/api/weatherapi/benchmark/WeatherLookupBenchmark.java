@@ -0,0 +1,108 @@
+package com.weather.api.weatherapi.benchmark;
+
+import com.weather.api.weatherapi.dto.WeatherData;
+import com.weather.api.weatherapi.repository.WeatherRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a database hit of the weather lookup with a managed entity and with a read-only projection.
+ * <p>
+ * The {@code entity} benchmark mirrors the previous flow: {@link WeatherRepository#findByLookupKey(String)}
+ * in a read-write transaction, so Hibernate keeps the entity and a snapshot copy in the persistence
+ * context and dirty-checks it on commit. The {@code projection} benchmark uses
+ * {@link WeatherRepository#findReadOnly(String, String)} in a read-only transaction, as
+ * {@code WeatherService} does now. Both run against an embedded H2 database with the application's
+ * schema; compare {@code gc.alloc.rate.norm} for the allocation savings.
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WeatherLookupBenchmark {
+
+    private static final int LOCATIONS = 1_000;
+
+    private EmbeddedDatabase database;
+    private EntityManagerFactory entityManagerFactory;
+    private WeatherRepository weatherRepository;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+                .addScripts("db/migration/V1__baseline.sql", "db/migration/V2__weather_data_lookup_key.sql")
+                .build();
+        List<Object[]> rows = new ArrayList<>(LOCATIONS);
+        for (int i = 0; i < LOCATIONS; i++) {
+            rows.add(new Object[]{WeatherData.lookupKey("City" + i, "CC"), "City" + i, "CC", "clear sky", LocalDateTime.now()});
+        }
+        new JdbcTemplate(database).batchUpdate(
+                "INSERT INTO weather_data (lookup_key, city, country, description, timestamp) VALUES (?, ?, ?, ?, ?)", rows);
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(database);
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setPackagesToScan("com.weather.api.weatherapi.dto");
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+
+        weatherRepository = new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory))
+                .getRepository(WeatherRepository.class);
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManagerFactory.close();
+        database.shutdown();
+    }
+
+    @Benchmark
+    public String entity() {
+        String city = randomCity();
+        return readWrite.execute(status -> weatherRepository.findByLookupKey(WeatherData.lookupKey(city, "CC"))
+                .map(WeatherData::getDescription)
+                .orElse(null));
+    }
+
+    @Benchmark
+    public String projection() {
+        String city = randomCity();
+        return readOnly.execute(status -> weatherRepository.findReadOnly(city, "CC")
+                .map(WeatherData::getDescription)
+                .orElse(null));
+    }
+
+    private static String randomCity() {
+        return "City" + ThreadLocalRandom.current().nextInt(LOCATIONS);
+    }
+}
@@ -0,0 +1,115 @@
+package com.weather.api.weatherapi.audit;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the segments written by {@link KeyUsageAuditLog}.
+ * <p>
+ * Run as a command-line tool to print the records as CSV:
+ * <pre>
+ *   ./gradlew readAuditLog -Paudit=audit [-PapiKey=&lt;key&gt;]
+ * </pre>
+ * The argument is a segment file or the audit directory (all segments, oldest first). With
+ * {@code --key}, only records for that API key are printed; the key is hashed the same way as
+ * when it was recorded, so the log itself never contains it.
+ */
+public final class AuditLogReader {
+
+    private AuditLogReader() {
+    }
+
+    /**
+     * Reads the complete records of one segment. Slots that were never written are skipped.
+     *
+     * @param segment The segment file
+     * @return The records, in the order their slots were reserved
+     * @throws IOException If the file cannot be read or is not an audit segment
+     */
+    public static List<AuditRecord> read(Path segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.limit() < KeyUsageAuditLog.HEADER_SIZE || buffer.getInt(0) != KeyUsageAuditLog.MAGIC) {
+                throw new IOException("Not a key usage audit segment: " + segment);
+            }
+            short version = buffer.getShort(4);
+            int recordSize = buffer.getShort(6);
+            if (version != KeyUsageAuditLog.VERSION || recordSize != KeyUsageAuditLog.RECORD_SIZE) {
+                throw new IOException("Unsupported audit segment format " + version + " in " + segment);
+            }
+            int capacity = (int) Math.min(buffer.getInt(8),
+                    (buffer.limit() - KeyUsageAuditLog.HEADER_SIZE) / (long) recordSize);
+
+            List<AuditRecord> records = new ArrayList<>();
+            byte[] endpoint = new byte[KeyUsageAuditLog.MAX_ENDPOINT_LENGTH];
+            for (int slot = 0; slot < capacity; slot++) {
+                int offset = KeyUsageAuditLog.HEADER_SIZE + slot * recordSize;
+                long timestamp = buffer.getLong(offset);
+                if (timestamp == 0) {
+                    continue;
+                }
+                int length = Math.min(buffer.get(offset + 19) & 0xFF, endpoint.length);
+                buffer.get(offset + 20, endpoint, 0, length);
+                records.add(new AuditRecord(
+                        Instant.ofEpochMilli(timestamp),
+                        buffer.getLong(offset + 8),
+                        new String(endpoint, 0, length, StandardCharsets.US_ASCII),
+                        buffer.getShort(offset + 16) & 0xFFFF,
+                        AuditOutcome.ofOrdinal(buffer.get(offset + 18))));
+            }
+            return records;
+        }
+    }
+
+    /**
+     * Reads a segment file, or every segment in an audit directory, oldest first.
+     *
+     * @param path A segment file or the audit directory
+     * @return The records
+     * @throws IOException If a segment cannot be read
+     */
+    public static List<AuditRecord> readAll(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return read(path);
+        }
+        List<AuditRecord> records = new ArrayList<>();
+        for (Path segment : KeyUsageAuditLog.segmentFiles(path)) {
+            records.addAll(read(segment));
+        }
+        return records;
+    }
+
+    /**
+     * Prints audit records as CSV.
+     *
+     * @param args A segment file or the audit directory, optionally followed by {@code --key <apiKey>}
+     * @throws IOException If a segment cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1 && !(args.length == 3 && "--key".equals(args[1]))) {
+            System.err.println("Usage: AuditLogReader <segment-file|audit-directory> [--key <apiKey>]");
+            System.exit(2);
+        }
+        Long keyHash = args.length == 3 ? KeyUsageAuditLog.hashKey(args[2]) : null;
+
+        PrintStream out = System.out;
+        out.println("timestamp,key_hash,endpoint,status,outcome");
+        for (AuditRecord record : readAll(Path.of(args[0]))) {
+            if (keyHash == null || record.keyHash() == keyHash) {
+                out.printf("%s,%016x,%s,%d,%s%n", record.timestamp(), record.keyHash(), record.endpoint(),
+                        record.status(), record.outcome());
+            }
+        }
+    }
+}
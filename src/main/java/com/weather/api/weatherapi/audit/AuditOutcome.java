@@ -0,0 +1,57 @@
+package com.weather.api.weatherapi.audit;
+
+/**
+ * The outcome of an API-key-authenticated request, as recorded in the key usage audit log.
+ * <p>
+ * Stored by ordinal: new outcomes must be added at the end.
+ */
+public enum AuditOutcome {
+
+    /**
+     * The request was served.
+     */
+    ALLOWED,
+
+    /**
+     * The request had no API key.
+     */
+    MISSING_KEY,
+
+    /**
+     * The API key is not valid.
+     */
+    INVALID_KEY,
+
+    /**
+     * The API key exceeded its rate limit.
+     */
+    RATE_LIMITED,
+
+    /**
+     * The request failed for another reason.
+     */
+    ERROR;
+
+    private static final AuditOutcome[] VALUES = values();
+
+    /**
+     * Classifies a request with an API key by its response status.
+     *
+     * @param status The HTTP status code
+     * @return The outcome
+     */
+    public static AuditOutcome ofStatus(int status) {
+        if (status < 400) {
+            return ALLOWED;
+        }
+        return switch (status) {
+            case 401, 403 -> INVALID_KEY;
+            case 429 -> RATE_LIMITED;
+            default -> ERROR;
+        };
+    }
+
+    static AuditOutcome ofOrdinal(int ordinal) {
+        return ordinal >= 0 && ordinal < VALUES.length ? VALUES[ordinal] : ERROR;
+    }
+}
@@ -0,0 +1,15 @@
+package com.weather.api.weatherapi.audit;
+
+import java.time.Instant;
+
+/**
+ * One request in the key usage audit log.
+ *
+ * @param timestamp When the request completed
+ * @param keyHash   The first eight bytes of the SHA-256 of the API key, or 0 if the request had no key
+ * @param endpoint  The request path, truncated to {@link KeyUsageAuditLog#MAX_ENDPOINT_LENGTH} characters
+ * @param status    The HTTP status code
+ * @param outcome   The outcome
+ */
+public record AuditRecord(Instant timestamp, long keyHash, String endpoint, int status, AuditOutcome outcome) {
+}
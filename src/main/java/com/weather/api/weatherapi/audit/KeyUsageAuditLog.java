@@ -0,0 +1,285 @@
+package com.weather.api.weatherapi.audit;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, memory-mapped log of API key usage.
+ * <p>
+ * Each request with an API key is written as a fixed-size binary record (hashed key, endpoint,
+ * status, outcome, timestamp) into a preallocated segment file mapped into memory. Appending
+ * reserves a slot with one atomic increment and writes the record with plain memory stores, so
+ * it never takes a lock or makes a system call; the operating system writes the pages back. When
+ * a segment is full the next one is started, and only the newest {@code max-segments} segments are
+ * kept. Segments are read with {@link AuditLogReader}.
+ * <p>
+ * Segment layout (little-endian): a {@value #HEADER_SIZE}-byte header ({@value #MAGIC} magic, format
+ * version, record size, capacity, creation time) followed by {@value #RECORD_SIZE}-byte records:
+ * <pre>
+ *  0  long   timestamp (epoch millis, 0 = slot not written)
+ *  8  long   key hash (first 8 bytes of SHA-256, 0 = no key)
+ * 16  short  HTTP status
+ * 18  byte   outcome ({@link AuditOutcome} ordinal)
+ * 19  byte   endpoint length
+ * 20  byte[] endpoint (ASCII, up to {@value #MAX_ENDPOINT_LENGTH} bytes)
+ * </pre>
+ * The timestamp is written last, with release semantics, so a record with a timestamp is complete.
+ */
+@Slf4j
+@Component
+public class KeyUsageAuditLog {
+
+    static final int MAGIC = 0x57415544; // "WAUD"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 64;
+    static final String SEGMENT_PREFIX = "key-usage-";
+    static final String SEGMENT_SUFFIX = ".audit";
+
+    /**
+     * The number of endpoint characters kept in a record.
+     */
+    public static final int MAX_ENDPOINT_LENGTH = 44;
+
+    /**
+     * The number of key characters hashed into a record.
+     */
+    public static final int MAX_HASHED_KEY_LENGTH = 256;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final int maxSegments;
+    private final LongSupplier clock;
+
+    /**
+     * False when auditing is disabled, or after a segment could not be created.
+     */
+    private volatile boolean active;
+
+    private volatile Segment segment;
+
+    /**
+     * The sequence number of the next segment. Guarded by {@code this}.
+     */
+    private long nextSequence;
+
+    /**
+     * Creates the audit log and starts a new segment.
+     *
+     * @param enabled        Whether requests are audited
+     * @param directory      The directory holding the segment files
+     * @param segmentRecords The number of records per segment
+     * @param maxSegments    The number of segments kept
+     */
+    public KeyUsageAuditLog(@Value("${weather.audit.enabled:false}") boolean enabled,
+                            @Value("${weather.audit.directory:audit}") String directory,
+                            @Value("${weather.audit.segment-records:262144}") int segmentRecords,
+                            @Value("${weather.audit.max-segments:16}") int maxSegments) {
+        this(enabled, Path.of(directory), segmentRecords, maxSegments, System::currentTimeMillis);
+    }
+
+    KeyUsageAuditLog(boolean enabled, Path directory, int segmentRecords, int maxSegments, LongSupplier clock) {
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.maxSegments = Math.max(1, maxSegments);
+        this.clock = clock;
+        this.active = enabled;
+        if (enabled) {
+            try {
+                Files.createDirectories(directory);
+                nextSequence = segmentFiles(directory).stream()
+                        .mapToLong(KeyUsageAuditLog::sequenceOf)
+                        .max()
+                        .orElse(0) + 1;
+                segment = openSegment();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create the key usage audit log in " + directory, e);
+            }
+            log.info("Auditing API key usage to {}", directory.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Appends a record. Never throws: if the log cannot be written, auditing stops and the request proceeds.
+     *
+     * @param apiKey   The API key, or null if the request had none
+     * @param endpoint The request path
+     * @param status   The HTTP status code
+     * @param outcome  The outcome
+     */
+    public void record(String apiKey, String endpoint, int status, AuditOutcome outcome) {
+        if (!active) {
+            return;
+        }
+        long keyHash = apiKey == null ? 0 : hashKey(apiKey);
+        long timestamp = clock.getAsLong();
+        while (true) {
+            Segment current = segment;
+            int slot = current.next.getAndIncrement();
+            if (slot < segmentRecords) {
+                current.write(slot, timestamp, keyHash, endpoint, status, outcome);
+                return;
+            }
+            if (!rotate(current)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Flushes the current segment to disk on shutdown.
+     */
+    @PreDestroy
+    public void close() {
+        Segment current = segment;
+        if (current != null) {
+            current.buffer.force();
+        }
+    }
+
+    /**
+     * Hashes an API key the way it is stored in audit records. Only the first
+     * {@value #MAX_HASHED_KEY_LENGTH} characters are hashed, so oversized keys cost no more than valid ones.
+     *
+     * @param apiKey The API key
+     * @return The first eight bytes of the key's SHA-256, as a big-endian long
+     */
+    public static long hashKey(String apiKey) {
+        String hashed = apiKey.length() > MAX_HASHED_KEY_LENGTH ? apiKey.substring(0, MAX_HASHED_KEY_LENGTH) : apiKey;
+        byte[] digest = SHA_256.get().digest(hashed.getBytes(StandardCharsets.UTF_8));
+        long hash = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash << 8) | (digest[i] & 0xFF);
+        }
+        return hash;
+    }
+
+    /**
+     * Lists the segment files in a directory, oldest first.
+     *
+     * @param directory The audit directory
+     * @return The segment files
+     * @throws IOException If the directory cannot be listed
+     */
+    static List<Path> segmentFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> sequenceOf(file) > 0)
+                    .sorted((a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)))
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Replaces a full segment with a new one, unless another thread already did.
+     *
+     * @param full The full segment
+     * @return False if the new segment could not be created and auditing was stopped
+     */
+    private synchronized boolean rotate(Segment full) {
+        if (segment != full) {
+            return true;
+        }
+        try {
+            segment = openSegment();
+            deleteOldSegments();
+            return true;
+        } catch (IOException | UncheckedIOException e) {
+            active = false;
+            log.error("Cannot start a new key usage audit segment in {}. Auditing is stopped: {}", directory, e.getMessage());
+            return false;
+        }
+    }
+
+    private Segment openSegment() throws IOException {
+        Path file = directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, nextSequence++, SEGMENT_SUFFIX));
+        long size = HEADER_SIZE + (long) segmentRecords * RECORD_SIZE;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(0, MAGIC);
+            buffer.putShort(4, VERSION);
+            buffer.putShort(6, (short) RECORD_SIZE);
+            buffer.putInt(8, segmentRecords);
+            buffer.putLong(16, clock.getAsLong());
+            log.debug("Started key usage audit segment {}", file);
+            return new Segment(buffer);
+        }
+    }
+
+    private void deleteOldSegments() throws IOException {
+        List<Path> files = segmentFiles(directory);
+        for (int i = 0; i < files.size() - maxSegments; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    /**
+     * A mapped segment file and the next free slot in it.
+     */
+    private static final class Segment {
+
+        private final MappedByteBuffer buffer;
+        private final AtomicInteger next = new AtomicInteger();
+
+        Segment(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        void write(int slot, long timestamp, long keyHash, String endpoint, int status, AuditOutcome outcome) {
+            int offset = HEADER_SIZE + slot * RECORD_SIZE;
+            int length = Math.min(endpoint.length(), MAX_ENDPOINT_LENGTH);
+            buffer.putLong(offset + 8, keyHash);
+            buffer.putShort(offset + 16, (short) status);
+            buffer.put(offset + 18, (byte) outcome.ordinal());
+            buffer.put(offset + 19, (byte) length);
+            for (int i = 0; i < length; i++) {
+                char c = endpoint.charAt(i);
+                buffer.put(offset + 20 + i, (byte) (c < 0x80 ? c : '?'));
+            }
+            LONGS.setRelease(buffer, offset, timestamp);
+        }
+    }
+}
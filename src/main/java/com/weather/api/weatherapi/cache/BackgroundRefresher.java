@@ -0,0 +1,85 @@
+package com.weather.api.weatherapi.cache;
+
+import com.weather.api.weatherapi.config.ThreadFactories;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs asynchronous weather refreshes on a bounded executor.
+ * <p>
+ * At most one refresh per (city, country) is queued or running at a time. When the queue is full,
+ * new refreshes are dropped: the caller keeps serving the stale entry and a later request retries.
+ */
+@Slf4j
+@Component
+public class BackgroundRefresher {
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Keys with a refresh queued or running.
+     */
+    private final Set<WeatherKey> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates the refresher.
+     *
+     * @param threads        The number of refresh threads
+     * @param queueCapacity  The maximum number of refreshes waiting for a thread
+     * @param virtualThreads Whether refreshes run on virtual threads
+     */
+    public BackgroundRefresher(@Value("${weather.refresh.threads:4}") int threads,
+                               @Value("${weather.refresh.queue-capacity:100}") int queueCapacity,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), ThreadFactories.create("weather-refresh-", virtualThreads),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Schedules a refresh for the key unless one is already pending.
+     *
+     * @param key     The (city, country) key being refreshed
+     * @param refresh The refresh task
+     * @return True if the refresh was scheduled, false if it was already pending or the queue is full
+     */
+    public boolean submit(WeatherKey key, Runnable refresh) {
+        if (!pending.add(key)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh.run();
+                } catch (RuntimeException e) {
+                    log.warn("Background refresh failed for {}: {}", key, e.getMessage());
+                } finally {
+                    pending.remove(key);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            pending.remove(key);
+            log.warn("Background refresh queue is full. Skipping refresh for {}", key);
+            return false;
+        }
+    }
+
+    /**
+     * Stops the refresh threads on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,51 @@
+package com.weather.api.weatherapi.cache;
+
+import com.weather.api.weatherapi.service.WeatherService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Refreshes the hottest locations before their cache entries expire.
+ * <p>
+ * Every warm interval, the top-N locations reported by {@link HotKeyTracker} whose entries expire
+ * within the refresh-ahead window are refreshed in the background.
+ */
+@Slf4j
+@Component
+public class CacheWarmer {
+
+    private final HotKeyTracker hotKeyTracker;
+    private final WeatherService weatherService;
+    private final int warmCount;
+    private final Duration refreshAhead;
+
+    public CacheWarmer(HotKeyTracker hotKeyTracker,
+                       WeatherService weatherService,
+                       @Value("${weather.hotkeys.warm-count:20}") int warmCount,
+                       @Value("${weather.hotkeys.refresh-ahead:PT2M}") Duration refreshAhead) {
+        this.hotKeyTracker = hotKeyTracker;
+        this.weatherService = weatherService;
+        this.warmCount = warmCount;
+        this.refreshAhead = refreshAhead;
+    }
+
+    /**
+     * Refreshes hot entries that are about to expire.
+     */
+    @Scheduled(fixedDelayString = "${weather.hotkeys.warm-interval:PT1M}")
+    public void warmHotKeys() {
+        int scheduled = 0;
+        for (HotKeyTracker.HotKey hotKey : hotKeyTracker.hottest(warmCount)) {
+            if (weatherService.warm(hotKey.city(), hotKey.country(), hotKey.apiKey(), refreshAhead)) {
+                scheduled++;
+            }
+        }
+        if (scheduled > 0) {
+            log.info("Scheduled refresh of {} hot weather entries.", scheduled);
+        }
+    }
+}
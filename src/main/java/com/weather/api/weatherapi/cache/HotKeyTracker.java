@@ -0,0 +1,215 @@
+package com.weather.api.weatherapi.cache;
+
+import com.weather.api.weatherapi.dto.HotKeyStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks approximate request frequency per (city, country) and the current top-K hottest locations.
+ * <p>
+ * Frequencies are kept in a fixed-size count-min sketch, so memory does not grow with the number
+ * of distinct locations. Only the top-K candidates are kept individually; a location enters the
+ * top-K once its estimate exceeds the smallest tracked count. Counts are halved periodically so
+ * that the ranking follows current traffic.
+ */
+@Slf4j
+@Component
+public class HotKeyTracker {
+
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final int width;
+    private final int topK;
+    private final AtomicLongArray sketch;
+
+    /**
+     * Current top-K candidates, keyed by normalized (city, country).
+     */
+    private final Map<WeatherKey, HotKey> top = new ConcurrentHashMap<>();
+
+    /**
+     * Guards structural changes to the top-K candidates.
+     */
+    private final ReentrantLock topLock = new ReentrantLock();
+
+    /**
+     * The smallest count in a full top-K; a key must exceed it to enter.
+     */
+    private volatile long admissionThreshold;
+
+    /**
+     * Creates the tracker.
+     *
+     * @param topK  The number of hottest locations to track
+     * @param width The number of counters per sketch row
+     */
+    public HotKeyTracker(@Value("${weather.hotkeys.top-k:100}") int topK,
+                         @Value("${weather.hotkeys.sketch-width:4096}") int width) {
+        this.topK = topK;
+        this.width = width;
+        this.sketch = new AtomicLongArray(DEPTH * width);
+    }
+
+    /**
+     * Records a successfully answered request for a city/country.
+     *
+     * @param city    The city name
+     * @param country The country code
+     * @param apiKey  The API key of the request, kept so the location can be refreshed later
+     */
+    public void record(String city, String country, String apiKey) {
+        WeatherKey key = WeatherKey.of(city, country);
+        long estimate = increment(key);
+
+        HotKey hotKey = top.get(key);
+        if (hotKey != null) {
+            hotKey.update(city, country, apiKey, estimate);
+            return;
+        }
+        if (top.size() < topK || estimate > admissionThreshold) {
+            admit(key, new HotKey(city, country, apiKey, estimate));
+        }
+    }
+
+    /**
+     * Returns the hottest locations, most requested first.
+     *
+     * @param limit The maximum number of locations to return
+     * @return The hottest locations
+     */
+    public List<HotKey> hottest(int limit) {
+        return top.values().stream()
+                .sorted(Comparator.comparingLong(HotKey::count).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Returns the hottest locations as DTOs, most requested first.
+     *
+     * @param limit The maximum number of locations to return
+     * @return The hottest locations with their estimated request counts
+     */
+    public List<HotKeyStats> stats(int limit) {
+        return hottest(limit).stream()
+                .map(hotKey -> new HotKeyStats(hotKey.city(), hotKey.country(), hotKey.count()))
+                .toList();
+    }
+
+    /**
+     * Halves every counter so that old traffic gradually stops counting.
+     */
+    @Scheduled(fixedRateString = "${weather.hotkeys.decay-interval:PT10M}")
+    public void decay() {
+        for (int i = 0; i < sketch.length(); i++) {
+            long value;
+            do {
+                value = sketch.get(i);
+            } while (value != 0 && !sketch.compareAndSet(i, value, value >>> 1));
+        }
+        topLock.lock();
+        try {
+            top.values().removeIf(hotKey -> hotKey.halve() == 0);
+            admissionThreshold = top.size() < topK ? 0 : minimumCount();
+        } finally {
+            topLock.unlock();
+        }
+        log.debug("Decayed hot key counters. Tracking {} hot locations.", top.size());
+    }
+
+    private long increment(WeatherKey key) {
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            long count = sketch.incrementAndGet(row * width + index(hash, row));
+            estimate = Math.min(estimate, count);
+        }
+        return estimate;
+    }
+
+    private int index(int hash, int row) {
+        int h = (hash ^ SEEDS[row]) * 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, width);
+    }
+
+    private void admit(WeatherKey key, HotKey candidate) {
+        topLock.lock();
+        try {
+            if (top.putIfAbsent(key, candidate) != null) {
+                return;
+            }
+            if (top.size() > topK) {
+                top.entrySet().stream()
+                        .min(Comparator.comparingLong(entry -> entry.getValue().count()))
+                        .ifPresent(coldest -> top.remove(coldest.getKey()));
+            }
+            admissionThreshold = top.size() < topK ? 0 : minimumCount();
+        } finally {
+            topLock.unlock();
+        }
+    }
+
+    private long minimumCount() {
+        return top.values().stream().mapToLong(HotKey::count).min().orElse(0);
+    }
+
+    /**
+     * A tracked hot location with the last seen spelling and API key.
+     */
+    public static final class HotKey {
+
+        private volatile String city;
+        private volatile String country;
+        private volatile String apiKey;
+        private volatile long count;
+
+        HotKey(String city, String country, String apiKey, long count) {
+            this.city = city;
+            this.country = country;
+            this.apiKey = apiKey;
+            this.count = count;
+        }
+
+        void update(String city, String country, String apiKey, long count) {
+            this.city = city;
+            this.country = country;
+            this.apiKey = apiKey;
+            this.count = count;
+        }
+
+        long halve() {
+            count = count >>> 1;
+            return count;
+        }
+
+        public String city() {
+            return city;
+        }
+
+        public String country() {
+            return country;
+        }
+
+        public String apiKey() {
+            return apiKey;
+        }
+
+        public long count() {
+            return count;
+        }
+    }
+}
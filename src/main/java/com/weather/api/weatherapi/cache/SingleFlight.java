@@ -0,0 +1,80 @@
+package com.weather.api.weatherapi.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single in-flight execution.
+ * <p>
+ * The first caller for a key runs the supplier on its own thread; every caller that arrives
+ * while that execution is in flight waits for it and receives the same result or exception.
+ * Once the execution completes, the key is released and the next call starts a new execution.
+ *
+ * @param <K> The key type
+ * @param <V> The result type
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * Executions currently in flight, keyed by the coalescing key.
+     */
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the supplier for the key, or joins an execution that is already in flight.
+     *
+     * @param key      The coalescing key
+     * @param supplier The work to run if no execution is in flight for the key
+     * @return The result shared by all callers of this execution
+     * @throws RuntimeException The exception thrown by the supplier, rethrown to every waiter
+     */
+    public V execute(K key, Supplier<V> supplier) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            V result = supplier.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Returns the number of executions currently in flight.
+     *
+     * @return The number of in-flight keys
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.weather.api.weatherapi.cache;
+
+import com.weather.api.weatherapi.dto.WeatherData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Bounded, concurrent in-process cache of {@link WeatherData} keyed by (city, country).
+ * <p>
+ * This is the first cache tier in front of the database:
+ * - Entries are considered fresh while their {@code timestamp} is younger than the configured TTL.
+ * - Once the cache holds more than {@code maxSize} entries, the oldest inserted keys are evicted (FIFO).
+ * - In stale-while-revalidate mode, expired entries younger than the hard TTL may still be served
+ *   while a background refresh runs.
+ * <p>
+ * Stale entries are kept until they are replaced or evicted, so that callers can still
+ * fall back to the last known value when needed.
+ */
+@Slf4j
+@Component
+public class WeatherCache {
+
+    /**
+     * Cached weather data, keyed by normalized (city, country).
+     */
+    private final Map<WeatherKey, WeatherData> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Keys in insertion order, used for size-based eviction.
+     */
+    private final Queue<WeatherKey> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    private final Duration ttl;
+    private final Duration hardTtl;
+    private final int maxSize;
+    private final boolean staleWhileRevalidate;
+
+    /**
+     * Creates the cache with stale-while-revalidate disabled.
+     *
+     * @param ttl     How long an entry is considered fresh, measured from its timestamp
+     * @param maxSize The maximum number of entries kept in memory
+     */
+    public WeatherCache(Duration ttl, int maxSize) {
+        this(ttl, ttl, maxSize, false);
+    }
+
+    /**
+     * Creates the cache.
+     *
+     * @param ttl                  How long an entry is considered fresh (soft TTL), measured from its timestamp
+     * @param hardTtl              How long an expired entry may still be served while it is refreshed
+     * @param maxSize              The maximum number of entries kept in memory
+     * @param staleWhileRevalidate Whether expired entries younger than the hard TTL may be served
+     */
+    @Autowired
+    public WeatherCache(@Value("${weather.cache.ttl:PT10M}") Duration ttl,
+                        @Value("${weather.cache.hard-ttl:PT1H}") Duration hardTtl,
+                        @Value("${weather.cache.max-size:10000}") int maxSize,
+                        @Value("${weather.cache.stale-while-revalidate:false}") boolean staleWhileRevalidate) {
+        this.ttl = ttl;
+        this.hardTtl = hardTtl;
+        this.maxSize = maxSize;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        log.info("WeatherCache initialized with ttl={}, hardTtl={}, maxSize={}, staleWhileRevalidate={}",
+                ttl, hardTtl, maxSize, staleWhileRevalidate);
+    }
+
+    /**
+     * Returns the cached weather data for a city/country if it is still fresh.
+     *
+     * @param city    The city name
+     * @param country The country code
+     * @return Optional containing fresh weather data, or empty on a miss or stale entry
+     */
+    public Optional<WeatherData> get(String city, String country) {
+        WeatherData data = entries.get(WeatherKey.of(city, country));
+        return data != null && isFresh(data) ? Optional.of(data) : Optional.empty();
+    }
+
+    /**
+     * Returns an expired entry that may still be served while it is refreshed in the background.
+     *
+     * @param city    The city name
+     * @param country The country code
+     * @return Optional containing the stale weather data, or empty if stale-while-revalidate is
+     *         disabled or no entry is younger than the hard TTL
+     */
+    public Optional<WeatherData> getStale(String city, String country) {
+        WeatherData data = entries.get(WeatherKey.of(city, country));
+        return data != null && isServableStale(data) ? Optional.of(data) : Optional.empty();
+    }
+
+    /**
+     * Checks whether a request for a city/country can be answered from the cache, fresh or stale,
+     * without an OpenWeatherMap fetch.
+     *
+     * @param city    The city name
+     * @param country The country code
+     * @return True if {@link #get} or {@link #getStale} would return an entry
+     */
+    public boolean canServe(String city, String country) {
+        WeatherData data = entries.get(WeatherKey.of(city, country));
+        return data != null && (isFresh(data) || isServableStale(data));
+    }
+
+    /**
+     * Returns the cached weather data for a city/country regardless of its age.
+     *
+     * @param city    The city name
+     * @param country The country code
+     * @return Optional containing the last cached weather data, or empty if none is cached
+     */
+    public Optional<WeatherData> getLastKnown(String city, String country) {
+        return Optional.ofNullable(entries.get(WeatherKey.of(city, country)));
+    }
+
+    /**
+     * Stores weather data in the cache, evicting the oldest entries if the cache is full.
+     *
+     * @param data The weather data to cache
+     */
+    public void put(WeatherData data) {
+        WeatherKey key = WeatherKey.of(data.getCity(), data.getCountry());
+        if (entries.put(key, data) == null) {
+            insertionOrder.offer(key);
+            evictIfNecessary();
+        }
+    }
+
+    /**
+     * Checks whether weather data is still within the configured TTL.
+     *
+     * @param data The weather data to check
+     * @return True if the data is fresh, false otherwise
+     */
+    public boolean isFresh(WeatherData data) {
+        LocalDateTime timestamp = data.getTimestamp();
+        return timestamp != null && timestamp.isAfter(LocalDateTime.now().minus(ttl));
+    }
+
+    /**
+     * Checks whether weather data expires within the given window (or has already expired).
+     *
+     * @param data   The weather data to check
+     * @param window How far ahead to look
+     * @return True if the data is no longer fresh at {@code now + window}
+     */
+    public boolean expiresWithin(WeatherData data, Duration window) {
+        LocalDateTime timestamp = data.getTimestamp();
+        return timestamp == null || !timestamp.isAfter(LocalDateTime.now().minus(ttl).plus(window));
+    }
+
+    /**
+     * Checks whether expired weather data may still be served in stale-while-revalidate mode.
+     *
+     * @param data The weather data to check
+     * @return True if stale-while-revalidate is enabled and the data is younger than the hard TTL
+     */
+    public boolean isServableStale(WeatherData data) {
+        LocalDateTime timestamp = data.getTimestamp();
+        return staleWhileRevalidate && timestamp != null && timestamp.isAfter(LocalDateTime.now().minus(hardTtl));
+    }
+
+    /**
+     * Returns a copy of the entries currently held in the cache, fresh or not.
+     *
+     * @return The cached weather data, in no particular order
+     */
+    public List<WeatherData> values() {
+        return List.copyOf(entries.values());
+    }
+
+    /**
+     * Returns the number of entries currently held in the cache.
+     *
+     * @return The cache size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictIfNecessary() {
+        while (entries.size() > maxSize) {
+            WeatherKey eldest = insertionOrder.poll();
+            if (eldest == null) {
+                return;
+            }
+            entries.remove(eldest);
+            log.debug("Evicted weather cache entry: {}", eldest);
+        }
+    }
+}
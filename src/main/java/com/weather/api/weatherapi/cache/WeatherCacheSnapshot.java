@@ -0,0 +1,288 @@
+package com.weather.api.weatherapi.cache;
+
+import com.weather.api.weatherapi.dto.WeatherData;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32C;
+
+/**
+ * Saves the weather cache to a binary snapshot file and loads it back on startup.
+ * <p>
+ * The database is in memory, so without a snapshot every restart starts with an empty cache and
+ * every location is fetched from OpenWeatherMap again. The cache is saved every {@code interval}
+ * and on shutdown, to a temporary file that then replaces the snapshot, so a crash mid-write leaves
+ * the previous snapshot intact. On startup, before the application accepts traffic, the snapshot is
+ * mapped into memory and its entries are put back into the cache, except those that are neither
+ * fresh nor servable stale any more. A snapshot with an unknown version or a bad checksum is ignored.
+ * <p>
+ * File layout (little-endian): a {@value #HEADER_SIZE}-byte header followed by the entries:
+ * <pre>
+ *  0  int    magic ({@value #MAGIC})
+ *  4  short  format version
+ *  8  long   creation time (epoch millis)
+ * 16  int    entry count
+ * 20  int    entries length in bytes
+ * 24  int    CRC-32C of the entries
+ * 60  int    CRC-32C of header bytes 0-59
+ * </pre>
+ * Each entry is the data timestamp (long, epoch millis) followed by the city, country and
+ * description, each as a short byte length (-1 for null) and UTF-8 bytes.
+ */
+@Slf4j
+@Component
+public class WeatherCacheSnapshot {
+
+    static final int MAGIC = 0x5743534E; // "WCSN"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 64;
+
+    private static final int HEADER_CHECKSUM_OFFSET = 60;
+    private static final int MAX_STRING_BYTES = Short.MAX_VALUE;
+
+    private final WeatherCache weatherCache;
+    private final boolean enabled;
+    private final Path file;
+    private final LongSupplier clock;
+
+    /**
+     * Creates the snapshot store.
+     *
+     * @param weatherCache The cache to save and restore
+     * @param enabled      Whether the cache is saved and restored
+     * @param file         The snapshot file
+     */
+    @Autowired
+    public WeatherCacheSnapshot(WeatherCache weatherCache,
+                                @Value("${weather.cache.snapshot.enabled:false}") boolean enabled,
+                                @Value("${weather.cache.snapshot.file:snapshot/weather-cache.snapshot}") String file) {
+        this(weatherCache, enabled, Path.of(file), System::currentTimeMillis);
+    }
+
+    WeatherCacheSnapshot(WeatherCache weatherCache, boolean enabled, Path file, LongSupplier clock) {
+        this.weatherCache = weatherCache;
+        this.enabled = enabled;
+        this.file = file;
+        this.clock = clock;
+    }
+
+    /**
+     * Puts the entries of the snapshot file into the cache. Never throws: a missing, unreadable or
+     * corrupt snapshot only means a cold cache.
+     */
+    @PostConstruct
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        List<WeatherData> entries;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            entries = decode(buffer.order(ByteOrder.LITTLE_ENDIAN));
+        } catch (NoSuchFileException e) {
+            log.info("No weather cache snapshot at {}. Starting with an empty cache", file.toAbsolutePath());
+            return;
+        } catch (IOException | IllegalArgumentException | BufferUnderflowException e) {
+            log.warn("Ignoring weather cache snapshot {}: {}", file.toAbsolutePath(), e.getMessage());
+            return;
+        }
+
+        int restored = 0;
+        for (WeatherData data : entries) {
+            if (!weatherCache.isFresh(data) && !weatherCache.isServableStale(data)) {
+                continue;
+            }
+            WeatherData current = weatherCache.getLastKnown(data.getCity(), data.getCountry()).orElse(null);
+            if (current == null || current.getTimestamp() == null || current.getTimestamp().isBefore(data.getTimestamp())) {
+                weatherCache.put(data);
+                restored++;
+            }
+        }
+        log.info("Restored {} of {} weather cache entries from {}", restored, entries.size(), file.toAbsolutePath());
+    }
+
+    /**
+     * Writes the current cache contents to the snapshot file. Never throws: if the file cannot be
+     * written, the previous snapshot is kept.
+     */
+    @Scheduled(fixedDelayString = "${weather.cache.snapshot.interval:PT5M}",
+            initialDelayString = "${weather.cache.snapshot.interval:PT5M}")
+    public synchronized void save() {
+        if (!enabled) {
+            return;
+        }
+        List<WeatherData> entries = weatherCache.values();
+        ByteBuffer buffer = encode(entries, clock.getAsLong());
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Cannot write the weather cache snapshot {}: {}", file.toAbsolutePath(), e.getMessage());
+            return;
+        }
+        log.debug("Saved {} weather cache entries to {}", entries.size(), file);
+    }
+
+    /**
+     * Saves the cache on shutdown.
+     */
+    @PreDestroy
+    public void close() {
+        save();
+    }
+
+    static ByteBuffer encode(List<WeatherData> entries, long createdAt) {
+        List<Entry> encoded = new ArrayList<>(entries.size());
+        int length = 0;
+        for (WeatherData data : entries) {
+            Entry entry = Entry.of(data);
+            if (entry != null) {
+                encoded.add(entry);
+                length += entry.length();
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(HEADER_SIZE);
+        for (Entry entry : encoded) {
+            buffer.putLong(entry.timestamp());
+            for (byte[] string : entry.strings()) {
+                putString(buffer, string);
+            }
+        }
+
+        CRC32C entriesChecksum = new CRC32C();
+        entriesChecksum.update(buffer.array(), HEADER_SIZE, length);
+        buffer.putInt(0, MAGIC)
+                .putShort(4, VERSION)
+                .putLong(8, createdAt)
+                .putInt(16, encoded.size())
+                .putInt(20, length)
+                .putInt(24, (int) entriesChecksum.getValue());
+        CRC32C headerChecksum = new CRC32C();
+        headerChecksum.update(buffer.array(), 0, HEADER_CHECKSUM_OFFSET);
+        buffer.putInt(HEADER_CHECKSUM_OFFSET, (int) headerChecksum.getValue());
+        return buffer.clear();
+    }
+
+    static List<WeatherData> decode(ByteBuffer buffer) {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a weather cache snapshot");
+        }
+        if (buffer.getShort(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot version " + buffer.getShort(4));
+        }
+        CRC32C headerChecksum = new CRC32C();
+        headerChecksum.update(buffer.slice(0, HEADER_CHECKSUM_OFFSET));
+        if ((int) headerChecksum.getValue() != buffer.getInt(HEADER_CHECKSUM_OFFSET)) {
+            throw new IllegalArgumentException("Header checksum mismatch");
+        }
+        int count = buffer.getInt(16);
+        int length = buffer.getInt(20);
+        if (count < 0 || length < 0 || length != buffer.limit() - HEADER_SIZE) {
+            throw new IllegalArgumentException("Truncated snapshot");
+        }
+        CRC32C entriesChecksum = new CRC32C();
+        entriesChecksum.update(buffer.slice(HEADER_SIZE, length));
+        if ((int) entriesChecksum.getValue() != buffer.getInt(24)) {
+            throw new IllegalArgumentException("Entries checksum mismatch");
+        }
+
+        ByteBuffer entries = buffer.slice(HEADER_SIZE, length).order(ByteOrder.LITTLE_ENDIAN);
+        List<WeatherData> decoded = new ArrayList<>(Math.min(count, length / Long.BYTES));
+        for (int i = 0; i < count; i++) {
+            long timestamp = entries.getLong();
+            WeatherData data = new WeatherData(getString(entries), getString(entries), getString(entries));
+            data.setTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()));
+            decoded.add(data);
+        }
+        return decoded;
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] string) {
+        if (string == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        buffer.putShort((short) string.length);
+        buffer.put(string);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * An entry's timestamp and encoded city, country and description.
+     */
+    private record Entry(long timestamp, byte[][] strings) {
+
+        /**
+         * Encodes cached data, or returns null if it has no timestamp or a field too long to encode.
+         */
+        static Entry of(WeatherData data) {
+            if (data.getTimestamp() == null) {
+                return null;
+            }
+            byte[][] strings = {utf8(data.getCity()), utf8(data.getCountry()), utf8(data.getDescription())};
+            for (byte[] string : strings) {
+                if (string != null && string.length > MAX_STRING_BYTES) {
+                    return null;
+                }
+            }
+            return new Entry(data.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), strings);
+        }
+
+        int length() {
+            int length = Long.BYTES;
+            for (byte[] string : strings) {
+                length += Short.BYTES + (string == null ? 0 : string.length);
+            }
+            return length;
+        }
+    }
+}
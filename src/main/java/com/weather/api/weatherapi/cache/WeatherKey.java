@@ -0,0 +1,35 @@
+package com.weather.api.weatherapi.cache;
+
+import java.util.Locale;
+
+/**
+ * Normalized (city, country) lookup key used by the in-memory weather cache.
+ * <p>
+ * City and country are trimmed and lower-cased so that "London, UK" and "london, uk"
+ * resolve to the same cache entry.
+ *
+ * @param city    The normalized city name
+ * @param country The normalized country code
+ */
+public record WeatherKey(String city, String country) {
+
+    /**
+     * Creates a normalized key for the given city and country.
+     *
+     * @param city    The city name (e.g., "London")
+     * @param country The country code (e.g., "UK")
+     * @return The normalized key
+     */
+    public static WeatherKey of(String city, String country) {
+        return new WeatherKey(normalize(city), normalize(country));
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        return city + "|" + country;
+    }
+}
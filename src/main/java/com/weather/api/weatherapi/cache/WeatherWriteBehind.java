@@ -0,0 +1,284 @@
+package com.weather.api.weatherapi.cache;
+
+import com.weather.api.weatherapi.config.ThreadFactories;
+import com.weather.api.weatherapi.dto.WeatherData;
+import com.weather.api.weatherapi.logging.HotPath;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Persists fetched weather data behind the request path.
+ * <p>
+ * Callers put fetched data in the cache and hand it to {@link #submit(WeatherData)}, which only
+ * queues it. A single writer thread writes the queue in JDBC batches, one transaction per batch,
+ * every {@code flush-interval} or as soon as a batch is full: every observation is appended to
+ * {@code weather_observation}, and the latest data per location is upserted into
+ * {@code weather_data}, so repeated refreshes of a location update its row once.
+ * <p>
+ * The queue is bounded: when it is full, the submitting thread writes its own row, waiting for the
+ * writer if it is busy, so a database that cannot keep up slows fetches down instead of growing the
+ * queue. Whatever is queued on shutdown is written before the application stops.
+ * <p>
+ * Writes are serialized by a {@link ReentrantLock} rather than {@code synchronized}, so a request
+ * thread waiting for a batch in progress never pins a virtual thread to its carrier.
+ */
+@Slf4j
+@Component
+public class WeatherWriteBehind {
+
+    /**
+     * Inserts or refreshes the row of a location (H2's {@code MERGE ... KEY}, on the unique lookup key).
+     */
+    private static final String UPSERT_SQL = "MERGE INTO weather_data (lookup_key, city, country, description, timestamp) "
+            + "KEY (lookup_key) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_OBSERVATION_SQL = "INSERT INTO weather_observation "
+            + "(lookup_key, city, country, description, observed_at, observed_day) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final ScheduledExecutorService writer;
+
+    /**
+     * The latest unwritten data per location.
+     */
+    private final Map<WeatherKey, WeatherData> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Every unwritten observation, and their number (which bounds the queue).
+     */
+    private final Queue<WeatherData> observations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger observationCount = new AtomicInteger();
+
+    /**
+     * Set while an early flush of a full batch is scheduled.
+     */
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    /**
+     * Held while writing, so batches and caller-run writes never interleave.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Creates the write-behind queue and starts its writer thread.
+     *
+     * @param jdbcTemplate        The database holding {@code weather_data}
+     * @param transactionTemplate Runs each batch in one transaction
+     * @param queueCapacity       The maximum number of observations waiting to be written
+     * @param batchSize           The maximum number of rows per JDBC batch
+     * @param flushInterval       How often queued data is written
+     */
+    @Autowired
+    public WeatherWriteBehind(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${weather.write-behind.queue-capacity:10000}") int queueCapacity,
+                              @Value("${weather.write-behind.batch-size:500}") int batchSize,
+                              @Value("${weather.write-behind.flush-interval:PT1S}") Duration flushInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.writer = Executors.newSingleThreadScheduledExecutor(ThreadFactories.create("weather-write-behind-", false));
+        this.writer.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues fetched weather data to be written, replacing any queued latest data for the same location.
+     * <p>
+     * Writes the data on the calling thread instead if the queue is full.
+     *
+     * @param weatherData The fetched weather data
+     */
+    public void submit(WeatherData weatherData) {
+        WeatherKey key = WeatherKey.of(weatherData.getCity(), weatherData.getCountry());
+        if (observationCount.get() >= queueCapacity) {
+            log.debug(HotPath.MARKER, "Write-behind queue is full. Writing weather data for {} on the caller", key);
+            writeNow(weatherData);
+            return;
+        }
+        observationCount.incrementAndGet();
+        observations.add(weatherData);
+        pending.put(key, weatherData);
+        if (observationCount.get() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                // Shutting down: the final flush writes the queue
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of locations whose latest data is waiting to be written.
+     *
+     * @return The number of locations
+     */
+    public int getPending() {
+        return pending.size();
+    }
+
+    /**
+     * Writes all queued data in batches.
+     * <p>
+     * If a batch fails, it is queued again (unless newer data for a location arrived meanwhile) and
+     * retried on the next flush.
+     */
+    public void flush() {
+        writeLock.lock();
+        try {
+            flushPending();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the writer and writes whatever is still queued.
+     */
+    @PreDestroy
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        if (observationCount.get() > 0) {
+            log.warn("{} weather observations were not written on shutdown", observationCount.get());
+        }
+    }
+
+    /**
+     * Writes one location's data on the calling thread, after any batch in progress.
+     * <p>
+     * Queued latest data for the same location that is not newer is dropped first, so the next flush
+     * cannot write it over this row.
+     */
+    private void writeNow(WeatherData weatherData) {
+        WeatherKey key = WeatherKey.of(weatherData.getCity(), weatherData.getCountry());
+        writeLock.lock();
+        try {
+            // Under the lock: a failed batch has already put its data back
+            pending.computeIfPresent(key, (k, queued) -> isNewer(queued, weatherData) ? queued : null);
+            write(List.of(weatherData), List.of(weatherData));
+        } catch (DataAccessException | TransactionException e) {
+            // The data is cached and will be written by the next refresh of the location
+            log.warn("Failed to write weather data for city: {}, country: {}: {}",
+                    weatherData.getCity(), weatherData.getCountry(), e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static boolean isNewer(WeatherData candidate, WeatherData reference) {
+        return candidate.getTimestamp() != null && reference.getTimestamp() != null
+                && candidate.getTimestamp().isAfter(reference.getTimestamp());
+    }
+
+    private void flushPending() {
+        flushRequested.set(false);
+        while (true) {
+            List<WeatherData> latest = new ArrayList<>(Math.min(batchSize, pending.size()));
+            Iterator<Map.Entry<WeatherKey, WeatherData>> entries = pending.entrySet().iterator();
+            while (entries.hasNext() && latest.size() < batchSize) {
+                Map.Entry<WeatherKey, WeatherData> entry = entries.next();
+                if (pending.remove(entry.getKey(), entry.getValue())) {
+                    latest.add(entry.getValue());
+                }
+            }
+            List<WeatherData> history = new ArrayList<>();
+            WeatherData observation;
+            while (history.size() < batchSize && (observation = observations.poll()) != null) {
+                history.add(observation);
+            }
+            observationCount.addAndGet(-history.size());
+            if (latest.isEmpty() && history.isEmpty()) {
+                return;
+            }
+            try {
+                write(latest, history);
+                log.debug("Wrote {} weather rows and {} observations", latest.size(), history.size());
+            } catch (DataAccessException | TransactionException e) {
+                latest.forEach(weatherData ->
+                        pending.putIfAbsent(WeatherKey.of(weatherData.getCity(), weatherData.getCountry()), weatherData));
+                observations.addAll(history);
+                observationCount.addAndGet(history.size());
+                log.warn("Failed to write {} weather rows and {} observations. Retrying on the next flush: {}",
+                        latest.size(), history.size(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Keep the scheduled writer alive
+            log.error("Write-behind flush failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Upserts the latest rows and appends the observations in one transaction.
+     */
+    private void write(List<WeatherData> latest, List<WeatherData> history) {
+        List<Object[]> upserts = new ArrayList<>(latest.size());
+        for (WeatherData weatherData : latest) {
+            upserts.add(new Object[]{WeatherData.lookupKey(weatherData.getCity(), weatherData.getCountry()),
+                    weatherData.getCity(), weatherData.getCountry(), weatherData.getDescription(),
+                    weatherData.getTimestamp()});
+        }
+        List<Object[]> inserts = new ArrayList<>(history.size());
+        for (WeatherData weatherData : history) {
+            inserts.add(new Object[]{WeatherData.lookupKey(weatherData.getCity(), weatherData.getCountry()),
+                    weatherData.getCity(), weatherData.getCountry(), weatherData.getDescription(),
+                    weatherData.getTimestamp(), weatherData.getTimestamp().toLocalDate()});
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeBatches(upserts, inserts));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent insert of the same location won the race and has committed: this attempt updates its row
+            transactionTemplate.executeWithoutResult(status -> writeBatches(upserts, inserts));
+        }
+    }
+
+    private void writeBatches(List<Object[]> upserts, List<Object[]> inserts) {
+        if (!upserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, upserts);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_OBSERVATION_SQL, inserts);
+        }
+    }
+}
@@ -1,14 +1,81 @@
 package com.weather.api.weatherapi.config;
 
+import com.weather.api.weatherapi.upstream.WeatherApiResponseDecoder;
+import com.weather.api.weatherapi.upstream.WeatherApiResponseHttpMessageConverter;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Configuration
 public class AppConfig {
 
+    /**
+     * Connection pool shared by all OpenWeatherMap requests.
+     * <p>
+     * Connections are kept alive and reused across requests, bounded per route and in total,
+     * and never live longer than the configured time-to-live.
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager upstreamConnectionManager(
+            @Value("${weather.http.max-connections:200}") int maxConnections,
+            @Value("${weather.http.max-connections-per-route:50}") int maxConnectionsPerRoute,
+            @Value("${weather.http.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${weather.http.read-timeout:PT5S}") Duration readTimeout,
+            @Value("${weather.http.connection-ttl:PT5M}") Duration connectionTtl) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(connectionTtl))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Pooled HTTP client with lease/response timeouts and background eviction of idle connections.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient upstreamHttpClient(
+            PoolingHttpClientConnectionManager upstreamConnectionManager,
+            @Value("${weather.http.connection-request-timeout:PT1S}") Duration connectionRequestTimeout,
+            @Value("${weather.http.response-timeout:PT5S}") Duration responseTimeout,
+            @Value("${weather.http.idle-eviction:PT30S}") Duration idleEviction) {
+        return HttpClients.custom()
+                .setConnectionManager(upstreamConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .build();
+    }
+
+    /**
+     * RestTemplate used for OpenWeatherMap calls.
+     * <p>
+     * {@code WeatherApiResponse} bodies are decoded by the streaming converter registered
+     * ahead of the default Jackson converter.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient upstreamHttpClient) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(upstreamHttpClient));
+        restTemplate.getMessageConverters().add(0, new WeatherApiResponseHttpMessageConverter(new WeatherApiResponseDecoder()));
+        return restTemplate;
     }
-}
\ No newline at end of file
+}
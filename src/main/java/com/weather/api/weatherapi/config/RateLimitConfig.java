@@ -0,0 +1,51 @@
+package com.weather.api.weatherapi.config;
+
+import com.weather.api.weatherapi.ratelimit.InMemoryRateLimitStore;
+import com.weather.api.weatherapi.ratelimit.JdbcRateLimitStore;
+import com.weather.api.weatherapi.ratelimit.LeasedRateLimiter;
+import com.weather.api.weatherapi.ratelimit.RateLimitProperties;
+import com.weather.api.weatherapi.ratelimit.RateLimitStore;
+import com.weather.api.weatherapi.ratelimit.RateLimiter;
+import com.weather.api.weatherapi.ratelimit.SlidingWindowRateLimiter;
+import com.weather.api.weatherapi.ratelimit.TokenBucketRateLimiter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.LongSupplier;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    /**
+     * The rate limiter selected by {@code weather.rate-limit.store} and {@code weather.rate-limit.algorithm}.
+     * <p>
+     * The local store enforces limits per node. The memory and JDBC stores hold the authoritative
+     * buckets and are reached through token leases; only the JDBC store is shared between nodes.
+     */
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties,
+                                   ObjectProvider<JdbcTemplate> jdbcTemplate,
+                                   ObjectProvider<TransactionTemplate> transactionTemplate) {
+        LongSupplier clock = RateLimiter.monotonicClock();
+        return switch (properties.getStore()) {
+            case LOCAL -> switch (properties.getAlgorithm()) {
+                case TOKEN_BUCKET -> new TokenBucketRateLimiter(clock, properties.getMaxKeys(), properties.getExpiryTick());
+                case SLIDING_WINDOW -> new SlidingWindowRateLimiter(clock, properties.getMaxKeys(), properties.getExpiryTick());
+            };
+            case MEMORY -> leased(properties, clock,
+                    new InMemoryRateLimitStore(clock, properties.getMaxKeys(), properties.getExpiryTick()));
+            case JDBC -> leased(properties, clock,
+                    new JdbcRateLimitStore(jdbcTemplate.getObject(), transactionTemplate.getObject()));
+        };
+    }
+
+    private static RateLimiter leased(RateLimitProperties properties, LongSupplier clock, RateLimitStore store) {
+        return new LeasedRateLimiter(store, clock, properties.getMaxLeaseSize(), properties.getLeaseTtl(),
+                properties.getMaxKeys(), properties.getExpiryTick());
+    }
+}
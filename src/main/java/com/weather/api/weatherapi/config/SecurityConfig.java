@@ -1,7 +1,9 @@
 package com.weather.api.weatherapi.config;
 
 
+import com.weather.api.weatherapi.filter.AdaptiveConcurrencyFilter;
 import com.weather.api.weatherapi.filter.ApiKeyFilter;
+import com.weather.api.weatherapi.filter.PublicEndpoints;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,25 +18,22 @@ import org.springframework.security.web.authentication.www.BasicAuthenticationFi
 public class SecurityConfig {
 
     private final ApiKeyFilter apiKeyFilter; // Inject the filter
+    private final AdaptiveConcurrencyFilter adaptiveConcurrencyFilter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(csrf -> csrf.disable()) // Disable CSRF for simplicity
                 .authorizeHttpRequests(auth -> auth
-                        // Permit access to excluded endpoints
-                        .requestMatchers("/api/weather/health").permitAll()
-                        .requestMatchers("/api/key").permitAll()
-                        .requestMatchers("/api/key/**").permitAll()
-                        .requestMatchers("/swagger-ui.html").permitAll()
-                        .requestMatchers("/swagger-ui").permitAll()
-                        .requestMatchers("/v3/api-docs").permitAll()
-                        .requestMatchers("/api/weather/getWeather").permitAll() // Permit the /getWeather endpoint
-                        // Secure all other endpoints
+                        // Permit access to public endpoints (shared with ApiKeyFilter)
+                        .requestMatchers(PublicEndpoints.PATTERNS.toArray(String[]::new)).permitAll()
+                        // All other endpoints are authenticated by ApiKeyFilter
                         .anyRequest().authenticated()
                 )
                 // Add the API key filter
-                .addFilterBefore(apiKeyFilter, BasicAuthenticationFilter.class);
+                .addFilterBefore(apiKeyFilter, BasicAuthenticationFilter.class)
+                // Shed load once the request is authenticated
+                .addFilterAfter(adaptiveConcurrencyFilter, ApiKeyFilter.class);
 
         return http.build();
     }
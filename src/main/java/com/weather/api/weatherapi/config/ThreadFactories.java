@@ -0,0 +1,35 @@
+package com.weather.api.weatherapi.config;
+
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates thread factories for the application's internal executors.
+ * <p>
+ * When {@code spring.threads.virtual.enabled=true} (Java 21+), executors keep their bounded pool and
+ * queue sizes but run tasks on virtual threads, so blocking OpenWeatherMap calls do not hold
+ * platform threads. Otherwise named daemon platform threads are used.
+ */
+public final class ThreadFactories {
+
+    private ThreadFactories() {
+    }
+
+    /**
+     * Creates a thread factory.
+     *
+     * @param threadNamePrefix The prefix for thread names (e.g., "weather-fetch-")
+     * @param virtualThreads   Whether to create virtual threads (requires Java 21+)
+     * @return The thread factory
+     */
+    public static ThreadFactory create(String threadNamePrefix, boolean virtualThreads) {
+        if (virtualThreads) {
+            return new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory();
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
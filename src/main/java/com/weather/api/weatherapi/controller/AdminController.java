@@ -0,0 +1,88 @@
+package com.weather.api.weatherapi.controller;
+
+import com.weather.api.weatherapi.cache.HotKeyTracker;
+import com.weather.api.weatherapi.dto.ConcurrencyLimitStats;
+import com.weather.api.weatherapi.dto.HotKeyStats;
+import com.weather.api.weatherapi.dto.UpstreamPoolStats;
+import com.weather.api.weatherapi.filter.AdaptiveConcurrencyLimiter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Operational endpoints exposing internal runtime state.
+ * <p>
+ * These endpoints require a valid API key, like the weather endpoints.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Tag(name = "Admin", description = "Operational endpoints for monitoring the service")
+public class AdminController {
+
+    private final PoolingHttpClientConnectionManager upstreamConnectionManager;
+    private final HotKeyTracker hotKeyTracker;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    /**
+     * Returns usage of the OpenWeatherMap connection pool.
+     *
+     * @return ResponseEntity with leased, pending, available and maximum connection counts
+     */
+    @GetMapping("/upstream-pool")
+    @Operation(
+            summary = "Upstream connection pool usage",
+            description = "Returns leased, pending, available and maximum connections of the OpenWeatherMap HTTP pool."
+    )
+    @ApiResponse(responseCode = "200", description = "Pool usage returned")
+    public ResponseEntity<UpstreamPoolStats> upstreamPool() {
+        PoolStats stats = upstreamConnectionManager.getTotalStats();
+        return ResponseEntity.ok(new UpstreamPoolStats(
+                stats.getLeased(), stats.getPending(), stats.getAvailable(), stats.getMax()));
+    }
+
+    /**
+     * Returns the most requested locations.
+     *
+     * @param limit The maximum number of locations to return
+     * @return ResponseEntity with the hottest locations, most requested first
+     */
+    @GetMapping("/hot-keys")
+    @Operation(
+            summary = "Hottest locations",
+            description = "Returns the most requested city/country pairs with their approximate recent request counts."
+    )
+    @ApiResponse(responseCode = "200", description = "Hot locations returned")
+    public ResponseEntity<List<HotKeyStats>> hotKeys(
+            @RequestParam(defaultValue = "20")
+            @Parameter(description = "Maximum number of locations to return") int limit) {
+        return ResponseEntity.ok(hotKeyTracker.stats(limit));
+    }
+
+    /**
+     * Returns the state of the adaptive concurrency limit.
+     *
+     * @return ResponseEntity with the current limit, requests in flight and requests shed
+     */
+    @GetMapping("/concurrency")
+    @Operation(
+            summary = "Adaptive concurrency limit",
+            description = "Returns the current in-flight limit for weather requests, the requests in flight and the requests shed with 503."
+    )
+    @ApiResponse(responseCode = "200", description = "Concurrency limit returned")
+    public ResponseEntity<ConcurrencyLimitStats> concurrency() {
+        return ResponseEntity.ok(new ConcurrencyLimitStats(
+                concurrencyLimiter.getLimit(), concurrencyLimiter.getInFlight(), concurrencyLimiter.getShed()));
+    }
+}
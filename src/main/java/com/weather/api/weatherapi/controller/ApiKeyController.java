@@ -1,6 +1,11 @@
 package com.weather.api.weatherapi.controller;
 
+import com.weather.api.weatherapi.dto.ApiKeyUsage;
+import com.weather.api.weatherapi.dto.RateLimitStatus;
+import com.weather.api.weatherapi.logging.HotPath;
 import com.weather.api.weatherapi.service.ApiKeyService;
+import com.weather.api.weatherapi.service.RateLimitService;
+import com.weather.api.weatherapi.usage.UsageMeter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,6 +16,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.Map;
 import java.util.Set;
 
@@ -22,6 +28,8 @@ import java.util.Set;
 public class ApiKeyController {
 
     private final ApiKeyService apiKeyService;
+    private final RateLimitService rateLimitService;
+    private final UsageMeter usageMeter;
 
     /**
      * Add a new API key.
@@ -42,17 +50,17 @@ public class ApiKeyController {
             @Parameter(description = "The API key to add", required = true) String apiKey) {
 
         if (apiKey == null || apiKey.trim().isEmpty()) {
-            log.warn("Attempted to add an invalid API key: {}", apiKey);
+            log.warn("Attempted to add an invalid API key: {}", HotPath.mask(apiKey));
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("API key cannot be null or empty.");
         }
 
         if (apiKeyService.isValidKey(apiKey)) {
-            log.warn("Attempted to add an already existing API key: {}", apiKey);
+            log.warn("Attempted to add an already existing API key: {}", HotPath.mask(apiKey));
             return ResponseEntity.status(HttpStatus.CONFLICT).body("API key already exists.");
         }
 
         apiKeyService.addApiKey(apiKey);
-        log.info("Added new API key: {}", apiKey);
+        log.info("Added new API key: {}", HotPath.mask(apiKey));
         return ResponseEntity.status(HttpStatus.CREATED).body("API key added successfully.");
     }
 
@@ -75,17 +83,17 @@ public class ApiKeyController {
             @Parameter(description = "The API key to delete", required = true) String apiKey) {
 
         if (apiKey == null || apiKey.trim().isEmpty()) {
-            log.warn("Attempted to delete an invalid API key: {}", apiKey);
+            log.warn("Attempted to delete an invalid API key: {}", HotPath.mask(apiKey));
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("API key cannot be null or empty.");
         }
 
         if (!apiKeyService.isValidKey(apiKey)) {
-            log.warn("Attempted to delete a non-existent API key: {}", apiKey);
+            log.warn("Attempted to delete a non-existent API key: {}", HotPath.mask(apiKey));
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("API key does not exist.");
         }
 
         apiKeyService.deleteApiKey(apiKey);
-        log.info("Deleted API key: {}", apiKey);
+        log.info("Deleted API key: {}", HotPath.mask(apiKey));
         return ResponseEntity.ok("API key deleted successfully.");
     }
 
@@ -102,7 +110,7 @@ public class ApiKeyController {
     @ApiResponse(responseCode = "200", description = "Successfully retrieved API keys")
     public ResponseEntity<Set<String>> listApiKeys() {
         Set<String> apiKeys = apiKeyService.listApiKeys();
-        log.info("Listing all API keys: {}", apiKeys);
+        log.info("Listing {} API keys", apiKeys.size());
         return ResponseEntity.ok(apiKeys);
     }
 
@@ -123,10 +131,63 @@ public class ApiKeyController {
             @Parameter(description = "The API key to validate", required = true) String apiKey) {
 
         boolean isValid = apiKeyService.isValidKey(apiKey);
-        log.info("Validating API key: {}. Result: {}", apiKey, isValid);
+        log.info("Validating API key: {}. Result: {}", HotPath.mask(apiKey), isValid);
 
         // Return the validation result as JSON
         Map<String, Boolean> response = Map.of("isValid", isValid);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Get the remaining rate limit quota of an API key.
+     *
+     * @param apiKey The API key to inspect
+     * @return ResponseEntity with the tier, remaining requests and retry-after, or 404 if the key does not exist
+     */
+    @GetMapping("/quota")
+    @Operation(
+            summary = "Get the rate limit quota of an API key",
+            description = "Returns the API key's tier, remaining requests and seconds until the next request is admitted."
+    )
+    @ApiResponse(responseCode = "200", description = "Quota returned")
+    @ApiResponse(responseCode = "404", description = "API key does not exist")
+    public ResponseEntity<RateLimitStatus> getQuota(
+            @RequestParam
+            @Parameter(description = "The API key to inspect", required = true) String apiKey) {
+
+        if (!apiKeyService.isValidKey(apiKey)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(rateLimitService.getStatus(apiKey));
+    }
+
+    /**
+     * Get the metered usage of an API key.
+     *
+     * @param apiKey The API key to inspect
+     * @param from   The start of the period (inclusive), or null for all recorded usage
+     * @param to     The end of the period (exclusive), or null for up to now
+     * @return ResponseEntity with the usage counts, or 404 if the key does not exist
+     */
+    @GetMapping("/usage")
+    @Operation(
+            summary = "Get the usage of an API key",
+            description = "Returns the API key's requests, cache hits, OpenWeatherMap fetches and rate limit rejections. " +
+                    "Usage is recorded per hour; from/to are ISO-8601 instants (e.g., 2024-06-01T00:00:00Z)."
+    )
+    @ApiResponse(responseCode = "200", description = "Usage returned")
+    @ApiResponse(responseCode = "404", description = "API key does not exist")
+    public ResponseEntity<ApiKeyUsage> getUsage(
+            @RequestParam
+            @Parameter(description = "The API key to inspect", required = true) String apiKey,
+            @RequestParam(required = false)
+            @Parameter(description = "Start of the period (inclusive)") Instant from,
+            @RequestParam(required = false)
+            @Parameter(description = "End of the period (exclusive)") Instant to) {
+
+        if (!apiKeyService.isValidKey(apiKey)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(usageMeter.getUsage(apiKey, from, to));
+    }
+}
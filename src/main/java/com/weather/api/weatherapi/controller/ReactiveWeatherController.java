@@ -0,0 +1,105 @@
+package com.weather.api.weatherapi.controller;
+
+import com.weather.api.weatherapi.dto.ErrorResponse;
+import com.weather.api.weatherapi.dto.WeatherResponse;
+import com.weather.api.weatherapi.exception.InvalidApiKeyException;
+import com.weather.api.weatherapi.exception.RateLimitExceededException;
+import com.weather.api.weatherapi.exception.WeatherServiceException;
+import com.weather.api.weatherapi.service.ReactiveWeatherService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.NotBlank;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of {@link WeatherController#getWeather(String, String, String)}.
+ * <p>
+ * Enabled with {@code weather.reactive.enabled=true}. The request thread is released while the
+ * OpenWeatherMap call is in flight, so both stacks can run side by side on one node for comparison.
+ * Validation and error mapping (403, 429, 503) match the blocking endpoint.
+ */
+@Tag(name = "Weather API (reactive)", description = "Non-blocking variant of the weather endpoint")
+@RestController
+@RequestMapping("/api/weather/reactive")
+@RequiredArgsConstructor
+@Validated
+@ConditionalOnProperty(name = "weather.reactive.enabled", havingValue = "true")
+public class ReactiveWeatherController {
+
+    private final ReactiveWeatherService reactiveWeatherService;
+
+    /**
+     * Retrieves the weather description for a specified city and country without blocking.
+     *
+     * @param city    the city name (e.g., "London") (required)
+     * @param country the country code (e.g., "UK") (required)
+     * @param apiKey  the API key for authentication (required)
+     * @return Mono of ResponseEntity containing the weather description
+     */
+    @Operation(
+            summary = "Get weather description (non-blocking)",
+            description = "Fetches weather description for a city/country using an API key, " +
+                    "using WebClient and the in-memory cache."
+    )
+    @ApiResponse(responseCode = "200", description = "Successful response")
+    @ApiResponse(responseCode = "400", description = "Invalid input parameters")
+    @ApiResponse(responseCode = "403", description = "Invalid API key")
+    @ApiResponse(responseCode = "429", description = "Rate limit exceeded")
+    @GetMapping("/getWeather")
+    public Mono<ResponseEntity<WeatherResponse>> getWeather(
+            @Parameter(description = "City name (e.g., 'London')", required = true)
+            @RequestParam @NotBlank(message = "City is required") String city,
+
+            @Parameter(description = "Country code (e.g., 'UK')", required = true)
+            @RequestParam @NotBlank(message = "Country is required") String country,
+
+            @Parameter(description = "API key (one of API_KEY_1 to API_KEY_5)", required = true)
+            @RequestParam @NotBlank(message = "API key is required") String apiKey) {
+
+        return reactiveWeatherService.getWeather(city, country, apiKey)
+                .map(data -> ResponseEntity.ok(new WeatherResponse(data.getDescription())));
+    }
+
+    /**
+     * Handles invalid API key errors.
+     *
+     * @return error response with 403 status
+     */
+    @ExceptionHandler(InvalidApiKeyException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidApiKey() {
+        return ResponseEntity.status(403)
+                .body(new ErrorResponse("Invalid API key"));
+    }
+
+    /**
+     * Handles rate limit exceeded errors.
+     *
+     * @param exception the rate limit error, carrying how long the client should wait
+     * @return error response with 429 status and a {@code Retry-After} header
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException exception) {
+        return ResponseEntity.status(429)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(new ErrorResponse("Rate limit exceeded"));
+    }
+
+    /**
+     * Handles external service unavailability errors.
+     *
+     * @return error response with 503 status
+     */
+    @ExceptionHandler(WeatherServiceException.class)
+    public ResponseEntity<ErrorResponse> handleServiceError() {
+        return ResponseEntity.status(503)
+                .body(new ErrorResponse("External service unavailable"));
+    }
+}
@@ -2,20 +2,30 @@ package com.weather.api.weatherapi.controller;
 
 import com.weather.api.weatherapi.dto.*;
 import com.weather.api.weatherapi.exception.*;
+import com.weather.api.weatherapi.health.HealthProbe;
+import com.weather.api.weatherapi.service.WeatherHistoryService;
 import com.weather.api.weatherapi.service.WeatherService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * Weather API controller providing endpoints for weather data and health checks.
  *
@@ -38,6 +48,8 @@ public class WeatherController {
 
     private static final Logger logger = LoggerFactory.getLogger(WeatherController.class);
     private final WeatherService weatherService;
+    private final WeatherHistoryService weatherHistoryService;
+    private final HealthProbe healthProbe;
 
 
     /**
@@ -79,12 +91,104 @@ public class WeatherController {
         logger.debug("City: " + city);
         logger.debug("Country: " + country);
         WeatherData data = weatherService.getWeather(city, country, apiKey);
+        if (data.isStale()) {
+            // Last known data served while OpenWeatherMap is unavailable
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.WARNING, "110 - \"Response is Stale\"")
+                    .body(new WeatherResponse(data.getDescription()));
+        }
         return ResponseEntity.ok(new WeatherResponse(data.getDescription()));
     }
 
 
+    /**
+     * Retrieves weather descriptions for many city/country pairs in one request.
+     * <p>
+     * Duplicate locations are resolved once, and each distinct location counts as one request
+     * against the API key's rate limit. Failures are reported per location.
+     *
+     * @param apiKey  the API key for authentication (required)
+     * @param request the locations to look up
+     * @return ResponseEntity containing one result per requested location
+     * @throws InvalidApiKeyException      if the API key is invalid
+     * @throws BatchExceedsTierLimitException if the batch needs more requests than the API key's tier allows
+     * @throws RateLimitExceededException  if the batch exceeds the API key's rate limit
+     */
+    @Operation(
+            summary = "Get weather descriptions in batch",
+            description = "Fetches weather descriptions for up to 100 city/country pairs. " +
+                    "Cached data is returned where available; misses are fetched in parallel."
+    )
+    @ApiResponse(responseCode = "200", description = "Per-location results")
+    @ApiResponse(responseCode = "400", description = "Invalid input parameters, or more locations than the tier allows")
+    @ApiResponse(responseCode = "403", description = "Invalid API key")
+    @ApiResponse(responseCode = "429", description = "Rate limit exceeded")
+    @PostMapping("/batch")
+    public ResponseEntity<WeatherBatchResponse> getWeatherBatch(
+            @Parameter(description = "API key (one of API_KEY_1 to API_KEY_5)", required = true)
+            @RequestParam @NotBlank(message = "API key is required") String apiKey,
+
+            @RequestBody @Valid WeatherBatchRequest request) {
+
+        List<WeatherBatchResult> results = weatherService.getWeatherBatch(request.locations(), apiKey);
+        return ResponseEntity.ok(new WeatherBatchResponse(results));
+    }
+
+    /**
+     * Retrieves the observation history of a city/country, newest first, one page at a time.
+     * <p>
+     * Pass the returned {@code nextCursor} as {@code cursor} to get the next (older) page.
+     *
+     * @param city    the city name (e.g., "London") (required)
+     * @param country the country code (e.g., "UK") (required)
+     * @param apiKey  the API key for authentication (required)
+     * @param from    the earliest observation time to return (inclusive)
+     * @param to      the latest observation time to return (exclusive)
+     * @param cursor  the cursor of the page to return, from the previous response
+     * @param limit   the maximum number of observations per page
+     * @return ResponseEntity containing the page and the cursor of the next one
+     * @throws InvalidApiKeyException      if the API key is invalid
+     * @throws RateLimitExceededException  if the API key's rate limit is exceeded
+     */
+    @Operation(
+            summary = "Get weather history",
+            description = "Returns the stored OpenWeatherMap observations of a city/country, newest first, " +
+                    "with cursor-based paging."
+    )
+    @ApiResponse(responseCode = "200", description = "One page of observations")
+    @ApiResponse(responseCode = "400", description = "Invalid input parameters or cursor")
+    @ApiResponse(responseCode = "403", description = "Invalid API key")
+    @ApiResponse(responseCode = "429", description = "Rate limit exceeded")
+    @GetMapping("/history")
+    public ResponseEntity<WeatherHistoryResponse> getHistory(
+            @Parameter(description = "City name (e.g., 'London')", required = true)
+            @RequestParam @NotBlank(message = "City is required") String city,
+
+            @Parameter(description = "Country code (e.g., 'UK')", required = true)
+            @RequestParam @NotBlank(message = "Country is required") String country,
+
+            @Parameter(description = "API key (one of API_KEY_1 to API_KEY_5)", required = true)
+            @RequestParam @NotBlank(message = "API key is required") String apiKey,
+
+            @Parameter(description = "Earliest observation time, inclusive (e.g., '2025-04-01T00:00:00')")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+
+            @Parameter(description = "Latest observation time, exclusive (e.g., '2025-04-02T00:00:00')")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Observations per page (1 to 1000)")
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+
+        return ResponseEntity.ok(weatherHistoryService.getHistory(city, country, apiKey, from, to, cursor, limit));
+    }
+
     /**
      * Checks the health of the service and database connectivity.
+     * <p>
+     * Reports the last background database probe; the database is not queried by this request.
      *
      * @return ResponseEntity indicating service status and database health
      */
@@ -95,10 +199,43 @@ public class WeatherController {
     @ApiResponse(responseCode = "200", description = "Service healthy")
     @GetMapping("/health")
     public ResponseEntity<HealthResponse> healthCheck() {
-        boolean dbHealthy = weatherService.isDatabaseHealthy();
+        boolean dbHealthy = healthProbe.getDatabase().up();
         return ResponseEntity.ok(new HealthResponse("OK", dbHealthy));
     }
 
+    /**
+     * Liveness probe: the process is running and serving HTTP. Checks no dependencies, so an outage
+     * of the database or OpenWeatherMap never gets the instance restarted.
+     *
+     * @return ResponseEntity with status UP
+     */
+    @Operation(
+            summary = "Liveness probe",
+            description = "Succeeds while the service is running, regardless of its dependencies"
+    )
+    @ApiResponse(responseCode = "200", description = "Service running")
+    @GetMapping("/health/live")
+    public ResponseEntity<LivenessResponse> liveness() {
+        return ResponseEntity.ok(new LivenessResponse("UP"));
+    }
+
+    /**
+     * Readiness probe, answered from the cached background probes of the database and OpenWeatherMap.
+     *
+     * @return ResponseEntity with the probe results, 503 if the instance cannot serve requests
+     */
+    @Operation(
+            summary = "Readiness probe",
+            description = "Reports whether the service can serve requests, from cached database and upstream probes"
+    )
+    @ApiResponse(responseCode = "200", description = "Service ready (UP, or DEGRADED while OpenWeatherMap is unreachable)")
+    @ApiResponse(responseCode = "503", description = "Service not ready")
+    @GetMapping("/health/ready")
+    public ResponseEntity<ReadinessResponse> readiness() {
+        ReadinessResponse readiness = healthProbe.getReadiness();
+        return ResponseEntity.status("DOWN".equals(readiness.status()) ? 503 : 200).body(readiness);
+    }
+
     /**
      * Handles invalid API key errors.
      *
@@ -114,15 +251,43 @@ public class WeatherController {
     /**
      * Handles rate limit exceeded errors.
      *
-     * @return error response with 429 status
+     * @param exception the rate limit error, carrying how long the client should wait
+     * @return error response with 429 status and a {@code Retry-After} header
      */
     @ExceptionHandler(RateLimitExceededException.class)
     @ApiResponse(responseCode = "429", description = "Rate limit exceeded")
-    public ResponseEntity<ErrorResponse> handleRateLimitExceeded() {
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException exception) {
         return ResponseEntity.status(429)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
                 .body(new ErrorResponse("Rate limit exceeded"));
     }
 
+    /**
+     * Handles batches that need more requests than the API key's tier allows per period. Retrying
+     * cannot help, so this is a client error rather than a 429.
+     *
+     * @param exception the error, carrying the tier limit
+     * @return error response with 400 status
+     */
+    @ExceptionHandler(BatchExceedsTierLimitException.class)
+    @ApiResponse(responseCode = "400", description = "Batch exceeds tier limit")
+    public ResponseEntity<ErrorResponse> handleBatchExceedsTierLimit(BatchExceedsTierLimitException exception) {
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponse("Batch exceeds tier limit of " + exception.getLimit() + " requests"));
+    }
+
+    /**
+     * Handles malformed history cursors.
+     *
+     * @return error response with 400 status
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    public ResponseEntity<ErrorResponse> handleInvalidCursor() {
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponse("Invalid cursor"));
+    }
+
     /**
      * Handles external service unavailability errors.
      *
@@ -0,0 +1,17 @@
+package com.weather.api.weatherapi.dto;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) representing the metered usage of an API key.
+ *
+ * @param apiKey          The API key
+ * @param from            The start of the reported period (inclusive), or null for all recorded usage
+ * @param to              The end of the reported period (exclusive), or null for up to now
+ * @param requests        Locations requested within the rate limit
+ * @param cacheHits       Locations answered from the cache or the database
+ * @param upstreamFetches Locations that needed an OpenWeatherMap fetch
+ * @param rejections      Requests refused by the rate limit
+ */
+public record ApiKeyUsage(String apiKey, Instant from, Instant to, long requests, long cacheHits,
+                          long upstreamFetches, long rejections) {}
@@ -0,0 +1,10 @@
+package com.weather.api.weatherapi.dto;
+
+/**
+ * Data Transfer Object (DTO) representing the state of the adaptive concurrency limit.
+ *
+ * @param limit    The current maximum number of weather requests in flight
+ * @param inFlight The number of weather requests in flight
+ * @param shed     The number of requests refused with 503 since startup
+ */
+public record ConcurrencyLimitStats(int limit, int inFlight, long shed) {}
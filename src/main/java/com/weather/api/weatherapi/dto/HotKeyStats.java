@@ -0,0 +1,10 @@
+package com.weather.api.weatherapi.dto;
+
+/**
+ * Data Transfer Object (DTO) representing one of the most requested locations.
+ *
+ * @param city              The city name, as last requested
+ * @param country           The country code, as last requested
+ * @param estimatedRequests The approximate number of recent requests (count-min sketch estimate)
+ */
+public record HotKeyStats(String city, String country, long estimatedRequests) {}
@@ -0,0 +1,8 @@
+package com.weather.api.weatherapi.dto;
+
+/**
+ * Response of the liveness probe. Carries only the process status, never the state of a dependency.
+ *
+ * @param status "UP" while the service is running
+ */
+public record LivenessResponse(String status) {}
@@ -0,0 +1,19 @@
+package com.weather.api.weatherapi.dto;
+
+import java.time.Instant;
+
+/**
+ * The outcome of one background health probe.
+ *
+ * @param up            Whether the dependency answered
+ * @param latencyMillis How long the probe took
+ * @param checkedAt     When the probe ran, or null if it has not run yet
+ * @param error         Why the probe failed, or null if it succeeded
+ */
+public record ProbeResult(boolean up, long latencyMillis, Instant checkedAt, String error) {
+
+    /**
+     * The result reported before the first probe has completed.
+     */
+    public static final ProbeResult PENDING = new ProbeResult(false, 0, null, "Not probed yet");
+}
@@ -0,0 +1,13 @@
+package com.weather.api.weatherapi.dto;
+
+/**
+ * The current rate limit quota of an API key.
+ *
+ * @param tier              The tier the API key belongs to
+ * @param limit             The number of requests allowed per period
+ * @param periodSeconds     The length of the period in seconds
+ * @param remaining         The number of requests that would be admitted right now
+ * @param retryAfterSeconds How long until the next request is admitted; zero if one is admitted now
+ */
+public record RateLimitStatus(String tier, long limit, long periodSeconds, long remaining, long retryAfterSeconds) {
+}
@@ -0,0 +1,11 @@
+package com.weather.api.weatherapi.dto;
+
+/**
+ * Response of the readiness probe.
+ *
+ * @param status   "UP" if the instance can serve requests, "DEGRADED" if it can but OpenWeatherMap is
+ *                 unreachable (cached data is still served), "DOWN" otherwise
+ * @param database The last database probe
+ * @param upstream The last OpenWeatherMap probe
+ */
+public record ReadinessResponse(String status, ProbeResult database, ProbeResult upstream) {}
@@ -0,0 +1,11 @@
+package com.weather.api.weatherapi.dto;
+
+/**
+ * Data Transfer Object (DTO) representing usage of the OpenWeatherMap connection pool.
+ *
+ * @param leased    The number of connections currently in use
+ * @param pending   The number of requests waiting for a connection
+ * @param available The number of idle connections ready for reuse
+ * @param max       The maximum number of connections in the pool
+ */
+public record UpstreamPoolStats(int leased, int pending, int available, int max) {}
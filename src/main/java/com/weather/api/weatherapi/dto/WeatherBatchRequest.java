@@ -0,0 +1,29 @@
+package com.weather.api.weatherapi.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing a batch weather lookup request.
+ *
+ * @param locations The (city, country) pairs to look up (duplicates are resolved once)
+ */
+public record WeatherBatchRequest(
+        @NotEmpty(message = "At least one location is required")
+        @Size(max = 100, message = "At most 100 locations are allowed per batch")
+        List<@Valid Location> locations) {
+
+    /**
+     * A single (city, country) pair in a batch request.
+     *
+     * @param city    The city name (e.g., "London")
+     * @param country The country code (e.g., "UK")
+     */
+    public record Location(
+            @NotBlank(message = "City is required") String city,
+            @NotBlank(message = "Country is required") String country) {}
+}
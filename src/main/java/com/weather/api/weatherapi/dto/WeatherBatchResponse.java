@@ -0,0 +1,10 @@
+package com.weather.api.weatherapi.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing the response for a batch weather lookup.
+ *
+ * @param results One result per requested location, in request order
+ */
+public record WeatherBatchResponse(List<WeatherBatchResult> results) {}
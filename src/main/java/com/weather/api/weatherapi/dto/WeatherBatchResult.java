@@ -0,0 +1,25 @@
+package com.weather.api.weatherapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Data Transfer Object (DTO) representing the outcome of one location in a batch lookup.
+ * <p>
+ * Exactly one of {@code description} and {@code error} is set.
+ *
+ * @param city        The requested city name
+ * @param country     The requested country code
+ * @param description The weather description, if the lookup succeeded
+ * @param error       The error message, if the lookup failed
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record WeatherBatchResult(String city, String country, String description, String error) {
+
+    public static WeatherBatchResult success(String city, String country, String description) {
+        return new WeatherBatchResult(city, country, description, null);
+    }
+
+    public static WeatherBatchResult failure(String city, String country, String error) {
+        return new WeatherBatchResult(city, country, null, error);
+    }
+}
@@ -1,5 +1,6 @@
 package com.weather.api.weatherapi.dto;
 
+import com.weather.api.weatherapi.cache.WeatherKey;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDateTime;
@@ -9,6 +10,7 @@ import java.time.LocalDateTime;
  * <p>
  * This class maps to the `weather_data` table and contains information about
  * the city, country, weather description, and the timestamp of when the data was saved.
+ * There is one row per location, identified by the unique, normalized {@code lookup_key}.
  */
 @Data
 @Entity
@@ -22,6 +24,12 @@ public class WeatherData {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /**
+     * The normalized location key (see {@link WeatherKey}), unique per city/country.
+     */
+    @Column(name = "lookup_key", nullable = false, unique = true, length = 511)
+    private String lookupKey;
+
     /**
      * The name of the city (e.g., "London").
      */
@@ -42,6 +50,13 @@ public class WeatherData {
      */
     private LocalDateTime timestamp = LocalDateTime.now();
 
+    /**
+     * Indicates that this data is a last known value served while fresh data is unavailable.
+     * Not persisted.
+     */
+    @Transient
+    private boolean stale;
+
     /**
      * Default constructor required by JPA.
      */
@@ -58,5 +73,38 @@ public class WeatherData {
         this.city = city;
         this.country = country;
         this.description = description;
+        this.lookupKey = lookupKey(city, country);
+    }
+
+    /**
+     * Returns the lookup key of a location.
+     *
+     * @param city    The city name
+     * @param country The country code
+     * @return The normalized key stored in {@code lookup_key}
+     */
+    public static String lookupKey(String city, String country) {
+        return WeatherKey.of(city, country).toString();
+    }
+
+    /**
+     * Keeps the lookup key in line with the city and country on every write.
+     */
+    @PrePersist
+    @PreUpdate
+    void updateLookupKey() {
+        lookupKey = lookupKey(city, country);
+    }
+
+    /**
+     * Creates a detached copy of this weather data flagged as stale.
+     *
+     * @return The stale copy
+     */
+    public WeatherData staleCopy() {
+        WeatherData copy = new WeatherData(city, country, description);
+        copy.setTimestamp(timestamp);
+        copy.setStale(true);
+        return copy;
     }
 }
\ No newline at end of file
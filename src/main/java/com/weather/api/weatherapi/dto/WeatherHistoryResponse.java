@@ -0,0 +1,23 @@
+package com.weather.api.weatherapi.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A page of a location's weather observation history, newest first.
+ *
+ * @param city         The requested city
+ * @param country      The requested country code
+ * @param observations The observations on this page
+ * @param nextCursor   The cursor for the next (older) page, or null if this is the last page
+ */
+public record WeatherHistoryResponse(String city, String country, List<Observation> observations, String nextCursor) {
+
+    /**
+     * One observation.
+     *
+     * @param description The weather description (e.g., "clear sky")
+     * @param observedAt  When it was fetched from OpenWeatherMap
+     */
+    public record Observation(String description, LocalDateTime observedAt) {}
+}
@@ -0,0 +1,28 @@
+package com.weather.api.weatherapi.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a {@code weather_data} row.
+ * <p>
+ * Built directly from the query result, so Hibernate neither manages it nor keeps a snapshot
+ * copy of it for dirty checking.
+ *
+ * @param city        The city name
+ * @param country     The country code
+ * @param description The weather description
+ * @param timestamp   When the data was fetched
+ */
+public record WeatherSnapshot(String city, String country, String description, LocalDateTime timestamp) {
+
+    /**
+     * Creates detached weather data from the projection, as held by the in-memory cache.
+     *
+     * @return The weather data
+     */
+    public WeatherData toWeatherData() {
+        WeatherData weatherData = new WeatherData(city, country, description);
+        weatherData.setTimestamp(timestamp);
+        return weatherData;
+    }
+}
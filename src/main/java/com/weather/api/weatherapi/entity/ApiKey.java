@@ -1,5 +1,6 @@
 package com.weather.api.weatherapi.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -12,8 +13,16 @@ public class ApiKey {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(nullable = false, unique = true)
     private String apiKey;
 
+    public ApiKey() {
+    }
+
+    public ApiKey(String apiKey) {
+        this.apiKey = apiKey;
+    }
+
     // Getters and setters
     public String getApiKey() {
         return apiKey;
@@ -22,4 +31,4 @@ public class ApiKey {
     public void setApiKey(String apiKey) {
         this.apiKey = apiKey;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package com.weather.api.weatherapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One weather observation fetched from OpenWeatherMap.
+ * <p>
+ * Maps to the append-only {@code weather_observation} table, which keeps the history of every
+ * location while {@code weather_data} only holds the latest observation. Rows are written by the
+ * write-behind queue and partitioned by {@code observed_day}.
+ */
+@Data
+@Entity
+@Table(name = "weather_observation")
+public class WeatherObservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The normalized location key, as in {@code weather_data}.
+     */
+    @Column(name = "lookup_key", nullable = false, length = 511)
+    private String lookupKey;
+
+    private String city;
+
+    private String country;
+
+    private String description;
+
+    /**
+     * When the observation was fetched.
+     */
+    @Column(name = "observed_at", nullable = false)
+    private LocalDateTime observedAt;
+
+    /**
+     * The day of {@link #observedAt}, the partition key.
+     */
+    @Column(name = "observed_day", nullable = false)
+    private LocalDate observedDay;
+}
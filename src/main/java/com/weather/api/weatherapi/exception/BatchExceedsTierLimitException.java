@@ -0,0 +1,19 @@
+package com.weather.api.weatherapi.exception;
+
+/**
+ * Thrown when a batch needs more requests than the API key's tier allows per period, so it could
+ * never be admitted however long the client waits.
+ */
+public class BatchExceedsTierLimitException extends RuntimeException {
+
+    private final long limit;
+
+    public BatchExceedsTierLimitException(long permits, long limit) {
+        super("Batch of " + permits + " locations exceeds the tier limit of " + limit + " requests");
+        this.limit = limit;
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,10 @@
+package com.weather.api.weatherapi.exception;
+
+/**
+ * Thrown when a history cursor sent by a client cannot be decoded.
+ */
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(Throwable cause) {
+        super("Invalid cursor", cause);
+    }
+}
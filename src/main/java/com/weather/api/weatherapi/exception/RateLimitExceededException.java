@@ -1,7 +1,28 @@
 package com.weather.api.weatherapi.exception;
 
+import java.time.Duration;
+
 public class RateLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
     public RateLimitExceededException() {
+        this(Duration.ZERO);
+    }
+
+    public RateLimitExceededException(Duration retryAfter) {
         super("Rate limit exceeded");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Returns the value of the {@code Retry-After} header: the wait rounded up to whole seconds, at least one.
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package com.weather.api.weatherapi.exception;
+
+/**
+ * Thrown when an OpenWeatherMap call is rejected without being attempted, because the circuit
+ * breaker is open or the concurrency bulkhead is full.
+ */
+public class UpstreamUnavailableException extends WeatherServiceException {
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,117 @@
+package com.weather.api.weatherapi.filter;
+
+import com.weather.api.weatherapi.cache.WeatherCache;
+import com.weather.api.weatherapi.logging.HotPath;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Admission control for the weather endpoints.
+ * <p>
+ * Runs after {@link ApiKeyFilter}, so only authenticated requests take a permit from the
+ * {@link AdaptiveConcurrencyLimiter}. When no permit is available the request is refused at once
+ * with 503 and {@code Retry-After}, instead of queueing in the servlet container until it times out.
+ * A single-location request whose data is in {@link WeatherCache} counts as a cache hit; every
+ * other request may need OpenWeatherMap and is shed first.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+
+    private static final String WEATHER_ENDPOINTS = "/api/weather/";
+
+    private static final byte[] OVERLOADED_BODY =
+            "{\"error\":\"Service is overloaded. Please retry shortly.\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final WeatherCache weatherCache;
+    private final boolean enabled;
+
+    public AdaptiveConcurrencyFilter(AdaptiveConcurrencyLimiter limiter,
+                                     WeatherCache weatherCache,
+                                     @Value("${weather.concurrency.enabled:true}") boolean enabled) {
+        this.limiter = limiter;
+        this.weatherCache = weatherCache;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String requestURI = request.getRequestURI();
+        return !enabled || !requestURI.startsWith(WEATHER_ENDPOINTS) || PublicEndpoints.MATCHER.matches(requestURI);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!limiter.tryAcquire(!isCacheHit(request))) {
+            log.debug(HotPath.MARKER, "Shedding request to {}: {} requests in flight, limit {}",
+                    request.getRequestURI(), limiter.getInFlight(), limiter.getLimit());
+            shed(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Asynchronous (e.g., reactive) handlers complete after this filter returns
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        limiter.release(System.nanoTime() - start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a request will be answered from the in-memory cache.
+     *
+     * @param request The HTTP request
+     * @return True for a single-location lookup whose data is cached
+     */
+    private boolean isCacheHit(HttpServletRequest request) {
+        String city = request.getParameter("city");
+        String country = request.getParameter("country");
+        return city != null && country != null && weatherCache.canServe(city, country);
+    }
+
+    private void shed(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(OVERLOADED_BODY.length);
+        response.getOutputStream().write(OVERLOADED_BODY);
+    }
+}
@@ -0,0 +1,229 @@
+package com.weather.api.weatherapi.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the number of weather requests in flight, adapting the limit to observed latency.
+ * <p>
+ * The limit follows a gradient algorithm: latency is averaged over short sampling windows and
+ * compared to a long-term baseline (an exponential moving average of the window averages). While
+ * latency stays within {@code tolerance} times the baseline the limit grows by about the square root
+ * of itself per window; when latency rises above it, the limit shrinks in proportion, down to half
+ * per window. Windows in which at most half of the permits were ever used do not change the limit, so
+ * an idle instance does not drift to the maximum.
+ * <p>
+ * Requests that need an OpenWeatherMap fetch may only use {@code missShare} of the limit, so under
+ * overload they are shed first and cache hits keep being served.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * The weight of one window in the long-term latency baseline (an average over about 600 windows).
+     */
+    private static final double BASELINE_ALPHA = 2.0 / 601;
+
+    /**
+     * How far the limit moves towards its new estimate per window.
+     */
+    private static final double SMOOTHING = 0.2;
+
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double missShare;
+    private final double tolerance;
+    private final long windowNanos;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder shed = new LongAdder();
+
+    private final LongAdder windowLatencyNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicInteger windowPeakInFlight = new AtomicInteger();
+    private final AtomicLong windowEnd;
+
+    /**
+     * Guards closing a window; the request path only tries it once per window.
+     */
+    private final ReentrantLock windowLock = new ReentrantLock();
+
+    /**
+     * The current limit. Only written under {@code windowLock}.
+     */
+    private volatile double limit;
+
+    /**
+     * The long-term latency baseline in nanoseconds, or 0 before the first window. Guarded by
+     * {@code windowLock}.
+     */
+    private double baselineNanos;
+
+    /**
+     * Creates the limiter.
+     *
+     * @param initialLimit The limit before any latency has been observed
+     * @param minLimit     The lowest limit
+     * @param maxLimit     The highest limit (e.g., the servlet container's thread count)
+     * @param missShare    The share of the limit available to requests that need an OpenWeatherMap fetch
+     * @param tolerance    How many times the baseline latency is tolerated before the limit shrinks
+     * @param window       The latency sampling window
+     */
+    @Autowired
+    public AdaptiveConcurrencyLimiter(@Value("${weather.concurrency.initial-limit:50}") int initialLimit,
+                                      @Value("${weather.concurrency.min-limit:10}") int minLimit,
+                                      @Value("${weather.concurrency.max-limit:200}") int maxLimit,
+                                      @Value("${weather.concurrency.miss-share:0.8}") double missShare,
+                                      @Value("${weather.concurrency.tolerance:1.5}") double tolerance,
+                                      @Value("${weather.concurrency.window:PT0.1S}") Duration window) {
+        this(initialLimit, minLimit, maxLimit, missShare, tolerance, window, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double missShare, double tolerance,
+                               Duration window, LongSupplier clock) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min-limit <= max-limit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.missShare = missShare;
+        this.tolerance = tolerance;
+        this.windowNanos = window.toNanos();
+        this.clock = clock;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.windowEnd = new AtomicLong(clock.getAsLong() + windowNanos);
+        log.info("Adaptive concurrency limit starts at {} (min {}, max {})", (int) limit, minLimit, maxLimit);
+    }
+
+    /**
+     * Admits a request if a permit is available.
+     *
+     * @param needsUpstream Whether the request may need an OpenWeatherMap fetch
+     * @return True if the request was admitted and must be followed by {@link #release(long)}
+     */
+    public boolean tryAcquire(boolean needsUpstream) {
+        int allowed = needsUpstream ? Math.max(1, (int) (limit * missShare)) : (int) limit;
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                shed.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases the permit of a completed request and records its latency.
+     *
+     * @param latencyNanos How long the request took
+     */
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        windowLatencyNanos.add(latencyNanos);
+        windowSamples.increment();
+        if (inFlightBefore > windowPeakInFlight.get()) {
+            windowPeakInFlight.accumulateAndGet(inFlightBefore, Math::max);
+        }
+
+        long now = clock.getAsLong();
+        long end = windowEnd.get();
+        if (now - end >= 0 && windowEnd.compareAndSet(end, now + windowNanos)) {
+            closeWindow();
+        }
+    }
+
+    /**
+     * Returns the current limit.
+     *
+     * @return The maximum number of requests in flight
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Returns the number of requests in flight.
+     *
+     * @return The number of admitted requests not yet released
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Returns the number of requests shed since startup.
+     *
+     * @return The number of rejected requests
+     */
+    public long getShed() {
+        return shed.sum();
+    }
+
+    /**
+     * Updates the limit from the window that just ended. Skipped if the previous window is still being
+     * closed; its samples then count towards the next one.
+     */
+    private void closeWindow() {
+        if (!windowLock.tryLock()) {
+            return;
+        }
+        try {
+            updateLimit();
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    private void updateLimit() {
+        long samples = windowSamples.sum();
+        if (samples < MIN_WINDOW_SAMPLES) {
+            // Too few samples for a stable average: keep accumulating into the next window
+            return;
+        }
+        long latencySum = windowLatencyNanos.sum();
+        // Subtract what was read rather than resetting, so samples recorded meanwhile carry over
+        windowSamples.add(-samples);
+        windowLatencyNanos.add(-latencySum);
+        double latency = (double) latencySum / samples;
+        int peakInFlight = windowPeakInFlight.getAndSet(0);
+
+        if (baselineNanos == 0) {
+            baselineNanos = latency;
+        } else {
+            baselineNanos += (latency - baselineNanos) * BASELINE_ALPHA;
+            if (baselineNanos / latency > 2) {
+                // Latency dropped well below the baseline (e.g., after an upstream incident): catch up faster
+                baselineNanos *= 0.95;
+            }
+        }
+
+        double current = limit;
+        if (peakInFlight < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineNanos / latency));
+        double estimate = current * gradient + Math.sqrt(current);
+        double updated = current * (1 - SMOOTHING) + estimate * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, updated));
+        if ((int) updated != (int) current) {
+            log.debug("Concurrency limit {} -> {} (latency {} us, baseline {} us)", (int) current, (int) limit,
+                    (long) latency / 1_000, (long) baselineNanos / 1_000);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.weather.api.weatherapi.filter;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+/**
+ * The principal of a request whose API key was validated by {@link ApiKeyFilter}.
+ * <p>
+ * Stored in the request's security context so that Spring Security treats the request as
+ * authenticated and downstream services can skip validating the same key again.
+ */
+public class ApiKeyAuthentication extends AbstractAuthenticationToken {
+
+    private final String apiKey;
+
+    public ApiKeyAuthentication(String apiKey) {
+        super(List.of());
+        this.apiKey = apiKey;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public Object getCredentials() {
+        return apiKey;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return apiKey;
+    }
+
+    /**
+     * Checks whether the current request was already authenticated with the given API key.
+     *
+     * @param apiKey The API key
+     * @return True if {@link ApiKeyFilter} validated this key for the current request
+     */
+    public static boolean isAuthenticated(String apiKey) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication instanceof ApiKeyAuthentication apiKeyAuthentication
+                && apiKeyAuthentication.apiKey.equals(apiKey);
+    }
+}
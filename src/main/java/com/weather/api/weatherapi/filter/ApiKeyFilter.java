@@ -1,43 +1,86 @@
 package com.weather.api.weatherapi.filter;
 
+import com.weather.api.weatherapi.audit.AuditOutcome;
+import com.weather.api.weatherapi.audit.KeyUsageAuditLog;
+import com.weather.api.weatherapi.logging.HotPath;
 import com.weather.api.weatherapi.service.ApiKeyService;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Filter to validate API keys for incoming requests.
  * <p>
- * This filter ensures that all requests (except excluded endpoints) include a valid API key.
- * If the API key is missing or invalid, an appropriate error response is returned.
+ * This filter ensures that all requests (except {@link PublicEndpoints}) include a valid API key.
+ * If the API key is missing or invalid, an appropriate error response is returned. A valid key is
+ * stored in the security context as an {@link ApiKeyAuthentication}.
+ * <p>
+ * Invalid keys are rejected as cheaply as possible: keys that a Bloom filter of the valid keys rules
+ * out, and keys in a bounded cache of recent rejections, are refused without consulting
+ * {@link ApiKeyService}. The 403 body is written directly instead of going through the servlet
+ * error page, and rejections are logged as a periodic summary rather than one line per request.
+ * <p>
+ * Requests with a valid API key are all recorded in the {@link KeyUsageAuditLog}. Invalid keys are
+ * recorded only when they enter the cache of recent rejections, and at most
+ * {@code invalid-key-records-per-interval} times per rejection-log interval, so a flood of bogus keys
+ * cannot rotate legitimate history out of the audit log; the rest are counted in the periodic summary.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class ApiKeyFilter extends OncePerRequestFilter {
 
+    private static final byte[] INVALID_API_KEY_BODY =
+            "{\"error\":\"Invalid API key\"}".getBytes(StandardCharsets.UTF_8);
+
     private final ApiKeyService apiKeyService;
+    private final KeyUsageAuditLog auditLog;
+    private final int negativeCacheSize;
+    private final long rejectionLogIntervalNanos;
+    private final int invalidKeyAuditLimit;
+
+    /**
+     * Rejection structures built for the current set of valid keys.
+     */
+    private volatile RejectionState rejectionState;
+
+    private final AtomicLong rejectedSinceLastLog = new AtomicLong();
+    private final AtomicLong nextRejectionLog = new AtomicLong(System.nanoTime());
 
     /**
-     * List of endpoints to exclude from API key validation.
+     * Invalid-key audit records left in the current rejection-log interval, and the rejections not audited.
      */
-    private static final Set<String> EXCLUDED_ENDPOINTS = Set.of(
-            "/api/weather/health", // Health check endpoint
-            "/api/key",            // API key management endpoint
-            "/api/key/**",         // API key management sub-endpoints
-            "/swagger-ui.html",    // Main Swagger UI page
-            "/swagger-ui",      // Additional Swagger resources
-            "/v3/api-docs"      // OpenAPI JSON schema
-    );
+    private final AtomicInteger invalidKeyAuditBudget;
+    private final AtomicLong unauditedSinceLastLog = new AtomicLong();
+
+    public ApiKeyFilter(ApiKeyService apiKeyService,
+                        KeyUsageAuditLog auditLog,
+                        @Value("${weather.api-keys.negative-cache-size:4096}") int negativeCacheSize,
+                        @Value("${weather.api-keys.rejection-log-interval:PT10S}") Duration rejectionLogInterval,
+                        @Value("${weather.audit.invalid-key-records-per-interval:100}") int invalidKeyAuditLimit) {
+        this.apiKeyService = apiKeyService;
+        this.auditLog = auditLog;
+        this.negativeCacheSize = negativeCacheSize;
+        this.rejectionLogIntervalNanos = rejectionLogInterval.toNanos();
+        this.invalidKeyAuditLimit = invalidKeyAuditLimit;
+        this.invalidKeyAuditBudget = new AtomicInteger(invalidKeyAuditLimit);
+    }
 
     /**
      * Filters incoming requests to validate API keys.
@@ -52,44 +95,152 @@ public class ApiKeyFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        log.debug("Processing request: URI={}, QueryString={}", request.getRequestURI(), request.getQueryString());
+        String requestURI = request.getRequestURI();
 
-        // Skip API key validation for excluded endpoints
-        if (isExcludedEndpoint(request.getRequestURI())) {
-            log.debug("Skipping API key validation for excluded endpoint: {}", request.getRequestURI());
+        // Skip API key validation for public endpoints
+        if (PublicEndpoints.MATCHER.matches(requestURI)) {
+            log.debug(HotPath.MARKER, "Skipping API key validation for public endpoint: {}", requestURI);
             filterChain.doFilter(request, response);
             return;
         }
 
         String apiKey = request.getParameter("apiKey");
-        log.debug("Retrieved API Key: {}", apiKey);
+        log.debug(HotPath.MARKER, "Processing request: URI={}, API key={}", requestURI, HotPath.mask(apiKey));
 
         // Validate API key presence
         if (apiKey == null || apiKey.trim().isEmpty()) {
-            log.warn("Missing or empty API key in request.");
+            log.warn(HotPath.MARKER, "Missing or empty API key in request.");
+            auditLog.record(null, requestURI, HttpStatus.BAD_REQUEST.value(), AuditOutcome.MISSING_KEY);
             response.sendError(HttpStatus.BAD_REQUEST.value(), "API key is required.");
             return;
         }
 
+        // Reject known-invalid keys without consulting the key store
+        RejectionState state = currentRejectionState();
+        if (state.rejectedKeys().contains(apiKey) || !state.validKeys().mightContain(apiKey)) {
+            reject(state, apiKey, requestURI, response);
+            return;
+        }
+
         // Validate API key validity
         if (apiKeyService.isValidKey(apiKey)) {
-            log.debug("API Key is valid. Proceeding with the request.");
-            filterChain.doFilter(request, response); // Pass the request to the next filter/controller
+            log.debug(HotPath.MARKER, "API Key is valid. Proceeding with the request.");
+            // Mark the request as authenticated so that downstream code does not validate the key again
+            SecurityContextHolder.getContext().setAuthentication(new ApiKeyAuthentication(apiKey));
+            try {
+                filterChain.doFilter(request, response); // Pass the request to the next filter/controller
+            } catch (ServletException | IOException | RuntimeException e) {
+                auditLog.record(apiKey, requestURI, HttpStatus.INTERNAL_SERVER_ERROR.value(), AuditOutcome.ERROR);
+                throw e;
+            }
+            auditCompletion(request, response, apiKey, requestURI);
             return;
         }
 
-        log.warn("Invalid API Key used: {}", apiKey);
-        response.sendError(HttpStatus.FORBIDDEN.value(), "Invalid API key");
+        reject(state, apiKey, requestURI, response);
     }
 
     /**
-     * Determines if the request URI should bypass API key validation.
+     * Audits a request with a valid API key once its response status is final.
      *
-     * @param requestURI The request URI
-     * @return True if the endpoint is excluded, false otherwise
+     * @param request    The HTTP request
+     * @param response   The HTTP response
+     * @param apiKey     The API key
+     * @param requestURI The request path
+     */
+    private void auditCompletion(HttpServletRequest request, HttpServletResponse response, String apiKey,
+                                 String requestURI) {
+        if (!request.isAsyncStarted()) {
+            auditLog.record(apiKey, requestURI, response.getStatus(), AuditOutcome.ofStatus(response.getStatus()));
+            return;
+        }
+        // Asynchronous (e.g., reactive) handlers set the status after this filter returns
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                auditLog.record(apiKey, requestURI, response.getStatus(), AuditOutcome.ofStatus(response.getStatus()));
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+    /**
+     * Returns the rejection structures for the current valid keys, rebuilding them when the keys change.
+     * <p>
+     * {@link ApiKeyService#listApiKeys()} returns an immutable snapshot that is replaced on every change,
+     * so an identity check detects changes. Rebuilding also empties the negative cache, so a key that
+     * was just added is not refused.
+     *
+     * @return The rejection structures
+     */
+    private RejectionState currentRejectionState() {
+        Set<String> validKeys = apiKeyService.listApiKeys();
+        RejectionState state = rejectionState;
+        if (state == null || state.source() != validKeys) {
+            state = new RejectionState(validKeys, BloomFilter.of(validKeys, 0.01), new NegativeCache(negativeCacheSize));
+            rejectionState = state;
+        }
+        return state;
+    }
+
+    /**
+     * Refuses a request with an invalid API key.
+     *
+     * @param state      The rejection structures to remember the key in
+     * @param apiKey     The invalid API key
+     * @param requestURI The request path
+     * @param response   The HTTP response
+     * @throws IOException If the response cannot be written
+     */
+    private void reject(RejectionState state, String apiKey, String requestURI, HttpServletResponse response)
+            throws IOException {
+        boolean admitted = state.rejectedKeys().add(apiKey);
+        logRejection(apiKey);
+        // Repeat offenders and oversized keys are only counted
+        if (admitted && invalidKeyAuditBudget.getAndUpdate(budget -> Math.max(0, budget - 1)) > 0) {
+            auditLog.record(apiKey, requestURI, HttpStatus.FORBIDDEN.value(), AuditOutcome.INVALID_KEY);
+        } else {
+            unauditedSinceLastLog.incrementAndGet();
+        }
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(INVALID_API_KEY_BODY.length);
+        response.getOutputStream().write(INVALID_API_KEY_BODY);
+    }
+
+    /**
+     * Counts a rejection and logs a summary at most once per interval, starting a new invalid-key
+     * audit budget with each summary.
+     *
+     * @param apiKey The invalid API key, logged masked
+     */
+    private void logRejection(String apiKey) {
+        long rejected = rejectedSinceLastLog.incrementAndGet();
+        long now = System.nanoTime();
+        long due = nextRejectionLog.get();
+        if (now - due >= 0 && nextRejectionLog.compareAndSet(due, now + rejectionLogIntervalNanos)) {
+            rejectedSinceLastLog.addAndGet(-rejected);
+            long unaudited = unauditedSinceLastLog.getAndSet(0);
+            invalidKeyAuditBudget.set(invalidKeyAuditLimit);
+            log.warn("Rejected {} requests with invalid API keys since the last report ({} not audited). Latest key: {}",
+                    rejected, unaudited, HotPath.mask(apiKey));
+        }
+    }
+
+    /**
+     * A Bloom filter of the valid keys and a cache of rejected keys, both built for one key snapshot.
      */
-    private boolean isExcludedEndpoint(String requestURI) {
-        return EXCLUDED_ENDPOINTS.stream()
-                .anyMatch(requestURI::startsWith);
+    private record RejectionState(Set<String> source, BloomFilter validKeys, NegativeCache rejectedKeys) {
     }
-}
\ No newline at end of file
+}
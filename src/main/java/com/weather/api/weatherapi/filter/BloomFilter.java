@@ -0,0 +1,80 @@
+package com.weather.api.weatherapi.filter;
+
+import java.util.Collection;
+
+/**
+ * Immutable Bloom filter of strings.
+ * <p>
+ * {@link #mightContain} never returns false for a string that was added, and returns true for a
+ * string that was not added with roughly the configured false-positive probability. Probes use
+ * double hashing derived from {@link String#hashCode()}, which strings cache, so a lookup allocates
+ * nothing and does not re-read the characters.
+ */
+public final class BloomFilter {
+
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    private BloomFilter(int bitCount, int hashCount) {
+        this.bits = new long[(bitCount + 63) >>> 6];
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Creates a Bloom filter of the given values.
+     *
+     * @param values                 The values to add
+     * @param falsePositiveRate      The desired probability that an absent value is reported as present
+     * @return The Bloom filter
+     */
+    public static BloomFilter of(Collection<String> values, double falsePositiveRate) {
+        int expected = Math.max(1, values.size());
+        int bitCount = (int) Math.max(64, Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+        BloomFilter filter = new BloomFilter(bitCount, hashCount);
+        values.forEach(filter::add);
+        return filter;
+    }
+
+    /**
+     * Checks whether a value may have been added.
+     *
+     * @param value The value to check
+     * @return False if the value was definitely not added
+     */
+    public boolean mightContain(String value) {
+        int h1 = value.hashCode();
+        int h2 = secondHash(h1);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(String value) {
+        int h1 = value.hashCode();
+        int h2 = secondHash(h1);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Murmur3 finalizer, forced odd so that successive probes never repeat a bit.
+     */
+    static int secondHash(int hash) {
+        int h = hash;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h | 1;
+    }
+}
@@ -0,0 +1,59 @@
+package com.weather.api.weatherapi.filter;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size cache of recently rejected API keys.
+ * <p>
+ * Keys are stored in a direct-mapped table: each key has exactly one slot and a newer key simply
+ * overwrites an older one in the same slot. Memory is bounded by the slot count, and lookups and
+ * inserts are a single array access with no locking.
+ */
+public final class NegativeCache {
+
+    /**
+     * Keys longer than this are not cached, so that oversized garbage cannot inflate the cache.
+     */
+    static final int MAX_KEY_LENGTH = 256;
+
+    private final AtomicReferenceArray<String> slots;
+    private final int mask;
+
+    /**
+     * Creates the cache.
+     *
+     * @param capacity The number of slots, rounded up to a power of two
+     */
+    public NegativeCache(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Checks whether a key was recently rejected.
+     *
+     * @param key The API key
+     * @return True if the key is cached
+     */
+    public boolean contains(String key) {
+        return key.equals(slots.get(slotOf(key)));
+    }
+
+    /**
+     * Remembers a rejected key.
+     *
+     * @param key The API key
+     * @return True if the key was admitted, false if it was already cached or is too long to cache
+     */
+    public boolean add(String key) {
+        if (key.length() > MAX_KEY_LENGTH) {
+            return false;
+        }
+        return !key.equals(slots.getAndSet(slotOf(key), key));
+    }
+
+    private int slotOf(String key) {
+        return BloomFilter.secondHash(key.hashCode()) & mask;
+    }
+}
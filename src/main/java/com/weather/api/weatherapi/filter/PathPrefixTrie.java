@@ -0,0 +1,98 @@
+package com.weather.api.weatherapi.filter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Precompiled matcher for a fixed set of path patterns.
+ * <p>
+ * A pattern is either an exact path ({@code /api/weather/health}) or a subtree ending in {@code /**}
+ * ({@code /api/key/**}), which matches the base path itself and everything below it, with the same
+ * meaning as in Spring Security's request matchers. Patterns are compiled into a character trie,
+ * so matching walks the request path once, without allocating, regardless of the number of patterns.
+ */
+public final class PathPrefixTrie {
+
+    private static final String SUBTREE_SUFFIX = "/**";
+
+    private final Node root = new Node();
+
+    private PathPrefixTrie() {
+    }
+
+    /**
+     * Compiles the patterns.
+     *
+     * @param patterns Exact paths or subtree patterns ending in {@code /**}
+     * @return The matcher
+     */
+    public static PathPrefixTrie compile(List<String> patterns) {
+        PathPrefixTrie trie = new PathPrefixTrie();
+        for (String pattern : patterns) {
+            if (pattern.endsWith(SUBTREE_SUFFIX)) {
+                trie.insert(pattern.substring(0, pattern.length() - SUBTREE_SUFFIX.length())).subtree = true;
+            } else {
+                trie.insert(pattern).exact = true;
+            }
+        }
+        return trie;
+    }
+
+    /**
+     * Checks whether a path matches any pattern.
+     *
+     * @param path The request path
+     * @return True if the path matches
+     */
+    public boolean matches(String path) {
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (node.subtree && c == '/') {
+                return true;
+            }
+            node = node.child(c);
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.exact || node.subtree;
+    }
+
+    private Node insert(String path) {
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.childOrCreate(path.charAt(i));
+        }
+        return node;
+    }
+
+    private static final class Node {
+
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private boolean exact;
+        private boolean subtree;
+
+        Node child(char c) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node childOrCreate(char c) {
+            Node child = child(c);
+            if (child == null) {
+                child = new Node();
+                labels = Arrays.copyOf(labels, labels.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                labels[labels.length - 1] = c;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+    }
+}
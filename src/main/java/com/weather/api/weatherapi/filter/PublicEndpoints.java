@@ -0,0 +1,32 @@
+package com.weather.api.weatherapi.filter;
+
+import java.util.List;
+
+/**
+ * Endpoints that are served without an API key.
+ * <p>
+ * The single source for both {@link com.weather.api.weatherapi.config.SecurityConfig} and {@link ApiKeyFilter}.
+ * Every other endpoint requires a valid {@code apiKey} parameter.
+ */
+public final class PublicEndpoints {
+
+    /**
+     * Exact paths, or subtrees ending in {@code /**}.
+     */
+    public static final List<String> PATTERNS = List.of(
+            "/api/weather/health/**", // Health, liveness and readiness endpoints
+            "/api/key/**",            // API key management endpoints
+            "/swagger-ui.html",       // Main Swagger UI page
+            "/swagger-ui/**",         // Swagger UI resources
+            "/v3/api-docs/**",        // OpenAPI JSON schema
+            "/error"                  // Error page rendered for sendError responses
+    );
+
+    /**
+     * {@link #PATTERNS} compiled for per-request matching.
+     */
+    public static final PathPrefixTrie MATCHER = PathPrefixTrie.compile(PATTERNS);
+
+    private PublicEndpoints() {
+    }
+}
@@ -0,0 +1,190 @@
+package com.weather.api.weatherapi.health;
+
+import com.weather.api.weatherapi.config.ThreadFactories;
+import com.weather.api.weatherapi.dto.ProbeResult;
+import com.weather.api.weatherapi.dto.ReadinessResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Probes the database and OpenWeatherMap in the background and caches the results.
+ * <p>
+ * Health endpoints only read the cached results, so an orchestrator probing every instance several
+ * times a second costs nothing beyond the response itself. The probes run every {@code interval} on
+ * a dedicated thread, so a slow upstream cannot delay other scheduled jobs and vice versa:
+ * <ul>
+ *   <li>The database probe runs {@code SELECT 1}, which does not read any table.</li>
+ *   <li>The upstream probe sends a HEAD request to {@code upstream-url}. Any HTTP response, including
+ *       a client error, means OpenWeatherMap is reachable; a server error or an I/O error means it is
+ *       not. It bypasses the circuit breaker, so probing never affects weather requests.</li>
+ * </ul>
+ * Results older than three intervals are reported as down, so a stuck probe thread is not mistaken
+ * for a healthy instance.
+ */
+@Slf4j
+@Component
+public class HealthProbe {
+
+    private static final String DATABASE_PROBE_SQL = "SELECT 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RestTemplate restTemplate;
+    private final String upstreamUrl;
+    private final Duration interval;
+    private final LongSupplier epochMillis;
+
+    private ScheduledExecutorService prober;
+
+    private volatile ProbeResult database = ProbeResult.PENDING;
+    private volatile ProbeResult upstream = ProbeResult.PENDING;
+
+    /**
+     * Creates the probe.
+     *
+     * @param jdbcTemplate The application database
+     * @param restTemplate The client used for OpenWeatherMap calls
+     * @param upstreamUrl  The URL probed for OpenWeatherMap reachability, or blank to skip the probe
+     * @param interval     How often both probes run
+     */
+    @Autowired
+    public HealthProbe(JdbcTemplate jdbcTemplate,
+                       RestTemplate restTemplate,
+                       @Value("${weather.health.upstream-url:http://api.openweathermap.org/}") String upstreamUrl,
+                       @Value("${weather.health.interval:PT5S}") Duration interval) {
+        this(jdbcTemplate, restTemplate, upstreamUrl, interval, System::currentTimeMillis);
+    }
+
+    HealthProbe(JdbcTemplate jdbcTemplate, RestTemplate restTemplate, String upstreamUrl, Duration interval,
+                LongSupplier epochMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.restTemplate = restTemplate;
+        this.upstreamUrl = upstreamUrl;
+        this.interval = interval;
+        this.epochMillis = epochMillis;
+    }
+
+    /**
+     * Starts probing. The first probes run at once.
+     */
+    @PostConstruct
+    public void start() {
+        prober = Executors.newSingleThreadScheduledExecutor(ThreadFactories.create("health-probe-", false));
+        prober.scheduleWithFixedDelay(this::probe, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops probing.
+     */
+    @PreDestroy
+    public void close() {
+        if (prober != null) {
+            prober.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs both probes and caches their results.
+     */
+    public void probe() {
+        ProbeResult databaseResult = probeDatabase();
+        if (database.up() != databaseResult.up()) {
+            log.warn("Database is {}: {}", databaseResult.up() ? "up" : "down", databaseResult.error());
+        }
+        database = databaseResult;
+
+        ProbeResult upstreamResult = probeUpstream();
+        if (upstream.up() != upstreamResult.up()) {
+            log.warn("OpenWeatherMap is {}: {}", upstreamResult.up() ? "reachable" : "unreachable", upstreamResult.error());
+        }
+        upstream = upstreamResult;
+    }
+
+    /**
+     * Returns the last database probe.
+     *
+     * @return The cached result, reported as down if it is missing or stale
+     */
+    public ProbeResult getDatabase() {
+        return current(database);
+    }
+
+    /**
+     * Returns the last OpenWeatherMap probe.
+     *
+     * @return The cached result, reported as down if it is missing or stale
+     */
+    public ProbeResult getUpstream() {
+        return current(upstream);
+    }
+
+    /**
+     * Returns the readiness of this instance from the cached probes.
+     * <p>
+     * The instance is ready while the database is up. An unreachable OpenWeatherMap only degrades it,
+     * since cached weather data can still be served.
+     *
+     * @return The readiness and the probes it is based on
+     */
+    public ReadinessResponse getReadiness() {
+        ProbeResult databaseResult = getDatabase();
+        ProbeResult upstreamResult = getUpstream();
+        String status = !databaseResult.up() ? "DOWN" : upstreamResult.up() ? "UP" : "DEGRADED";
+        return new ReadinessResponse(status, databaseResult, upstreamResult);
+    }
+
+    private ProbeResult probeDatabase() {
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.queryForObject(DATABASE_PROBE_SQL, Integer.class);
+            return result(start, null);
+        } catch (RuntimeException e) {
+            return result(start, e.getMessage());
+        }
+    }
+
+    private ProbeResult probeUpstream() {
+        if (upstreamUrl == null || upstreamUrl.isBlank()) {
+            return new ProbeResult(true, 0, Instant.ofEpochMilli(epochMillis.getAsLong()), null);
+        }
+        long start = System.nanoTime();
+        try {
+            restTemplate.headForHeaders(upstreamUrl);
+            return result(start, null);
+        } catch (HttpClientErrorException e) {
+            // OpenWeatherMap answered, e.g. 401 without an API key
+            return result(start, null);
+        } catch (RuntimeException e) {
+            return result(start, e.getMessage());
+        }
+    }
+
+    private ProbeResult result(long startNanos, String error) {
+        return new ProbeResult(error == null, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                Instant.ofEpochMilli(epochMillis.getAsLong()), error);
+    }
+
+    private ProbeResult current(ProbeResult result) {
+        if (result.checkedAt() == null) {
+            return result;
+        }
+        long age = epochMillis.getAsLong() - result.checkedAt().toEpochMilli();
+        if (age > 3 * interval.toMillis()) {
+            return new ProbeResult(false, result.latencyMillis(), result.checkedAt(), "Probe result is stale");
+        }
+        return result;
+    }
+}
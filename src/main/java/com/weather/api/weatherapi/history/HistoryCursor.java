@@ -0,0 +1,47 @@
+package com.weather.api.weatherapi.history;
+
+import com.weather.api.weatherapi.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a location's observation history: the last observation of a page.
+ * <p>
+ * Sent to clients as an opaque token, so the ordering columns can change without breaking the API.
+ *
+ * @param observedAt The observation time of the last row returned
+ * @param id         The id of the last row returned, which breaks ties between equal times
+ */
+public record HistoryCursor(LocalDateTime observedAt, long id) {
+
+    /**
+     * Encodes the cursor as an opaque, URL-safe token.
+     *
+     * @return The token
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((observedAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token returned by {@link #encode()}.
+     *
+     * @param token The token
+     * @return The cursor
+     * @throws InvalidCursorException If the token is not a valid cursor
+     */
+    public static HistoryCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            return new HistoryCursor(LocalDateTime.parse(value.substring(0, Math.max(separator, 0))),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.weather.api.weatherapi.history;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the weather observation history bounded.
+ * <p>
+ * Runs every {@code weather.history.maintenance-interval} and works on whole day partitions:
+ * <ul>
+ *   <li>Retention deletes the days older than {@code retention-days}, in chunks so that no single
+ *       transaction grows with the table.</li>
+ *   <li>Compaction thins the days older than {@code compact-after-days} to the last observation per
+ *       location and hour, so a compacted day holds at most 24 rows per location.</li>
+ * </ul>
+ * Each run compacts every day from the last one it compacted up to the boundary, so days missed
+ * while the application was down or paused are caught up. After a restart the whole retained range is
+ * compacted once; a day that is already compacted costs one index range scan.
+ */
+@Slf4j
+@Component
+public class WeatherHistoryRetention {
+
+    private static final String DELETE_EXPIRED_SQL =
+            "DELETE FROM weather_observation WHERE observed_day < ? FETCH FIRST ? ROWS ONLY";
+
+    /**
+     * Deletes every observation of a day that has a later one for the same location in the same hour.
+     */
+    private static final String COMPACT_DAY_SQL = "DELETE FROM weather_observation o WHERE o.observed_day = ? "
+            + "AND EXISTS (SELECT 1 FROM weather_observation n WHERE n.observed_day = o.observed_day "
+            + "AND n.lookup_key = o.lookup_key "
+            + "AND DATE_TRUNC('HOUR', n.observed_at) = DATE_TRUNC('HOUR', o.observed_at) "
+            + "AND (n.observed_at > o.observed_at OR (n.observed_at = o.observed_at AND n.id > o.id)))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int retentionDays;
+    private final int compactAfterDays;
+    private final int deleteChunkSize;
+    private final Supplier<LocalDate> today;
+
+    /**
+     * The newest day compacted so far, or null before the first run. Only accessed by the scheduler thread.
+     */
+    private LocalDate lastCompactedDay;
+
+    /**
+     * Creates the retention job.
+     *
+     * @param jdbcTemplate     The database holding {@code weather_observation}
+     * @param retentionDays    How many days of history are kept
+     * @param compactAfterDays How many days old a day must be to be compacted
+     * @param deleteChunkSize  The maximum number of rows deleted per statement
+     */
+    @Autowired
+    public WeatherHistoryRetention(JdbcTemplate jdbcTemplate,
+                                   @Value("${weather.history.retention-days:30}") int retentionDays,
+                                   @Value("${weather.history.compact-after-days:1}") int compactAfterDays,
+                                   @Value("${weather.history.delete-chunk-size:10000}") int deleteChunkSize) {
+        this(jdbcTemplate, retentionDays, compactAfterDays, deleteChunkSize, LocalDate::now);
+    }
+
+    WeatherHistoryRetention(JdbcTemplate jdbcTemplate, int retentionDays, int compactAfterDays, int deleteChunkSize,
+                            Supplier<LocalDate> today) {
+        if (compactAfterDays < 1 || retentionDays <= compactAfterDays) {
+            throw new IllegalArgumentException("History days must satisfy 1 <= compact-after-days < retention-days");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionDays = retentionDays;
+        this.compactAfterDays = compactAfterDays;
+        this.deleteChunkSize = deleteChunkSize;
+        this.today = today;
+    }
+
+    /**
+     * Applies retention and compaction.
+     */
+    @Scheduled(fixedDelayString = "${weather.history.maintenance-interval:PT1H}",
+            initialDelayString = "${weather.history.maintenance-interval:PT1H}")
+    public void run() {
+        LocalDate now = today.get();
+        LocalDate cutoff = now.minusDays(retentionDays);
+        long expired = deleteExpired(cutoff);
+        long compacted = 0;
+        LocalDate newest = now.minusDays(compactAfterDays);
+        // The last compacted day is compacted again, for observations written just after midnight
+        LocalDate oldest = lastCompactedDay != null && lastCompactedDay.isAfter(cutoff) ? lastCompactedDay : cutoff;
+        for (LocalDate day = oldest; !day.isAfter(newest); day = day.plusDays(1)) {
+            compacted += jdbcTemplate.update(COMPACT_DAY_SQL, day);
+            lastCompactedDay = day;
+        }
+        if (expired > 0 || compacted > 0) {
+            log.info("Weather history maintenance: {} expired and {} compacted observations deleted", expired, compacted);
+        }
+    }
+
+    /**
+     * Deletes the observations of the days before a cutoff, one chunk per statement.
+     */
+    private long deleteExpired(LocalDate cutoff) {
+        long deleted = 0;
+        int chunk;
+        do {
+            chunk = jdbcTemplate.update(DELETE_EXPIRED_SQL, cutoff, deleteChunkSize);
+            deleted += chunk;
+        } while (chunk == deleteChunkSize);
+        return deleted;
+    }
+}
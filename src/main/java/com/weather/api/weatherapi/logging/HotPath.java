@@ -0,0 +1,35 @@
+package com.weather.api.weatherapi.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * Marks log lines written on every request.
+ * <p>
+ * Lines logged with {@link #MARKER} are sampled by {@link HotPathSamplingFilter}, so a busy instance
+ * logs a representative fraction of them instead of one line per request. API keys in these lines
+ * must be passed through {@link #mask(String)}.
+ */
+public final class HotPath {
+
+    /**
+     * The marker for per-request log lines.
+     */
+    public static final Marker MARKER = MarkerFactory.getMarker("HOT_PATH");
+
+    private HotPath() {
+    }
+
+    /**
+     * Masks an API key for logging, keeping only its first four characters.
+     *
+     * @param apiKey The API key
+     * @return The masked key (e.g., "e7dd****")
+     */
+    public static String mask(String apiKey) {
+        if (apiKey == null || apiKey.length() <= 4) {
+            return "****";
+        }
+        return apiKey.substring(0, 4) + "****";
+    }
+}
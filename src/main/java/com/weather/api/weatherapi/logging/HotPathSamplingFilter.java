@@ -0,0 +1,42 @@
+package com.weather.api.weatherapi.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logback turbo filter that keeps one in {@code sampleRate} log lines marked with {@link HotPath#MARKER}.
+ * <p>
+ * Turbo filters run before the logging event is created, so a dropped line costs neither message
+ * formatting nor a slot in the async appender queue. Lines without the marker are not affected.
+ * Configured in {@code logback-spring.xml} from {@code weather.logging.hot-path-sample-rate};
+ * a rate of 1 keeps every line.
+ */
+public class HotPathSamplingFilter extends TurboFilter {
+
+    private int sampleRate = 1;
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (marker == null || sampleRate == 1 || !marker.contains(HotPath.MARKER)) {
+            return FilterReply.NEUTRAL;
+        }
+        // Leave disabled levels to the logger, without spending a random number on them
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextInt(sampleRate) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
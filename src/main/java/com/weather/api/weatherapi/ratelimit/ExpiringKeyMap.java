@@ -0,0 +1,228 @@
+package com.weather.api.weatherapi.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Per-key rate limiter state with individual idle expiry and a hard cap on the number of keys.
+ * <p>
+ * Every value reports a deadline after which it is equivalent to a fresh value (a full bucket, an
+ * empty window), so dropping it then loses nothing. Entries are scheduled on a hashed timing wheel:
+ * each {@link #expire()} tick only visits the entries scheduled in the slots that have come due,
+ * removes those past their deadline and re-schedules the rest at their current deadline. Values are
+ * never moved on access, so the request path pays nothing for expiry.
+ * <p>
+ * When a new key would exceed the cap, the entries scheduled soonest are evicted first.
+ *
+ * @param <V> The mutable per-key state
+ */
+@Slf4j
+public class ExpiringKeyMap<V> {
+
+    private static final int WHEEL_SIZE = 512;
+
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final List<ConcurrentLinkedQueue<Entry<V>>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private final ToLongFunction<V> deadline;
+    private final Consumer<V> onExpire;
+    private final LongSupplier nanoClock;
+    private final long tickNanos;
+    private final int maxKeys;
+
+    /**
+     * Guards expiry and eviction; the request path never takes it.
+     */
+    private final ReentrantLock expiryLock = new ReentrantLock();
+
+    /**
+     * The next tick to process.
+     */
+    private volatile long currentTick;
+
+    /**
+     * Creates the map.
+     *
+     * @param deadline  Returns the clock time after which a value can be dropped
+     * @param nanoClock A monotonic, non-negative clock in nanoseconds
+     * @param maxKeys   The maximum number of tracked keys
+     * @param tick      The resolution of expiry
+     */
+    public ExpiringKeyMap(ToLongFunction<V> deadline, LongSupplier nanoClock, int maxKeys, Duration tick) {
+        this(deadline, value -> {
+        }, nanoClock, maxKeys, tick);
+    }
+
+    /**
+     * Creates the map with a callback for values dropped at their deadline.
+     *
+     * @param deadline  Returns the clock time after which a value can be dropped
+     * @param onExpire  Called by the expiring thread with each value dropped at its deadline (not on eviction)
+     * @param nanoClock A monotonic, non-negative clock in nanoseconds
+     * @param maxKeys   The maximum number of tracked keys
+     * @param tick      The resolution of expiry
+     */
+    public ExpiringKeyMap(ToLongFunction<V> deadline, Consumer<V> onExpire, LongSupplier nanoClock, int maxKeys,
+                          Duration tick) {
+        this.deadline = deadline;
+        this.onExpire = onExpire;
+        this.nanoClock = nanoClock;
+        this.maxKeys = maxKeys;
+        this.tickNanos = tick.toNanos();
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ConcurrentLinkedQueue<>());
+        }
+        this.currentTick = nanoClock.getAsLong() / tickNanos;
+    }
+
+    /**
+     * Returns the value of a key, creating and scheduling it if absent.
+     *
+     * @param key     The key
+     * @param factory Creates the fresh value of a new key
+     * @return The value
+     */
+    public V get(String key, Function<String, V> factory) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            return entry.value();
+        }
+        Entry<V> created = new Entry<>(key, factory.apply(key));
+        entry = entries.putIfAbsent(key, created);
+        if (entry != null) {
+            return entry.value();
+        }
+        schedule(created, nanoClock.getAsLong());
+        if (entries.size() > maxKeys) {
+            evictOverflow();
+        }
+        return created.value();
+    }
+
+    /**
+     * Returns the value of a key without creating it.
+     *
+     * @param key The key
+     * @return The value, or null if the key is not tracked
+     */
+    public V getIfPresent(String key) {
+        Entry<V> entry = entries.get(key);
+        return entry == null ? null : entry.value();
+    }
+
+    /**
+     * Advances the wheel to the current time, dropping the entries whose deadline has passed.
+     * <p>
+     * Does nothing if another thread is already expiring entries.
+     */
+    public void expire() {
+        if (!expiryLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = nanoClock.getAsLong();
+            long targetTick = now / tickNanos;
+            // After a long pause, one pass over the wheel visits every entry
+            long tick = Math.max(currentTick, targetTick - WHEEL_SIZE + 1);
+            int expired = 0;
+            for (; tick <= targetTick; tick++) {
+                currentTick = tick + 1;
+                expired += expireSlot(slotOf(tick), now);
+            }
+            if (expired > 0) {
+                log.debug("Expired {} idle rate limit keys. Tracking {} keys.", expired, entries.size());
+            }
+        } finally {
+            expiryLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of tracked keys.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drops every key.
+     */
+    public void clear() {
+        expiryLock.lock();
+        try {
+            entries.clear();
+            wheel.forEach(ConcurrentLinkedQueue::clear);
+        } finally {
+            expiryLock.unlock();
+        }
+    }
+
+    private int expireSlot(int slot, long now) {
+        // Drain first: entries a full revolution away are re-scheduled into this same slot
+        List<Entry<V>> due = new ArrayList<>();
+        for (Entry<V> entry; (entry = wheel.get(slot).poll()) != null; ) {
+            due.add(entry);
+        }
+        int expired = 0;
+        for (Entry<V> entry : due) {
+            if (entries.get(entry.key()) != entry) {
+                continue; // Already evicted or cleared
+            }
+            long entryDeadline = deadline.applyAsLong(entry.value());
+            if (entryDeadline <= now) {
+                // A request racing with removal updates the dropped value; at worst it goes uncounted
+                entries.remove(entry.key(), entry);
+                onExpire.accept(entry.value());
+                expired++;
+            } else {
+                schedule(entry, entryDeadline);
+            }
+        }
+        return expired;
+    }
+
+    private void evictOverflow() {
+        if (!expiryLock.tryLock()) {
+            return;
+        }
+        try {
+            // Evict in batches down to 90% of the cap so that a flood of new keys does not evict on every insert
+            int target = maxKeys - maxKeys / 10;
+            int evicted = 0;
+            long tick = currentTick;
+            for (int i = 0; i < WHEEL_SIZE && entries.size() > target; i++) {
+                ConcurrentLinkedQueue<Entry<V>> slot = wheel.get(slotOf(tick + i));
+                for (Entry<V> entry; entries.size() > target && (entry = slot.poll()) != null; ) {
+                    if (entries.remove(entry.key(), entry)) {
+                        evicted++;
+                    }
+                }
+            }
+            log.warn("Rate limit key cap of {} reached. Evicted {} keys closest to expiry.", maxKeys, evicted);
+        } finally {
+            expiryLock.unlock();
+        }
+    }
+
+    private void schedule(Entry<V> entry, long entryDeadline) {
+        long tick = Math.max(entryDeadline / tickNanos + 1, currentTick);
+        wheel.get(slotOf(tick)).add(entry);
+    }
+
+    private static int slotOf(long tick) {
+        return (int) Math.floorMod(tick, (long) WHEEL_SIZE);
+    }
+
+    private record Entry<V>(String key, V value) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.weather.api.weatherapi.ratelimit;
+
+/**
+ * Generic cell rate algorithm arithmetic shared by the {@link RateLimitStore} implementations.
+ * <p>
+ * Unlike {@link TokenBucketRateLimiter}, a reservation may be partially granted, so that a node can
+ * lease whatever is left of a key's quota.
+ */
+final class Gcra {
+
+    private Gcra() {
+    }
+
+    /**
+     * Takes up to {@code requested} tokens from a bucket.
+     *
+     * @param arrivalTime The key's current arrival time (zero for a new key)
+     * @param now         The current time, in the same clock as {@code arrivalTime}
+     * @param requested   The number of tokens wanted; zero only reports what is available
+     * @param tier        The limit that applies to the key
+     * @return The reservation, with the new arrival time to store if anything was granted
+     */
+    static Reservation reserve(long arrivalTime, long now, long requested, RateLimitTier tier) {
+        long interval = tier.emissionIntervalNanos();
+        long tolerance = interval * tier.limit();
+        long base = Math.max(arrivalTime, now);
+        long available = Math.max(0, (now + tolerance - base) / interval);
+        long granted = Math.min(requested, available);
+        long next = base + granted * interval;
+        long retryAfter = Math.max(0, next + interval - tolerance - now);
+        return new Reservation(granted, available - granted, retryAfter, granted > 0 ? next : arrivalTime);
+    }
+
+    /**
+     * Returns unused tokens to a bucket. A bucket cannot hold more than its limit, so tokens beyond a
+     * full bucket are dropped.
+     *
+     * @param arrivalTime The key's current arrival time
+     * @param now         The current time, in the same clock as {@code arrivalTime}
+     * @param returned    The number of tokens given back
+     * @param tier        The limit that applies to the key
+     * @return The new arrival time to store
+     */
+    static long release(long arrivalTime, long now, long returned, RateLimitTier tier) {
+        if (arrivalTime <= now) {
+            return arrivalTime;
+        }
+        return Math.max(now, arrivalTime - returned * tier.emissionIntervalNanos());
+    }
+}
@@ -0,0 +1,63 @@
+package com.weather.api.weatherapi.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Single-node {@link RateLimitStore} keeping each bucket's arrival time in an {@link AtomicLong}.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final ExpiringKeyMap<AtomicLong> arrivalTimes;
+    private final LongSupplier nanoClock;
+
+    /**
+     * Creates the store.
+     *
+     * @param nanoClock  A monotonic, non-negative clock in nanoseconds
+     * @param maxKeys    The maximum number of tracked API keys
+     * @param expiryTick The resolution of idle key expiry
+     */
+    public InMemoryRateLimitStore(LongSupplier nanoClock, int maxKeys, Duration expiryTick) {
+        this.nanoClock = nanoClock;
+        this.arrivalTimes = new ExpiringKeyMap<>(AtomicLong::get, nanoClock, maxKeys, expiryTick);
+    }
+
+    @Override
+    public Reservation reserve(String key, long permits, RateLimitTier tier) {
+        AtomicLong arrivalTime = arrivalTimes.get(key, k -> new AtomicLong());
+        while (true) {
+            long current = arrivalTime.get();
+            Reservation reservation = Gcra.reserve(current, nanoClock.getAsLong(), permits, tier);
+            if (reservation.granted() == 0 || arrivalTime.compareAndSet(current, reservation.arrivalTime())) {
+                return reservation;
+            }
+        }
+    }
+
+    @Override
+    public void release(String key, long permits, RateLimitTier tier) {
+        AtomicLong arrivalTime = arrivalTimes.getIfPresent(key);
+        if (arrivalTime != null) {
+            // An expired bucket is already full
+            arrivalTime.getAndUpdate(current -> Gcra.release(current, nanoClock.getAsLong(), permits, tier));
+        }
+    }
+
+    @Override
+    public Reservation peek(String key, RateLimitTier tier) {
+        AtomicLong arrivalTime = arrivalTimes.getIfPresent(key);
+        return Gcra.reserve(arrivalTime == null ? 0 : arrivalTime.get(), nanoClock.getAsLong(), 0, tier);
+    }
+
+    @Override
+    public void expireIdle() {
+        arrivalTimes.expire();
+    }
+
+    @Override
+    public void clear() {
+        arrivalTimes.clear();
+    }
+}
@@ -0,0 +1,109 @@
+package com.weather.api.weatherapi.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link RateLimitStore} shared by all replicas through the database.
+ * <p>
+ * Each key's arrival time is one row, read with {@code SELECT ... FOR UPDATE} and written back in the
+ * same transaction, so concurrent reservations from different nodes are serialized per key. Times are
+ * wall-clock nanoseconds since the epoch, so the nodes' clocks must be synchronized (NTP).
+ */
+@Slf4j
+public class JdbcRateLimitStore implements RateLimitStore {
+
+    private static final Duration CLEANUP_INTERVAL = Duration.ofMinutes(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LongSupplier epochNanos;
+    private final AtomicLong nextCleanup = new AtomicLong();
+
+    public JdbcRateLimitStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this(jdbcTemplate, transactionTemplate, () -> System.currentTimeMillis() * 1_000_000);
+    }
+
+    /**
+     * Creates the store. Its {@code rate_limit_bucket} table is created by the Flyway migrations.
+     *
+     * @param jdbcTemplate        The shared database
+     * @param transactionTemplate Runs each reservation in its own transaction
+     * @param epochNanos          A wall clock in nanoseconds since the epoch
+     */
+    public JdbcRateLimitStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, LongSupplier epochNanos) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.epochNanos = epochNanos;
+    }
+
+    @Override
+    public Reservation reserve(String key, long permits, RateLimitTier tier) {
+        try {
+            return transactionTemplate.execute(status -> reserveLocked(key, permits, tier));
+        } catch (DuplicateKeyException e) {
+            // Another node created the row first; it now exists and can be locked
+            return transactionTemplate.execute(status -> reserveLocked(key, permits, tier));
+        }
+    }
+
+    /**
+     * Moves the key's arrival time back in a single statement, so no row lock is held across a round trip.
+     */
+    @Override
+    public void release(String key, long permits, RateLimitTier tier) {
+        long now = epochNanos.getAsLong();
+        jdbcTemplate.update("UPDATE rate_limit_bucket SET arrival_time = GREATEST(?, arrival_time - ?) "
+                + "WHERE api_key = ? AND arrival_time > ?", now, permits * tier.emissionIntervalNanos(), key, now);
+    }
+
+    @Override
+    public Reservation peek(String key, RateLimitTier tier) {
+        List<Long> rows = jdbcTemplate.queryForList(
+                "SELECT arrival_time FROM rate_limit_bucket WHERE api_key = ?", Long.class, key);
+        return Gcra.reserve(rows.isEmpty() ? 0 : rows.get(0), epochNanos.getAsLong(), 0, tier);
+    }
+
+    /**
+     * Deletes the rows of full buckets, at most once per minute.
+     */
+    @Override
+    public void expireIdle() {
+        long now = epochNanos.getAsLong();
+        long due = nextCleanup.get();
+        if (now < due || !nextCleanup.compareAndSet(due, now + CLEANUP_INTERVAL.toNanos())) {
+            return;
+        }
+        int deleted = jdbcTemplate.update("DELETE FROM rate_limit_bucket WHERE arrival_time <= ?", now);
+        log.debug("Deleted {} idle rate limit buckets.", deleted);
+    }
+
+    @Override
+    public void clear() {
+        jdbcTemplate.update("DELETE FROM rate_limit_bucket");
+    }
+
+    private Reservation reserveLocked(String key, long permits, RateLimitTier tier) {
+        List<Long> rows = jdbcTemplate.queryForList(
+                "SELECT arrival_time FROM rate_limit_bucket WHERE api_key = ? FOR UPDATE", Long.class, key);
+        long current = rows.isEmpty() ? 0 : rows.get(0);
+        Reservation reservation = Gcra.reserve(current, epochNanos.getAsLong(), permits, tier);
+        if (reservation.granted() > 0) {
+            if (rows.isEmpty()) {
+                jdbcTemplate.update("INSERT INTO rate_limit_bucket (api_key, arrival_time) VALUES (?, ?)",
+                        key, reservation.arrivalTime());
+            } else {
+                jdbcTemplate.update("UPDATE rate_limit_bucket SET arrival_time = ? WHERE api_key = ?",
+                        reservation.arrivalTime(), key);
+            }
+        }
+        return reservation;
+    }
+}
@@ -0,0 +1,191 @@
+package com.weather.api.weatherapi.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Enforces limits held in a {@link RateLimitStore} while keeping the store off the request path.
+ * <p>
+ * Each node leases a small batch of a key's tokens from the store and admits requests against the
+ * lease with a lock-free compare-and-set. Only when the lease runs out (or expires) does one thread
+ * per key go back to the store. The store never grants more than the key's quota, so the limit holds
+ * across all nodes. Tokens still leased when the lease expires are returned to the store by
+ * {@link #expireIdle()}, so other nodes can use them and a key that sends a request every few seconds
+ * is not charged a whole lease per request; a lease refilled before that keeps its unused tokens.
+ * <p>
+ * The lease size is 1% of the tier's limit, capped at the configured maximum, so small tiers are not
+ * monopolized by a single node.
+ */
+public class LeasedRateLimiter implements RateLimiter {
+
+    private static final Lease EMPTY = new Lease(0, 0, 0, 0);
+
+    private final RateLimitStore store;
+    private final ExpiringKeyMap<LeaseHolder> leases;
+    private final LongSupplier nanoClock;
+    private final long maxLeaseSize;
+    private final long leaseTtlNanos;
+
+    /**
+     * Creates the limiter.
+     *
+     * @param store        The authoritative token buckets
+     * @param nanoClock    A monotonic, non-negative clock in nanoseconds
+     * @param maxLeaseSize The most tokens leased from the store at once
+     * @param leaseTtl     How long leased tokens remain usable
+     * @param maxKeys      The maximum number of API keys with a local lease
+     * @param expiryTick   The resolution of lease expiry
+     */
+    public LeasedRateLimiter(RateLimitStore store, LongSupplier nanoClock, long maxLeaseSize, Duration leaseTtl,
+                             int maxKeys, Duration expiryTick) {
+        this.store = store;
+        this.nanoClock = nanoClock;
+        this.maxLeaseSize = maxLeaseSize;
+        this.leaseTtlNanos = leaseTtl.toNanos();
+        this.leases = new ExpiringKeyMap<>(holder -> holder.lease.get().expiresAt(), this::refund, nanoClock, maxKeys,
+                expiryTick);
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, int permits, RateLimitTier tier) {
+        LeaseHolder holder = leases.get(key, k -> new LeaseHolder(k, tier));
+        RateLimitDecision decision = takeFromLease(holder, permits);
+        if (decision != null) {
+            return decision;
+        }
+
+        holder.refillLock.lock();
+        try {
+            // Another thread may have refilled the lease while this one waited
+            decision = takeFromLease(holder, permits);
+            if (decision != null) {
+                return decision;
+            }
+            long now = nanoClock.getAsLong();
+            Lease lease = holder.lease.get();
+            // Tokens of an expired lease not yet refunded are still reserved in the store
+            long leftover = lease.tokens();
+            if (now < lease.retryAt()) {
+                // The store had nothing left a moment ago; reject locally until it refills
+                return RateLimitDecision.rejected(leftover, lease.retryAt() - now);
+            }
+            long wanted = Math.max(permits, leaseSize(tier)) - leftover;
+            holder.tier = tier;
+            Reservation reservation = store.reserve(key, wanted, tier);
+            long tokens = leftover + reservation.granted();
+
+            if (tokens < permits) {
+                holder.lease.set(new Lease(tokens, now + leaseTtlNanos, 0, now + reservation.retryAfterNanos()));
+                return RateLimitDecision.rejected(tokens, reservation.retryAfterNanos());
+            }
+            holder.lease.set(new Lease(tokens - permits, now + leaseTtlNanos, reservation.remaining(), 0));
+            return RateLimitDecision.allowed(tokens - permits + reservation.remaining());
+        } finally {
+            holder.refillLock.unlock();
+        }
+    }
+
+    @Override
+    public RateLimitDecision probe(String key, int permits, RateLimitTier tier) {
+        LeaseHolder holder = leases.getIfPresent(key);
+        Lease lease = holder == null ? EMPTY : holder.lease.get();
+        long leftover = lease.tokens();
+        Reservation available = store.peek(key, tier);
+        long tokens = leftover + available.remaining();
+        return tokens >= permits
+                ? RateLimitDecision.allowed(tokens - permits)
+                : RateLimitDecision.rejected(tokens, available.retryAfterNanos());
+    }
+
+    @Override
+    public void expireIdle() {
+        leases.expire();
+        store.expireIdle();
+    }
+
+    @Override
+    public int size() {
+        return leases.size();
+    }
+
+    @Override
+    public void reset() {
+        leases.clear();
+        store.clear();
+    }
+
+    /**
+     * Takes permits from a valid lease, or returns null if the lease cannot cover them.
+     */
+    private RateLimitDecision takeFromLease(LeaseHolder holder, int permits) {
+        while (true) {
+            Lease lease = holder.lease.get();
+            if (!lease.isValid(nanoClock.getAsLong()) || lease.tokens() < permits) {
+                return null;
+            }
+            if (holder.lease.compareAndSet(lease, lease.take(permits))) {
+                return RateLimitDecision.allowed(lease.tokens() - permits + lease.storeRemaining());
+            }
+        }
+    }
+
+    /**
+     * Returns the unused tokens of an expired lease to the store. Runs on the expiring thread, under the
+     * key's refill lock, so a concurrent refill either happened first or sees the drained lease.
+     */
+    private void refund(LeaseHolder holder) {
+        holder.refillLock.lock();
+        try {
+            Lease lease = holder.lease.get();
+            if (lease.tokens() > 0 && !lease.isValid(nanoClock.getAsLong())) {
+                holder.lease.set(new Lease(0, lease.expiresAt(), lease.storeRemaining(), lease.retryAt()));
+                store.release(holder.key, lease.tokens(), holder.tier);
+            }
+        } finally {
+            holder.refillLock.unlock();
+        }
+    }
+
+    private long leaseSize(RateLimitTier tier) {
+        return Math.max(1, Math.min(maxLeaseSize, tier.limit() / 100));
+    }
+
+    /**
+     * Tokens leased from the store, with the store's remaining quota as of the lease and, after the
+     * store ran out, the time before which it is not asked again.
+     */
+    private record Lease(long tokens, long expiresAt, long storeRemaining, long retryAt) {
+
+        boolean isValid(long now) {
+            return expiresAt > now;
+        }
+
+        Lease take(int permits) {
+            return new Lease(tokens - permits, expiresAt, storeRemaining, retryAt);
+        }
+    }
+
+    private static final class LeaseHolder {
+
+        private final String key;
+
+        /**
+         * The tier the tokens were last leased under, used to refund them. Guarded by {@code refillLock}.
+         */
+        private RateLimitTier tier;
+
+        private final AtomicReference<Lease> lease = new AtomicReference<>(EMPTY);
+
+        /**
+         * Ensures one store round trip per key at a time; lease reads never take it.
+         */
+        private final ReentrantLock refillLock = new ReentrantLock();
+
+        private LeaseHolder(String key, RateLimitTier tier) {
+            this.key = key;
+            this.tier = tier;
+        }
+    }
+}
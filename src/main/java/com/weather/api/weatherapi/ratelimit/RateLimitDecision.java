@@ -0,0 +1,28 @@
+package com.weather.api.weatherapi.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * The outcome of a rate limit check.
+ *
+ * @param allowed    Whether the requests were admitted
+ * @param remaining  How many more requests would be admitted right now
+ * @param retryAfter How long to wait before the rejected requests would be admitted; zero when allowed
+ */
+public record RateLimitDecision(boolean allowed, long remaining, Duration retryAfter) {
+
+    /**
+     * Returns the wait before retrying, rounded up to whole seconds as used by the {@code Retry-After} header.
+     */
+    public long retryAfterSeconds() {
+        return (retryAfter.toMillis() + 999) / 1000;
+    }
+
+    static RateLimitDecision allowed(long remaining) {
+        return new RateLimitDecision(true, Math.max(0, remaining), Duration.ZERO);
+    }
+
+    static RateLimitDecision rejected(long remaining, long retryAfterNanos) {
+        return new RateLimitDecision(false, Math.max(0, remaining), Duration.ofNanos(Math.max(0, retryAfterNanos)));
+    }
+}
@@ -0,0 +1,84 @@
+package com.weather.api.weatherapi.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rate limit configuration ({@code weather.rate-limit.*}).
+ * <p>
+ * Limits are defined per named tier; API keys are assigned to a tier and all other keys use the
+ * default tier.
+ */
+@Data
+@ConfigurationProperties(prefix = "weather.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * The admission algorithm of the local store; shared stores always use the token bucket.
+     */
+    private Algorithm algorithm = Algorithm.TOKEN_BUCKET;
+
+    /**
+     * Where rate limit state is kept.
+     */
+    private Store store = Store.LOCAL;
+
+    /**
+     * The most tokens a node leases from a memory or JDBC store at once.
+     */
+    private long maxLeaseSize = 100;
+
+    /**
+     * How long leased tokens remain reserved for a node before unused ones are returned to the store.
+     */
+    private Duration leaseTtl = Duration.ofSeconds(1);
+
+    /**
+     * The maximum number of API keys with tracked state; the keys closest to expiry are evicted beyond it.
+     */
+    private int maxKeys = RateLimiter.DEFAULT_MAX_KEYS;
+
+    /**
+     * How often idle keys are checked for expiry.
+     */
+    private Duration expiryTick = RateLimiter.DEFAULT_EXPIRY_TICK;
+
+    /**
+     * The tier applied to API keys without an explicit assignment.
+     */
+    private String defaultTier = "standard";
+
+    /**
+     * Limits by tier name.
+     */
+    private Map<String, RateLimitTier> tiers = new HashMap<>(Map.of("standard", new RateLimitTier(5, Duration.ofHours(1))));
+
+    /**
+     * Tier name by API key.
+     */
+    private Map<String, String> keys = new HashMap<>();
+
+    public enum Algorithm {
+        TOKEN_BUCKET,
+        SLIDING_WINDOW
+    }
+
+    public enum Store {
+        /**
+         * Each node enforces the limits on its own, checking in-process state on every request.
+         */
+        LOCAL,
+        /**
+         * In-process store accessed through token leases, matching the shared store on a single node.
+         */
+        MEMORY,
+        /**
+         * Store in the application database, shared by every node that uses it.
+         */
+        JDBC
+    }
+}
@@ -0,0 +1,49 @@
+package com.weather.api.weatherapi.ratelimit;
+
+/**
+ * Holds the authoritative token bucket of every API key.
+ * <p>
+ * A store shared by all replicas makes a key's quota global instead of per node. Callers are
+ * expected to reserve tokens in batches (see {@link LeasedRateLimiter}) so that the store is not
+ * consulted on every request.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes up to {@code permits} tokens from a key's bucket.
+     *
+     * @param key     The API key
+     * @param permits The number of tokens wanted
+     * @param tier    The limit that applies to the key
+     * @return The reservation; fewer tokens than requested are granted when the bucket runs low
+     */
+    Reservation reserve(String key, long permits, RateLimitTier tier);
+
+    /**
+     * Gives reserved but unused tokens back to a key's bucket.
+     *
+     * @param key     The API key
+     * @param permits The number of tokens returned
+     * @param tier    The limit that applies to the key
+     */
+    void release(String key, long permits, RateLimitTier tier);
+
+    /**
+     * Reports the tokens available to a key without taking any.
+     *
+     * @param key  The API key
+     * @param tier The limit that applies to the key
+     * @return A reservation granting nothing
+     */
+    Reservation peek(String key, RateLimitTier tier);
+
+    /**
+     * Drops the buckets of keys that are full again.
+     */
+    void expireIdle();
+
+    /**
+     * Drops every bucket, restoring full quota.
+     */
+    void clear();
+}
@@ -0,0 +1,28 @@
+package com.weather.api.weatherapi.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * A rate limit: at most {@code limit} requests per {@code period}.
+ *
+ * @param limit  The number of requests allowed per period
+ * @param period The length of the period
+ */
+public record RateLimitTier(long limit, Duration period) {
+
+    public RateLimitTier {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Rate limit must be positive: " + limit);
+        }
+        if (period == null || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Rate limit period must be positive: " + period);
+        }
+    }
+
+    /**
+     * Returns the time it takes to earn back one request, in nanoseconds.
+     */
+    public long emissionIntervalNanos() {
+        return Math.max(1, period.toNanos() / limit);
+    }
+}
@@ -0,0 +1,68 @@
+package com.weather.api.weatherapi.ratelimit;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission algorithm behind {@link com.weather.api.weatherapi.service.RateLimitService}.
+ * <p>
+ * Implementations keep per-key state and must be safe for concurrent use without taking a lock on the
+ * common path. State is bounded: idle keys expire individually and the number of tracked keys is capped.
+ */
+public interface RateLimiter {
+
+    /**
+     * The default maximum number of tracked API keys.
+     */
+    int DEFAULT_MAX_KEYS = 100_000;
+
+    /**
+     * The default resolution of idle key expiry.
+     */
+    Duration DEFAULT_EXPIRY_TICK = Duration.ofSeconds(1);
+
+    /**
+     * Tries to take permits for a key.
+     * <p>
+     * A rejected call consumes nothing.
+     *
+     * @param key     The key being limited (the API key)
+     * @param permits The number of requests to admit
+     * @param tier    The limit that applies to the key
+     * @return The decision, with the remaining quota and, when rejected, how long to wait
+     */
+    RateLimitDecision tryAcquire(String key, int permits, RateLimitTier tier);
+
+    /**
+     * Reports what {@link #tryAcquire} would decide without consuming anything.
+     *
+     * @param key     The key being limited (the API key)
+     * @param permits The number of requests to check
+     * @param tier    The limit that applies to the key
+     * @return The decision, with the remaining quota and, when rejected, how long to wait
+     */
+    RateLimitDecision probe(String key, int permits, RateLimitTier tier);
+
+    /**
+     * Drops the state of keys that have been idle long enough to have their full quota back.
+     */
+    void expireIdle();
+
+    /**
+     * Returns the number of API keys with tracked state.
+     */
+    int size();
+
+    /**
+     * Forgets the state of every key, restoring full quota.
+     */
+    void reset();
+
+    /**
+     * Returns a monotonic clock in nanoseconds that starts at zero.
+     */
+    static LongSupplier monotonicClock() {
+        long origin = System.nanoTime();
+        return () -> System.nanoTime() - origin;
+    }
+}
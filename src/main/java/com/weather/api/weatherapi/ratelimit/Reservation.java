@@ -0,0 +1,12 @@
+package com.weather.api.weatherapi.ratelimit;
+
+/**
+ * Tokens taken from a {@link RateLimitStore}.
+ *
+ * @param granted         The number of tokens granted, possibly fewer than requested
+ * @param remaining       The number of tokens still available in the store after the grant
+ * @param retryAfterNanos How long until one more token is available; zero if one is available now
+ * @param arrivalTime     The key's GCRA arrival time after the grant, in the store's clock
+ */
+public record Reservation(long granted, long remaining, long retryAfterNanos, long arrivalTime) {
+}
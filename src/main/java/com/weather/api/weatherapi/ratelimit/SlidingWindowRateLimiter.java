@@ -0,0 +1,135 @@
+package com.weather.api.weatherapi.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Sliding-window counter.
+ * <p>
+ * Each key keeps the counts of the current and the previous fixed window. The requests in the
+ * last {@code period} are estimated as the current count plus the previous count weighted by how
+ * much of the previous window still overlaps the sliding window. This approximates a sliding log in
+ * constant memory per key and avoids the burst a fixed window allows at its boundary.
+ * <p>
+ * The counts are held in an immutable snapshot replaced with compare-and-set, so checks never lock.
+ * Once both windows have slid out, the key is dropped from memory.
+ */
+public class SlidingWindowRateLimiter implements RateLimiter {
+
+    private static final Window EMPTY = new Window(0, 0, 0, 0);
+
+    private final ExpiringKeyMap<AtomicReference<Window>> windows;
+    private final LongSupplier nanoClock;
+
+    public SlidingWindowRateLimiter() {
+        this(RateLimiter.monotonicClock());
+    }
+
+    /**
+     * Creates the limiter with a custom clock and the default key cap and expiry tick.
+     *
+     * @param nanoClock A monotonic, non-negative clock in nanoseconds
+     */
+    public SlidingWindowRateLimiter(LongSupplier nanoClock) {
+        this(nanoClock, DEFAULT_MAX_KEYS, DEFAULT_EXPIRY_TICK);
+    }
+
+    /**
+     * Creates the limiter.
+     *
+     * @param nanoClock  A monotonic, non-negative clock in nanoseconds
+     * @param maxKeys    The maximum number of tracked API keys
+     * @param expiryTick The resolution of idle key expiry
+     */
+    public SlidingWindowRateLimiter(LongSupplier nanoClock, int maxKeys, Duration expiryTick) {
+        this.nanoClock = nanoClock;
+        this.windows = new ExpiringKeyMap<>(state -> state.get().expiresAt(), nanoClock, maxKeys, expiryTick);
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, int permits, RateLimitTier tier) {
+        return acquire(key, permits, tier, true);
+    }
+
+    @Override
+    public RateLimitDecision probe(String key, int permits, RateLimitTier tier) {
+        return acquire(key, permits, tier, false);
+    }
+
+    @Override
+    public void expireIdle() {
+        windows.expire();
+    }
+
+    @Override
+    public int size() {
+        return windows.size();
+    }
+
+    @Override
+    public void reset() {
+        windows.clear();
+    }
+
+    private RateLimitDecision acquire(String key, int permits, RateLimitTier tier, boolean consume) {
+        long period = tier.period().toNanos();
+        long limit = tier.limit();
+        AtomicReference<Window> state = consume ? windows.get(key, k -> new AtomicReference<>(EMPTY)) : windows.getIfPresent(key);
+        if (state == null) {
+            state = new AtomicReference<>(EMPTY);
+        }
+
+        while (true) {
+            long now = nanoClock.getAsLong();
+            Window current = state.get();
+            Window window = current.rollTo(now - now % period, period);
+            double previousWeight = (double) (period - (now - window.start())) / period;
+            double used = window.previous() * previousWeight + window.current();
+
+            if (used + permits > limit) {
+                return RateLimitDecision.rejected((long) (limit - used),
+                        retryAfterNanos(window, now, permits, limit, period));
+            }
+            if (!consume || state.compareAndSet(current, window.add(permits, period))) {
+                return RateLimitDecision.allowed((long) (limit - used - permits));
+            }
+        }
+    }
+
+    /**
+     * Computes when the weighted count will have dropped enough to admit the permits.
+     */
+    private static long retryAfterNanos(Window window, long now, int permits, long limit, long period) {
+        long windowEnd = window.start() + period;
+        if (permits > limit) {
+            return windowEnd + period - now;
+        }
+        if (window.current() + permits > limit) {
+            // The current window becomes the previous one; wait until enough of it has slid out
+            double elapsed = period * (1 - (double) (limit - permits) / window.current());
+            return windowEnd + (long) Math.ceil(elapsed) - now;
+        }
+        double elapsed = period * (1 - (double) (limit - window.current() - permits) / window.previous());
+        return window.start() + (long) Math.ceil(elapsed) - now;
+    }
+
+    /**
+     * Request counts of the window starting at {@code start} and of the window before it, and the
+     * time at which both will have slid out.
+     */
+    private record Window(long start, long previous, long current, long expiresAt) {
+
+        Window rollTo(long windowStart, long period) {
+            if (start == windowStart) {
+                return this;
+            }
+            long carried = start == windowStart - period ? current : 0;
+            return new Window(windowStart, carried, 0, windowStart + period);
+        }
+
+        Window add(int permits, long period) {
+            return new Window(start, previous, current + permits, start + 2 * period);
+        }
+    }
+}
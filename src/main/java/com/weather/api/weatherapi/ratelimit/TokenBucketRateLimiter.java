@@ -0,0 +1,95 @@
+package com.weather.api.weatherapi.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket implemented as a generic cell rate algorithm (GCRA).
+ * <p>
+ * Each key holds a single "theoretical arrival time" in an {@link AtomicLong} that is advanced with
+ * compare-and-set, so a check is one read and one CAS with no locks and no background refill. The
+ * bucket holds up to {@code limit} requests and refills continuously at {@code limit / period}, so
+ * there is no window boundary at which every client's quota resets at once.
+ * <p>
+ * Once the arrival time has passed, the bucket is full again and the key is dropped from memory.
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    private final ExpiringKeyMap<AtomicLong> arrivalTimes;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketRateLimiter() {
+        this(RateLimiter.monotonicClock());
+    }
+
+    /**
+     * Creates the limiter with a custom clock and the default key cap and expiry tick.
+     *
+     * @param nanoClock A monotonic, non-negative clock in nanoseconds
+     */
+    public TokenBucketRateLimiter(LongSupplier nanoClock) {
+        this(nanoClock, DEFAULT_MAX_KEYS, DEFAULT_EXPIRY_TICK);
+    }
+
+    /**
+     * Creates the limiter.
+     *
+     * @param nanoClock  A monotonic, non-negative clock in nanoseconds
+     * @param maxKeys    The maximum number of tracked API keys
+     * @param expiryTick The resolution of idle key expiry
+     */
+    public TokenBucketRateLimiter(LongSupplier nanoClock, int maxKeys, Duration expiryTick) {
+        this.nanoClock = nanoClock;
+        this.arrivalTimes = new ExpiringKeyMap<>(AtomicLong::get, nanoClock, maxKeys, expiryTick);
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, int permits, RateLimitTier tier) {
+        return acquire(key, permits, tier, true);
+    }
+
+    @Override
+    public RateLimitDecision probe(String key, int permits, RateLimitTier tier) {
+        return acquire(key, permits, tier, false);
+    }
+
+    @Override
+    public void expireIdle() {
+        arrivalTimes.expire();
+    }
+
+    @Override
+    public int size() {
+        return arrivalTimes.size();
+    }
+
+    @Override
+    public void reset() {
+        arrivalTimes.clear();
+    }
+
+    private RateLimitDecision acquire(String key, int permits, RateLimitTier tier, boolean consume) {
+        long interval = tier.emissionIntervalNanos();
+        long tolerance = interval * tier.limit();
+        AtomicLong arrivalTime = consume ? arrivalTimes.get(key, k -> new AtomicLong()) : arrivalTimes.getIfPresent(key);
+        if (arrivalTime == null) {
+            arrivalTime = new AtomicLong();
+        }
+
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = arrivalTime.get();
+            long base = Math.max(current, now);
+            long next = base + permits * interval;
+            long allowAt = next - tolerance;
+
+            if (allowAt > now) {
+                return RateLimitDecision.rejected((now + tolerance - base) / interval, allowAt - now);
+            }
+            if (!consume || arrivalTime.compareAndSet(current, next)) {
+                return RateLimitDecision.allowed((now + tolerance - next) / interval);
+            }
+        }
+    }
+}
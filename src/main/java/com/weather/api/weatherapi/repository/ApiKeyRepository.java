@@ -3,6 +3,7 @@ package com.weather.api.weatherapi.repository;
 import com.weather.api.weatherapi.entity.ApiKey;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -21,4 +22,13 @@ public interface ApiKeyRepository extends JpaRepository<ApiKey, Long> {
      * @return A list of all API keys
      */
     List<ApiKey> findAll();
-}
\ No newline at end of file
+
+    /**
+     * Deletes an API key.
+     *
+     * @param apiKey The API key to delete
+     * @return The number of deleted rows
+     */
+    @Transactional
+    long deleteByApiKey(String apiKey);
+}
@@ -0,0 +1,43 @@
+package com.weather.api.weatherapi.repository;
+
+import com.weather.api.weatherapi.entity.WeatherObservation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read access to the weather observation history.
+ * <p>
+ * Observations are written in batches by the write-behind queue, and trimmed by the history
+ * retention job; this repository only pages through them.
+ */
+@Repository
+public interface WeatherObservationRepository extends JpaRepository<WeatherObservation, Long> {
+
+    /**
+     * Returns a location's observations, newest first, strictly before a keyset position.
+     * <p>
+     * The position is the (observed at, id) pair of the last row of the previous page, so every page
+     * is a range scan of the history index however deep it is.
+     *
+     * @param lookupKey the normalized location key
+     * @param from      the earliest observation time to return (inclusive)
+     * @param beforeAt  the observation time of the keyset position
+     * @param beforeId  the id of the keyset position
+     * @param pageable  the page size (the page number must be 0)
+     * @return the observations
+     */
+    @Query("SELECT o FROM WeatherObservation o WHERE o.lookupKey = :lookupKey AND o.observedAt >= :from "
+            + "AND (o.observedAt < :beforeAt OR (o.observedAt = :beforeAt AND o.id < :beforeId)) "
+            + "ORDER BY o.observedAt DESC, o.id DESC")
+    List<WeatherObservation> findPageBefore(@Param("lookupKey") String lookupKey,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("beforeAt") LocalDateTime beforeAt,
+                                            @Param("beforeId") long beforeId,
+                                            Pageable pageable);
+}
@@ -1,9 +1,18 @@
 package com.weather.api.weatherapi.repository;
 
 import com.weather.api.weatherapi.dto.WeatherData;
+import com.weather.api.weatherapi.dto.WeatherSnapshot;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -12,7 +21,8 @@ import java.util.Optional;
  * Provides:
  * <ul>
  *   <li>CRUD operations for {@link WeatherData}</li>
- *   <li>Custom query for database health checks</li>
+ *   <li>Lookups by the unique, normalized lookup key (one row per location)</li>
+ *   <li>Read-only projections for the lookup hot path, which skip entity management</li>
  * </ul>
  *
  * @author YourName
@@ -21,21 +31,71 @@ import java.util.Optional;
 public interface WeatherRepository extends JpaRepository<WeatherData, Long> {
 
     /**
-     * Finds weather data by city and country (composite key).
+     * Finds weather data by its normalized lookup key.
+     *
+     * @param lookupKey the lookup key (see {@link WeatherData#lookupKey(String, String)})
+     * @return Optional containing the weather data, or empty if not found
+     */
+    Optional<WeatherData> findByLookupKey(String lookupKey);
+
+    /**
+     * Finds weather data by city and country through the unique lookup key index.
+     * <p>
+     * Matching is case-insensitive and ignores surrounding whitespace, like the in-memory cache.
      *
      * @param city    the city name (e.g., "London")
      * @param country the country code (e.g., "UK")
      * @return Optional containing the weather data, or empty if not found
      */
-    Optional<WeatherData> findByCityAndCountry(String city, String country);
+    default Optional<WeatherData> findByCityAndCountry(String city, String country) {
+        return findByLookupKey(WeatherData.lookupKey(city, country));
+    }
+
+    /**
+     * Reads a location's row as a projection, in a read-only transaction that never flushes.
+     *
+     * @param lookupKey the lookup key (see {@link WeatherData#lookupKey(String, String)})
+     * @return Optional containing the projection, or empty if not found
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT new com.weather.api.weatherapi.dto.WeatherSnapshot(w.city, w.country, w.description, w.timestamp) "
+            + "FROM WeatherData w WHERE w.lookupKey = :lookupKey")
+    Optional<WeatherSnapshot> findSnapshotByLookupKey(@Param("lookupKey") String lookupKey);
 
     /**
-     * Verifies database connectivity by executing a simple query.
+     * Reads the rows of many locations as projections, in a read-only transaction that never flushes.
+     *
+     * @param lookupKeys the lookup keys to look up
+     * @return the projections found, in no particular order
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT new com.weather.api.weatherapi.dto.WeatherSnapshot(w.city, w.country, w.description, w.timestamp) "
+            + "FROM WeatherData w WHERE w.lookupKey IN :lookupKeys")
+    List<WeatherSnapshot> findSnapshotsByLookupKeyIn(@Param("lookupKeys") Collection<String> lookupKeys);
+
+    /**
+     * Reads a location's weather data for the lookup hot path.
      * <p>
-     * This is a lightweight check that returns 1 if the database is reachable.
+     * Returns detached data built from {@link #findSnapshotByLookupKey(String)}; changes to it are
+     * never written back.
+     *
+     * @param city    the city name (e.g., "London")
+     * @param country the country code (e.g., "UK")
+     * @return Optional containing the weather data, or empty if not found
+     */
+    default Optional<WeatherData> findReadOnly(String city, String country) {
+        return findSnapshotByLookupKey(WeatherData.lookupKey(city, country)).map(WeatherSnapshot::toWeatherData);
+    }
+
+    /**
+     * Reads the weather data of many locations for batch lookups, detached like {@link #findReadOnly(String, String)}.
      *
-     * @return Integer result of the query (1 if successful)
+     * @param lookupKeys the lookup keys to look up
+     * @return the weather data found, in no particular order
      */
-    @Query("SELECT 1 FROM WeatherData")
-    Integer healthCheck();
+    default List<WeatherData> findReadOnly(Collection<String> lookupKeys) {
+        return findSnapshotsByLookupKeyIn(lookupKeys).stream().map(WeatherSnapshot::toWeatherData).toList();
+    }
 }
\ No newline at end of file
@@ -1,10 +1,18 @@
 package com.weather.api.weatherapi.service;
 
+import com.weather.api.weatherapi.entity.ApiKey;
+import com.weather.api.weatherapi.logging.HotPath;
+import com.weather.api.weatherapi.repository.ApiKeyRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 
 /**
  * Service to manage API keys.
@@ -14,26 +22,53 @@ import java.util.Set;
  * - Add new API keys.
  * - Delete existing API keys.
  * - List all valid API keys.
+ * <p>
+ * The database ({@link ApiKeyRepository}) is the system of record. Validation reads an immutable
+ * in-memory snapshot of the keys held in a volatile field, so it is a single hash lookup that never
+ * blocks and never touches the database. Changes are written to the database and then published by
+ * swapping in a new snapshot.
  */
 @Slf4j
 @Service
 public class ApiKeyService {
 
     /**
-     * A thread-safe set to store valid API keys.
+     * API keys created on first start, when the database holds none.
+     */
+    private static final List<String> DEFAULT_API_KEYS = List.of(
+            "b2180c8ac8633b32549bb10ac4ca7730",
+            "e7dd890a480d1e9547cd9d92b2f803c7",
+            "5ceca6dbfe14418a07e12fc76ec7d1bb",
+            "147854e652b5b992ec688497963df829",
+            "bc6faa4243d1bf3acef6c4f5cd862c1f"
+    );
+
+    private final ApiKeyRepository apiKeyRepository;
+
+    /**
+     * The current valid API keys; replaced as a whole, never mutated.
      */
-    private final Set<String> validApiKeys = new HashSet<>();
+    private volatile Set<String> validApiKeys = Set.of();
 
     /**
-     * Initializes the service with predefined valid API keys.
+     * Serializes writers so that concurrent changes do not overwrite each other's snapshot.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Initializes the service with the API keys stored in the database, seeding the predefined keys if there are none.
+     *
+     * @param apiKeyRepository The API key repository
      */
-    public ApiKeyService() {
-        // Predefined API keys (replace these with your actual keys)
-        validApiKeys.add("b2180c8ac8633b32549bb10ac4ca7730");
-        validApiKeys.add("e7dd890a480d1e9547cd9d92b2f803c7");
-        validApiKeys.add("5ceca6dbfe14418a07e12fc76ec7d1bb");
-        validApiKeys.add("147854e652b5b992ec688497963df829");
-        validApiKeys.add("bc6faa4243d1bf3acef6c4f5cd862c1f");
+    public ApiKeyService(ApiKeyRepository apiKeyRepository) {
+        this.apiKeyRepository = apiKeyRepository;
+        if (apiKeyRepository.count() == 0) {
+            // Predefined API keys (replace these with your actual keys)
+            apiKeyRepository.saveAll(DEFAULT_API_KEYS.stream().map(ApiKey::new).toList());
+            validApiKeys = Set.copyOf(DEFAULT_API_KEYS);
+        } else {
+            reload();
+        }
         log.info("ApiKeyService initialized with {} valid API keys.", validApiKeys.size());
     }
 
@@ -44,11 +79,11 @@ public class ApiKeyService {
      * @return True if the key is valid, false otherwise
      */
     public boolean isValidKey(String apiKey) {
-        boolean isValid = validApiKeys.contains(apiKey);
+        boolean isValid = apiKey != null && validApiKeys.contains(apiKey);
         if (!isValid) {
-            log.warn("Invalid API key used: {}", apiKey);
+            log.warn(HotPath.MARKER, "Invalid API key used: {}", HotPath.mask(apiKey));
         } else {
-            log.info("Valid API key used: {}", apiKey);
+            log.debug(HotPath.MARKER, "Valid API key used: {}", HotPath.mask(apiKey));
         }
         return isValid;
     }
@@ -59,8 +94,24 @@ public class ApiKeyService {
      * @param apiKey The API key to add
      */
     public void addApiKey(String apiKey) {
-        validApiKeys.add(apiKey);
-        log.info("Added new API key: {}", apiKey);
+        writeLock.lock();
+        try {
+            if (validApiKeys.contains(apiKey)) {
+                return;
+            }
+            try {
+                apiKeyRepository.save(new ApiKey(apiKey));
+            } catch (DataIntegrityViolationException e) {
+                // Added concurrently by another instance; the key exists either way
+                log.warn("API key already exists in the database: {}", HotPath.mask(apiKey));
+            }
+            Set<String> updated = new HashSet<>(validApiKeys);
+            updated.add(apiKey);
+            validApiKeys = Set.copyOf(updated);
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Added new API key: {}", HotPath.mask(apiKey));
     }
 
     /**
@@ -69,20 +120,56 @@ public class ApiKeyService {
      * @param apiKey The API key to delete
      */
     public void deleteApiKey(String apiKey) {
-        boolean removed = validApiKeys.remove(apiKey);
+        boolean removed;
+        writeLock.lock();
+        try {
+            apiKeyRepository.deleteByApiKey(apiKey);
+            removed = validApiKeys.contains(apiKey);
+            if (removed) {
+                Set<String> updated = new HashSet<>(validApiKeys);
+                updated.remove(apiKey);
+                validApiKeys = Set.copyOf(updated);
+            }
+        } finally {
+            writeLock.unlock();
+        }
         if (removed) {
-            log.info("Deleted API key: {}", apiKey);
+            log.info("Deleted API key: {}", HotPath.mask(apiKey));
         } else {
-            log.warn("Attempted to delete non-existent API key: {}", apiKey);
+            log.warn("Attempted to delete non-existent API key: {}", HotPath.mask(apiKey));
         }
     }
 
     /**
      * Lists all valid API keys.
      *
-     * @return A set of valid API keys (a copy to prevent external modification)
+     * @return A set of valid API keys (an immutable snapshot)
      */
     public Set<String> listApiKeys() {
-        return new HashSet<>(validApiKeys); // Return a copy to prevent modification
+        return validApiKeys;
+    }
+
+    /**
+     * Reloads the API keys from the database, picking up changes made by other instances.
+     * <p>
+     * The snapshot is only replaced when the keys changed, since
+     * {@link com.weather.api.weatherapi.filter.ApiKeyFilter} rebuilds its rejection structures whenever
+     * the snapshot is a different set.
+     */
+    @Scheduled(fixedDelayString = "${weather.api-keys.reload-interval:PT1M}",
+            initialDelayString = "${weather.api-keys.reload-interval:PT1M}")
+    public void reload() {
+        writeLock.lock();
+        try {
+            Set<String> reloaded = apiKeyRepository.findAll().stream()
+                    .map(ApiKey::getApiKey)
+                    .collect(Collectors.toUnmodifiableSet());
+            if (!reloaded.equals(validApiKeys)) {
+                validApiKeys = reloaded;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        log.debug("Reloaded {} API keys.", validApiKeys.size());
     }
-}
\ No newline at end of file
+}
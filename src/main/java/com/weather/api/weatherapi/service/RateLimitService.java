@@ -1,58 +1,144 @@
 package com.weather.api.weatherapi.service;
 
+import com.weather.api.weatherapi.dto.RateLimitStatus;
+import com.weather.api.weatherapi.exception.BatchExceedsTierLimitException;
 import com.weather.api.weatherapi.exception.RateLimitExceededException;
+import com.weather.api.weatherapi.logging.HotPath;
+import com.weather.api.weatherapi.ratelimit.RateLimitDecision;
+import com.weather.api.weatherapi.ratelimit.RateLimitProperties;
+import com.weather.api.weatherapi.ratelimit.RateLimitTier;
+import com.weather.api.weatherapi.ratelimit.RateLimiter;
+import com.weather.api.weatherapi.ratelimit.TokenBucketRateLimiter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-
 /**
- * Service to enforce rate limiting (5 requests/hour per API key).
+ * Service to enforce rate limiting per API key.
  * <p>
- * This service tracks the number of requests made by each API key and enforces a limit of 5 requests per hour.
- * The request counts are reset every hour using a scheduled task.
+ * Each API key belongs to a tier (by default 5 requests/hour) configured under {@code weather.rate-limit.*}.
+ * Admission is decided by a {@link RateLimiter}: a token bucket that refills continuously, or a sliding-window
+ * counter, kept per node or in a store shared by all nodes ({@code weather.rate-limit.store}). Quota is regained
+ * gradually rather than reset for every key at the same moment, and the state of idle keys is dropped
+ * individually once it no longer affects admission.
  */
 @Slf4j
 @Service
 public class RateLimitService {
 
-    private static final int MAX_REQUESTS_PER_HOUR = 5;
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
 
     /**
-     * A thread-safe map to store request counts for each API key.
-     * - Key: API key
-     * - Value: AtomicInteger representing the number of requests made by the API key.
+     * Creates the service with the default configuration (token bucket, 5 requests/hour).
      */
-    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+    public RateLimitService() {
+        this(new RateLimitProperties(), new TokenBucketRateLimiter());
+    }
+
+    /**
+     * Creates the service.
+     *
+     * @param properties  The rate limit configuration
+     * @param rateLimiter The admission algorithm and the store behind it
+     * @throws IllegalStateException if the default tier or a tier assigned to an API key is not defined
+     */
+    @Autowired
+    public RateLimitService(RateLimitProperties properties, RateLimiter rateLimiter) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        if (!properties.getTiers().containsKey(properties.getDefaultTier())) {
+            throw new IllegalStateException("Undefined default rate limit tier: " + properties.getDefaultTier());
+        }
+        properties.getKeys().values().stream()
+                .filter(tier -> !properties.getTiers().containsKey(tier))
+                .findFirst()
+                .ifPresent(tier -> {
+                    throw new IllegalStateException("Undefined rate limit tier: " + tier);
+                });
+        log.info("Rate limiting with {} and tiers {}", rateLimiter.getClass().getSimpleName(), properties.getTiers());
+    }
 
     /**
      * Validates if the API key has exceeded the rate limit.
      *
      * @param apiKey the API key to validate
-     * @throws RateLimitExceededException if the API key exceeds the allowed number of requests per hour
+     * @throws RateLimitExceededException if the API key exceeds the allowed number of requests
      */
     public void validateRateLimit(String apiKey) {
-        // Get or initialize the request count for the API key
-        AtomicInteger count = requestCounts.computeIfAbsent(apiKey, k -> new AtomicInteger(0));
+        validateRateLimit(apiKey, 1);
+    }
 
-        // Increment the count and check if it exceeds the limit
-        if (count.incrementAndGet() > MAX_REQUESTS_PER_HOUR) {
-            log.warn("Rate limit exceeded for API Key: {}", apiKey);
-            throw new RateLimitExceededException();
+    /**
+     * Validates if the API key can make the given number of requests without exceeding the rate limit.
+     * <p>
+     * Used by batch lookups, where each distinct location counts as one request. A rejected call
+     * does not consume any of the remaining quota.
+     *
+     * @param apiKey  the API key to validate
+     * @param permits the number of requests to count
+     * @throws BatchExceedsTierLimitException if the tier allows fewer requests per period than requested,
+     *                                        so waiting would never help
+     * @throws RateLimitExceededException     if the requests would exceed the allowed number of requests,
+     *                                        carrying how long to wait before retrying
+     */
+    public void validateRateLimit(String apiKey, int permits) {
+        RateLimitTier tier = tierOf(apiKey);
+        if (permits > tier.limit()) {
+            log.warn(HotPath.MARKER, "Batch of {} exceeds the tier limit of {} for API Key: {}", permits, tier.limit(),
+                    HotPath.mask(apiKey));
+            throw new BatchExceedsTierLimitException(permits, tier.limit());
+        }
+        RateLimitDecision decision = rateLimiter.tryAcquire(apiKey, permits, tier);
+        if (!decision.allowed()) {
+            log.warn(HotPath.MARKER, "Rate limit exceeded for API Key: {}. Retry after {}", HotPath.mask(apiKey),
+                    decision.retryAfter());
+            throw new RateLimitExceededException(decision.retryAfter());
         }
 
-        log.info("Request count for API Key {}: {}", apiKey, count.get());
+        log.debug(HotPath.MARKER, "Remaining requests for API Key {}: {}", HotPath.mask(apiKey), decision.remaining());
     }
 
     /**
-     * Resets the request counts every hour.
+     * Returns the current quota of an API key without consuming any of it.
+     *
+     * @param apiKey the API key
+     * @return the tier, remaining requests and time until the next request is admitted
+     */
+    public RateLimitStatus getStatus(String apiKey) {
+        String tierName = tierNameOf(apiKey);
+        RateLimitTier tier = properties.getTiers().get(tierName);
+
+        // Check a single request without consuming it
+        RateLimitDecision next = rateLimiter.probe(apiKey, 1, tier);
+        long remaining = next.allowed() ? next.remaining() + 1 : 0;
+        return new RateLimitStatus(tierName, tier.limit(), tier.period().toSeconds(), remaining, next.retryAfterSeconds());
+    }
+
+    /**
+     * Drops the state of API keys that have regained their full quota, one key at a time.
+     */
+    @Scheduled(fixedDelayString = "${weather.rate-limit.expiry-tick:PT1S}")
+    public void expireIdleKeys() {
+        rateLimiter.expireIdle();
+    }
+
+    /**
+     * Clears the rate limit state of every API key, restoring full quota.
+     * <p>
+     * Quota is regained continuously, so this is no longer scheduled; it remains for administrative resets.
      */
-    @Scheduled(fixedRate = 3600000) // 3600000 ms = 1 hour
     public void resetCounts() {
         log.info("Resetting rate limit counts.");
-        requestCounts.clear();
+        rateLimiter.reset();
+    }
+
+    private RateLimitTier tierOf(String apiKey) {
+        return properties.getTiers().get(tierNameOf(apiKey));
+    }
+
+    private String tierNameOf(String apiKey) {
+        return properties.getKeys().getOrDefault(apiKey, properties.getDefaultTier());
     }
-}
\ No newline at end of file
+}
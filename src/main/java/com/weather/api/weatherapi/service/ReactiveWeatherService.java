@@ -0,0 +1,121 @@
+package com.weather.api.weatherapi.service;
+
+import com.weather.api.weatherapi.cache.WeatherCache;
+import com.weather.api.weatherapi.cache.WeatherKey;
+import com.weather.api.weatherapi.cache.WeatherWriteBehind;
+import com.weather.api.weatherapi.dto.WeatherData;
+import com.weather.api.weatherapi.exception.InvalidApiKeyException;
+import com.weather.api.weatherapi.exception.RateLimitExceededException;
+import com.weather.api.weatherapi.exception.WeatherServiceException;
+import com.weather.api.weatherapi.filter.ApiKeyAuthentication;
+import com.weather.api.weatherapi.logging.HotPath;
+import com.weather.api.weatherapi.upstream.ReactiveWeatherClient;
+import com.weather.api.weatherapi.usage.UsageMeter;
+import com.weather.api.weatherapi.usage.UsageMetric;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Non-blocking variant of {@link WeatherService#getWeather(String, String, String)}.
+ * <p>
+ * API key validation, rate limiting and the in-memory cache lookup are all in-memory operations.
+ * Misses are fetched with {@link ReactiveWeatherClient}, coalesced per (city, country), and
+ * handed to {@link WeatherWriteBehind} on a bounded elastic scheduler without delaying the response.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "weather.reactive.enabled", havingValue = "true")
+public class ReactiveWeatherService {
+
+    private final ReactiveWeatherClient weatherClient;
+    private final WeatherCache weatherCache;
+    private final WeatherWriteBehind weatherWriteBehind;
+    private final RateLimitService rateLimitService;
+    private final ApiKeyService apiKeyService;
+    private final UsageMeter usageMeter;
+
+    /**
+     * Upstream fetches currently in flight, shared by all subscribers for the same key.
+     */
+    private final Map<WeatherKey, Mono<WeatherData>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves weather data for a city/country without blocking the calling thread.
+     *
+     * @param city    The city name (e.g., "London")
+     * @param country The country code (e.g., "UK")
+     * @param apiKey  The API key for authentication
+     * @return Mono emitting the weather data, or an {@link InvalidApiKeyException},
+     *         {@link RateLimitExceededException} or {@link WeatherServiceException}
+     */
+    public Mono<WeatherData> getWeather(String city, String country, String apiKey) {
+        return Mono.defer(() -> {
+            if (!ApiKeyAuthentication.isAuthenticated(apiKey) && !apiKeyService.isValidKey(apiKey)) {
+                return Mono.error(new InvalidApiKeyException());
+            }
+            try {
+                rateLimitService.validateRateLimit(apiKey);
+            } catch (RateLimitExceededException e) {
+                usageMeter.record(apiKey, UsageMetric.REJECTIONS);
+                throw e;
+            }
+            usageMeter.record(apiKey, UsageMetric.REQUESTS);
+
+            Optional<WeatherData> cachedData = weatherCache.get(city, country);
+            if (cachedData.isPresent()) {
+                usageMeter.record(apiKey, UsageMetric.CACHE_HITS);
+                return Mono.just(cachedData.get());
+            }
+
+            Optional<WeatherData> staleData = weatherCache.getStale(city, country);
+            if (staleData.isPresent()) {
+                usageMeter.record(apiKey, UsageMetric.CACHE_HITS);
+                fetchCoalesced(city, country, apiKey).subscribe(
+                        data -> log.debug("Refreshed stale weather data for city: {}, country: {}", city, country),
+                        e -> log.warn("Background refresh failed for city: {}, country: {}: {}", city, country, e.getMessage()));
+                return Mono.just(staleData.get());
+            }
+
+            log.info(HotPath.MARKER, "No cached data found. Fetching new weather data reactively for city: {}, country: {}",
+                    city, country);
+            usageMeter.record(apiKey, UsageMetric.UPSTREAM_FETCHES);
+            return fetchCoalesced(city, country, apiKey);
+        });
+    }
+
+    /**
+     * Fetches weather data from OpenWeatherMap, sharing any fetch already in flight for the key.
+     */
+    private Mono<WeatherData> fetchCoalesced(String city, String country, String apiKey) {
+        WeatherKey key = WeatherKey.of(city, country);
+        return inFlight.computeIfAbsent(key, k -> weatherClient.fetchDescription(city, country, apiKey)
+                .map(description -> {
+                    WeatherData weatherData = new WeatherData(city, country, description);
+                    weatherCache.put(weatherData);
+                    persistInBackground(weatherData);
+                    return weatherData;
+                })
+                .doFinally(signal -> inFlight.remove(k))
+                .cache());
+    }
+
+    /**
+     * Queues fetched weather data for writing on a bounded elastic thread, which also absorbs the
+     * write-behind backpressure.
+     */
+    private void persistInBackground(WeatherData weatherData) {
+        Mono.fromRunnable(() -> weatherWriteBehind.submit(weatherData))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(null, e -> log.warn("Failed to persist weather data for city: {}, country: {}: {}",
+                        weatherData.getCity(), weatherData.getCountry(), e.getMessage()));
+    }
+}
@@ -0,0 +1,99 @@
+package com.weather.api.weatherapi.service;
+
+import com.weather.api.weatherapi.dto.WeatherData;
+import com.weather.api.weatherapi.dto.WeatherHistoryResponse;
+import com.weather.api.weatherapi.entity.WeatherObservation;
+import com.weather.api.weatherapi.exception.InvalidApiKeyException;
+import com.weather.api.weatherapi.exception.InvalidCursorException;
+import com.weather.api.weatherapi.exception.RateLimitExceededException;
+import com.weather.api.weatherapi.filter.ApiKeyAuthentication;
+import com.weather.api.weatherapi.history.HistoryCursor;
+import com.weather.api.weatherapi.logging.HotPath;
+import com.weather.api.weatherapi.repository.WeatherObservationRepository;
+import com.weather.api.weatherapi.usage.UsageMeter;
+import com.weather.api.weatherapi.usage.UsageMetric;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serves the weather observation history of a location.
+ * <p>
+ * Pages are read newest first with keyset pagination: the cursor holds the last observation
+ * returned, and the next page starts strictly after it in the history index. Unlike an offset,
+ * this costs the same on every page and does not skip or repeat rows while new observations arrive.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WeatherHistoryService {
+
+    /**
+     * Upper bound used when no end time or cursor is given.
+     */
+    private static final LocalDateTime END_OF_TIME = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final LocalDateTime BEGINNING_OF_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final WeatherObservationRepository observationRepository;
+    private final RateLimitService rateLimitService;
+    private final ApiKeyService apiKeyService;
+    private final UsageMeter usageMeter;
+
+    /**
+     * Returns one page of a location's observation history, newest first.
+     *
+     * @param city    The city name (e.g., "London")
+     * @param country The country code (e.g., "UK")
+     * @param apiKey  The API key for authentication
+     * @param from    The earliest observation time to return (inclusive), or null
+     * @param to      The latest observation time to return (exclusive), or null
+     * @param cursor  The cursor returned with the previous page, or null for the first page
+     * @param limit   The maximum number of observations on the page
+     * @return The page and the cursor of the next one
+     * @throws InvalidApiKeyException     If the API key is invalid
+     * @throws RateLimitExceededException If the API key's rate limit is exceeded
+     * @throws InvalidCursorException    If the cursor is invalid
+     */
+    public WeatherHistoryResponse getHistory(String city, String country, String apiKey, LocalDateTime from,
+                                             LocalDateTime to, String cursor, int limit) {
+        if (!ApiKeyAuthentication.isAuthenticated(apiKey) && !apiKeyService.isValidKey(apiKey)) {
+            log.warn(HotPath.MARKER, "Invalid API key used: {}", HotPath.mask(apiKey));
+            throw new InvalidApiKeyException();
+        }
+        try {
+            rateLimitService.validateRateLimit(apiKey);
+        } catch (RateLimitExceededException e) {
+            usageMeter.record(apiKey, UsageMetric.REJECTIONS);
+            throw e;
+        }
+        usageMeter.record(apiKey, UsageMetric.REQUESTS);
+
+        // The first page ends just before "to"; later pages just after the previous page's last row
+        HistoryCursor position = cursor != null
+                ? HistoryCursor.decode(cursor)
+                : new HistoryCursor(to != null ? to : END_OF_TIME, Long.MIN_VALUE);
+
+        // One extra row tells whether there is a next page
+        List<WeatherObservation> rows = observationRepository.findPageBefore(WeatherData.lookupKey(city, country),
+                from != null ? from : BEGINNING_OF_TIME, position.observedAt(), position.id(),
+                PageRequest.of(0, limit + 1));
+
+        List<WeatherHistoryResponse.Observation> observations = new ArrayList<>(Math.min(rows.size(), limit));
+        for (int i = 0; i < rows.size() && i < limit; i++) {
+            observations.add(new WeatherHistoryResponse.Observation(rows.get(i).getDescription(),
+                    rows.get(i).getObservedAt()));
+        }
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            WeatherObservation last = rows.get(limit - 1);
+            nextCursor = new HistoryCursor(last.getObservedAt(), last.getId()).encode();
+        }
+        log.debug(HotPath.MARKER, "Returning {} observations for city: {}, country: {}", observations.size(), city, country);
+        return new WeatherHistoryResponse(city, country, observations, nextCursor);
+    }
+}
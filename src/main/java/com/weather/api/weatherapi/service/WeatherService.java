@@ -1,10 +1,27 @@
 package com.weather.api.weatherapi.service;
 
+import com.weather.api.weatherapi.cache.BackgroundRefresher;
+import com.weather.api.weatherapi.cache.HotKeyTracker;
+import com.weather.api.weatherapi.cache.SingleFlight;
+import com.weather.api.weatherapi.cache.WeatherCache;
+import com.weather.api.weatherapi.cache.WeatherKey;
+import com.weather.api.weatherapi.cache.WeatherWriteBehind;
 import com.weather.api.weatherapi.dto.WeatherApiResponse;
+import com.weather.api.weatherapi.dto.WeatherBatchRequest;
+import com.weather.api.weatherapi.dto.WeatherBatchResult;
 import com.weather.api.weatherapi.dto.WeatherData;
+import com.weather.api.weatherapi.exception.BatchExceedsTierLimitException;
 import com.weather.api.weatherapi.exception.InvalidApiKeyException;
+import com.weather.api.weatherapi.exception.RateLimitExceededException;
+import com.weather.api.weatherapi.exception.UpstreamUnavailableException;
 import com.weather.api.weatherapi.exception.WeatherServiceException;
+import com.weather.api.weatherapi.filter.ApiKeyAuthentication;
+import com.weather.api.weatherapi.logging.HotPath;
 import com.weather.api.weatherapi.repository.WeatherRepository;
+import com.weather.api.weatherapi.upstream.UpstreamFetchExecutor;
+import com.weather.api.weatherapi.upstream.UpstreamGuard;
+import com.weather.api.weatherapi.usage.UsageMeter;
+import com.weather.api.weatherapi.usage.UsageMetric;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,8 +30,20 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @Service
@@ -25,8 +54,20 @@ public class WeatherService {
     private final RestTemplate restTemplate;
     private final RateLimitService rateLimitService;
     private final ApiKeyService apiKeyService;
+    private final WeatherCache weatherCache;
+    private final BackgroundRefresher backgroundRefresher;
+    private final UpstreamFetchExecutor upstreamFetchExecutor;
+    private final UpstreamGuard upstreamGuard;
+    private final HotKeyTracker hotKeyTracker;
+    private final UsageMeter usageMeter;
+    private final WeatherWriteBehind weatherWriteBehind;
     private static final String OPEN_WEATHER_MAP_URL = "http://api.openweathermap.org/data/2.5/weather";
 
+    /**
+     * Coalesces concurrent upstream fetches so only one request per (city, country) is in flight.
+     */
+    private final SingleFlight<WeatherKey, WeatherData> upstreamFetches = new SingleFlight<>();
+
     /**
      * Retrieves weather data for a city/country, using caching and rate limiting.
      *
@@ -38,24 +79,42 @@ public class WeatherService {
      * @throws WeatherServiceException  If the external service fails or rate limit is exceeded
      */
     public WeatherData getWeather(String city, String country, String apiKey) {
-        log.debug("Processing weather request for city: {}, country: {}, apiKey: {}", city, country, apiKey);
+        log.debug(HotPath.MARKER, "Processing weather request for city: {}, country: {}, apiKey: {}", city, country,
+                HotPath.mask(apiKey));
 
         // Validate API key
-        if (!apiKeyService.isValidKey(apiKey)) {
-            log.warn("Invalid API key used: {}", apiKey);
-            throw new InvalidApiKeyException();
-        }
+        validateApiKey(apiKey);
 
         // Validate rate limit
-        rateLimitService.validateRateLimit(apiKey);
-        log.info("Rate limit validated successfully for API Key: {}", apiKey);
+        try {
+            rateLimitService.validateRateLimit(apiKey);
+        } catch (RateLimitExceededException e) {
+            usageMeter.record(apiKey, UsageMetric.REJECTIONS);
+            throw e;
+        }
+        usageMeter.record(apiKey, UsageMetric.REQUESTS);
+        log.debug(HotPath.MARKER, "Rate limit validated successfully for API Key: {}", HotPath.mask(apiKey));
 
         // Retrieve cached or fetch new weather data
-        return getOrCreateWeatherData(city, country, apiKey);
+        WeatherData weatherData = getOrCreateWeatherData(city, country, apiKey);
+        // Only locations OpenWeatherMap knows may become hot, so the cache warmer never polls unknown cities
+        hotKeyTracker.record(city, country, apiKey);
+        return weatherData;
     }
 
     /**
      * Retrieves cached weather data or fetches new data from OpenWeatherMap.
+     * <p>
+     * Lookup order: in-memory cache, then database, then OpenWeatherMap. Entries older than
+     * the cache TTL are treated as misses and refreshed in place. Concurrent misses for the
+     * same city/country share a single upstream fetch.
+     * <p>
+     * In stale-while-revalidate mode, entries past the soft TTL but within the hard TTL are
+     * returned immediately and refreshed in the background; only a missing entry blocks on
+     * the upstream call.
+     * <p>
+     * While the OpenWeatherMap circuit breaker is open, the last known data is returned flagged
+     * as stale, or the request fails fast if there is none.
      *
      * @param city    The city name
      * @param country The country code
@@ -63,23 +122,272 @@ public class WeatherService {
      * @return WeatherData (cached or newly fetched)
      */
     private WeatherData getOrCreateWeatherData(String city, String country, String apiKey) {
-        Optional<WeatherData> cachedData = weatherRepository.findByCityAndCountry(city, country);
-        if (cachedData.isPresent()) {
-            log.info("Returning cached weather data for city: {}, country: {}", city, country);
+        Optional<WeatherData> memoryData = weatherCache.get(city, country);
+        if (memoryData.isPresent()) {
+            log.debug(HotPath.MARKER, "Returning in-memory cached weather data for city: {}, country: {}", city, country);
+            usageMeter.record(apiKey, UsageMetric.CACHE_HITS);
+            return memoryData.get();
+        }
+
+        Optional<WeatherData> staleData = weatherCache.getStale(city, country);
+        if (staleData.isPresent()) {
+            log.debug(HotPath.MARKER, "Returning stale weather data while revalidating city: {}, country: {}", city, country);
+            usageMeter.record(apiKey, UsageMetric.CACHE_HITS);
+            refreshInBackground(city, country, apiKey, staleData.get());
+            return staleData.get();
+        }
+
+        Optional<WeatherData> cachedData = weatherRepository.findReadOnly(city, country);
+        if (cachedData.isPresent() && weatherCache.isFresh(cachedData.get())) {
+            log.info(HotPath.MARKER, "Returning cached weather data for city: {}, country: {}", city, country);
+            usageMeter.record(apiKey, UsageMetric.CACHE_HITS);
+            weatherCache.put(cachedData.get());
             return cachedData.get();
         }
-        log.info("No cached data found. Fetching new weather data for city: {}, country: {}", city, country);
-        return fetchAndSaveWeatherData(city, country, apiKey);
+        if (cachedData.isPresent() && weatherCache.isServableStale(cachedData.get())) {
+            log.info(HotPath.MARKER, "Returning stale weather data while revalidating city: {}, country: {}", city, country);
+            usageMeter.record(apiKey, UsageMetric.CACHE_HITS);
+            weatherCache.put(cachedData.get());
+            refreshInBackground(city, country, apiKey, cachedData.get());
+            return cachedData.get();
+        }
+        log.info(HotPath.MARKER, "No fresh cached data found. Fetching new weather data for city: {}, country: {}",
+                city, country);
+        usageMeter.record(apiKey, UsageMetric.UPSTREAM_FETCHES);
+        return fetchCoalesced(city, country, apiKey, cachedData.orElse(null));
+    }
+
+    /**
+     * Retrieves weather data for many city/country pairs in one call.
+     * <p>
+     * Duplicate locations are resolved once and count once against the rate limit. In-memory
+     * hits are served first, the remaining locations are looked up with a single database
+     * query, and only the misses are fetched from OpenWeatherMap, in parallel on the bounded
+     * {@link UpstreamFetchExecutor}. A failed location does not fail the whole batch.
+     *
+     * @param locations The requested locations
+     * @param apiKey    The API key for authentication
+     * @return One result per requested location, in request order
+     * @throws InvalidApiKeyException     If the API key is invalid
+     * @throws BatchExceedsTierLimitException If the batch needs more requests than the tier allows per period
+     * @throws RateLimitExceededException     If the batch exceeds the remaining rate limit
+     */
+    public List<WeatherBatchResult> getWeatherBatch(List<WeatherBatchRequest.Location> locations, String apiKey) {
+        log.debug("Processing batch weather request for {} locations", locations.size());
+
+        validateApiKey(apiKey);
+
+        Map<WeatherKey, WeatherBatchRequest.Location> distinct = new LinkedHashMap<>();
+        for (WeatherBatchRequest.Location location : locations) {
+            distinct.putIfAbsent(WeatherKey.of(location.city(), location.country()), location);
+        }
+        try {
+            rateLimitService.validateRateLimit(apiKey, distinct.size());
+        } catch (RateLimitExceededException | BatchExceedsTierLimitException e) {
+            usageMeter.record(apiKey, UsageMetric.REJECTIONS);
+            throw e;
+        }
+        usageMeter.record(apiKey, UsageMetric.REQUESTS, distinct.size());
+
+        // In-memory tier
+        Map<WeatherKey, WeatherData> resolved = new HashMap<>();
+        List<WeatherKey> notInMemory = new ArrayList<>();
+        distinct.forEach((key, location) -> {
+            Optional<WeatherData> memoryData = weatherCache.get(location.city(), location.country())
+                    .or(() -> weatherCache.getStale(location.city(), location.country()));
+            if (memoryData.isPresent()) {
+                if (!weatherCache.isFresh(memoryData.get())) {
+                    refreshInBackground(location.city(), location.country(), apiKey, memoryData.get());
+                }
+                resolved.put(key, memoryData.get());
+            } else {
+                notInMemory.add(key);
+            }
+        });
+
+        // Database tier, one query for all remaining locations
+        Map<WeatherKey, WeatherData> stored = new HashMap<>();
+        if (!notInMemory.isEmpty()) {
+            Set<String> lookupKeys = new HashSet<>();
+            notInMemory.forEach(key -> lookupKeys.add(key.toString()));
+            for (WeatherData row : weatherRepository.findReadOnly(lookupKeys)) {
+                stored.put(WeatherKey.of(row.getCity(), row.getCountry()), row);
+            }
+        }
+
+        // Upstream tier, misses fetched in parallel
+        Map<WeatherKey, CompletableFuture<WeatherData>> fetches = new HashMap<>();
+        for (WeatherKey key : notInMemory) {
+            WeatherBatchRequest.Location location = distinct.get(key);
+            WeatherData row = stored.get(key);
+            if (row != null && (weatherCache.isFresh(row) || weatherCache.isServableStale(row))) {
+                weatherCache.put(row);
+                if (!weatherCache.isFresh(row)) {
+                    refreshInBackground(location.city(), location.country(), apiKey, row);
+                }
+                resolved.put(key, row);
+            } else {
+                fetches.put(key, upstreamFetchExecutor.submit(
+                        () -> fetchCoalesced(location.city(), location.country(), apiKey, row)));
+            }
+        }
+        log.info(HotPath.MARKER, "Batch lookup: {} locations, {} cached, {} fetched from OpenWeatherMap",
+                distinct.size(), resolved.size(), fetches.size());
+        usageMeter.record(apiKey, UsageMetric.CACHE_HITS, resolved.size());
+        usageMeter.record(apiKey, UsageMetric.UPSTREAM_FETCHES, fetches.size());
+
+        List<WeatherBatchResult> results = new ArrayList<>(locations.size());
+        for (WeatherBatchRequest.Location location : locations) {
+            WeatherKey key = WeatherKey.of(location.city(), location.country());
+            WeatherData data = resolved.get(key);
+            if (data == null) {
+                data = awaitFetch(fetches.get(key), location);
+                if (data != null) {
+                    resolved.put(key, data);
+                }
+            }
+            results.add(data != null
+                    ? WeatherBatchResult.success(location.city(), location.country(), data.getDescription())
+                    : WeatherBatchResult.failure(location.city(), location.country(), "External service unavailable"));
+        }
+        resolved.keySet().forEach(key ->
+                hotKeyTracker.record(distinct.get(key).city(), distinct.get(key).country(), apiKey));
+        return results;
+    }
+
+    /**
+     * Waits for a batch fetch to complete.
+     *
+     * @param fetch    The pending fetch
+     * @param location The location being fetched
+     * @return The fetched weather data, or null if the fetch failed
+     */
+    private WeatherData awaitFetch(CompletableFuture<WeatherData> fetch, WeatherBatchRequest.Location location) {
+        try {
+            return fetch.join();
+        } catch (CompletionException | CancellationException e) {
+            log.warn("Batch fetch failed for city: {}, country: {}: {}", location.city(), location.country(),
+                    e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Validates the API key unless {@link com.weather.api.weatherapi.filter.ApiKeyFilter} already did for this request.
+     *
+     * @param apiKey The API key
+     * @throws InvalidApiKeyException If the API key is invalid
+     */
+    private void validateApiKey(String apiKey) {
+        if (ApiKeyAuthentication.isAuthenticated(apiKey)) {
+            return;
+        }
+        if (!apiKeyService.isValidKey(apiKey)) {
+            log.warn(HotPath.MARKER, "Invalid API key used: {}", HotPath.mask(apiKey));
+            throw new InvalidApiKeyException();
+        }
     }
 
     /**
-     * Fetches weather data from OpenWeatherMap and saves it to the database.
+     * Fetches weather data through the single-flight, re-checking the in-memory cache first.
+     *
+     * @param city     The city name
+     * @param country  The country code
+     * @param apiKey   The API key for authentication
+     * @param existing The last known weather data, served if OpenWeatherMap is unavailable, or null
+     * @return The cached or newly fetched weather data
+     */
+    private WeatherData fetchCoalesced(String city, String country, String apiKey, WeatherData existing) {
+        return upstreamFetches.execute(WeatherKey.of(city, country), () -> weatherCache.get(city, country)
+                .orElseGet(() -> fetchAndCache(city, country, apiKey, existing)));
+    }
+
+    /**
+     * Fetches weather data, queues it to be written to the database, then caches it.
+     *
+     * @param city     The city name
+     * @param country  The country code
+     * @param apiKey   The API key for authentication
+     * @param existing The last known weather data, served if OpenWeatherMap is unavailable, or null
+     * @return The newly fetched weather data, or the last known data flagged as stale if the
+     *         upstream call was rejected
+     */
+    private WeatherData fetchAndCache(String city, String country, String apiKey, WeatherData existing) {
+        try {
+            WeatherData weatherData = fetchAndSaveWeatherData(city, country, apiKey);
+            weatherCache.put(weatherData);
+            return weatherData;
+        } catch (UpstreamUnavailableException e) {
+            return lastKnownWeatherData(city, country, existing, e);
+        }
+    }
+
+    /**
+     * Proactively refreshes a cached entry that is about to expire.
+     * <p>
+     * Used by the cache warmer for the hottest locations so that they never cause a user-facing miss.
+     * The refresh runs on the background refresher and shares any fetch already in flight.
+     *
+     * @param city          The city name
+     * @param country       The country code
+     * @param apiKey        The API key used for the upstream call
+     * @param refreshWindow How long before expiry an entry is refreshed
+     * @return True if a refresh was scheduled
+     */
+    public boolean warm(String city, String country, String apiKey, Duration refreshWindow) {
+        Optional<WeatherData> cachedData = weatherCache.getLastKnown(city, country);
+        if (cachedData.isPresent() && !weatherCache.expiresWithin(cachedData.get(), refreshWindow)) {
+            return false;
+        }
+        WeatherKey key = WeatherKey.of(city, country);
+        WeatherData existing = cachedData.orElse(null);
+        return backgroundRefresher.submit(key,
+                () -> upstreamFetches.execute(key, () -> fetchAndCache(city, country, apiKey, existing)));
+    }
+
+    /**
+     * Answers from the last known weather data while OpenWeatherMap calls are being rejected.
+     *
+     * @param city     The city name
+     * @param country  The country code
+     * @param existing The stale database row, or null if there is none
+     * @param cause    The rejection
+     * @return A copy of the last known weather data, flagged as stale
+     * @throws UpstreamUnavailableException If there is no last known weather data
+     */
+    private WeatherData lastKnownWeatherData(String city, String country, WeatherData existing,
+                                             UpstreamUnavailableException cause) {
+        WeatherData lastKnown = existing != null ? existing : weatherCache.getLastKnown(city, country).orElse(null);
+        if (lastKnown == null) {
+            log.warn("{}. No last known weather data for city: {}, country: {}", cause.getMessage(), city, country);
+            throw cause;
+        }
+        log.warn("{}. Returning last known weather data for city: {}, country: {}", cause.getMessage(), city, country);
+        return lastKnown.staleCopy();
+    }
+
+    /**
+     * Refreshes an expired entry on the background refresher, sharing any fetch already in flight.
+     *
+     * @param city     The city name
+     * @param country  The country code
+     * @param apiKey   The API key for authentication
+     * @param existing The stale entry being refreshed
+     */
+    private void refreshInBackground(String city, String country, String apiKey, WeatherData existing) {
+        backgroundRefresher.submit(WeatherKey.of(city, country),
+                () -> fetchCoalesced(city, country, apiKey, existing));
+    }
+
+    /**
+     * Fetches weather data from OpenWeatherMap and queues it to be written to the database.
      *
      * @param city    The city name
      * @param country The country code
      * @param apiKey  The API key for authentication
      * @return Saved WeatherData
-     * @throws WeatherServiceException If the external API call fails
+     * @throws UpstreamUnavailableException If the call was rejected by the circuit breaker or bulkhead
+     * @throws WeatherServiceException      If the external API call fails
      */
     private WeatherData fetchAndSaveWeatherData(String city, String country, String apiKey) {
         String url = UriComponentsBuilder.fromUriString(OPEN_WEATHER_MAP_URL)
@@ -88,19 +396,23 @@ public class WeatherService {
                 .toUriString();
 
         try {
-            log.info("Fetching weather data from OpenWeatherMap for city: {}, country: {}", city, country);
-            WeatherApiResponse response = restTemplate.getForObject(url, WeatherApiResponse.class);
+            log.info(HotPath.MARKER, "Fetching weather data from OpenWeatherMap for city: {}, country: {}", city, country);
+            WeatherApiResponse response = upstreamGuard.call(() -> restTemplate.getForObject(url, WeatherApiResponse.class));
 
             if (response == null || response.getWeather() == null || response.getWeather().isEmpty()) {
                 throw new WeatherServiceException("No weather data found for city: " + city + ", country: " + country);
             }
 
             String description = response.getWeather().get(0).getDescription();
-            log.info("Weather data fetched successfully: {}", description);
+            log.info(HotPath.MARKER, "Weather data fetched successfully: {}", description);
 
-            // Save to database
+            // Written to the database by the write-behind queue, off the request path
             WeatherData weatherData = new WeatherData(city, country, description);
-            return weatherRepository.save(weatherData);
+            weatherData.setTimestamp(LocalDateTime.now());
+            weatherWriteBehind.submit(weatherData);
+            return weatherData;
+        } catch (UpstreamUnavailableException e) {
+            throw e;
         } catch (HttpClientErrorException e) {
             log.error("HTTP error while fetching weather data: Status Code: {}, Message: {}", e.getStatusCode(), e.getMessage());
             throw new WeatherServiceException("Failed to fetch weather data: " + e.getMessage());
@@ -109,21 +421,4 @@ public class WeatherService {
             throw new WeatherServiceException("Failed to fetch weather data: " + e.getMessage());
         }
     }
-
-    /**
-     * Checks database connectivity by executing a simple query.
-     *
-     * @return True if the database is reachable, false otherwise
-     */
-    public boolean isDatabaseHealthy() {
-        try {
-            log.info("Performing database health check...");
-            weatherRepository.healthCheck();
-            log.info("Database health check passed.");
-            return true;
-        } catch (Exception e) {
-            log.error("Database health check failed: {}", e.getMessage());
-            return false;
-        }
-    }
 }
\ No newline at end of file
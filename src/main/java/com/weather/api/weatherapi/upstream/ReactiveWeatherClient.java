@@ -0,0 +1,78 @@
+package com.weather.api.weatherapi.upstream;
+
+import com.weather.api.weatherapi.dto.WeatherApiResponse;
+import com.weather.api.weatherapi.exception.WeatherServiceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * Non-blocking OpenWeatherMap client used by the reactive weather stack.
+ * <p>
+ * Requests are sent with {@link WebClient} and the joined response body is decoded with the
+ * streaming {@link WeatherApiResponseDecoder}, so no thread is held while the call is in flight.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "weather.reactive.enabled", havingValue = "true")
+public class ReactiveWeatherClient {
+
+    private static final String OPEN_WEATHER_MAP_URL = "http://api.openweathermap.org/data/2.5/weather";
+
+    private final WebClient webClient;
+    private final WeatherApiResponseDecoder decoder = new WeatherApiResponseDecoder();
+    private final Duration responseTimeout;
+
+    public ReactiveWeatherClient(WebClient.Builder webClientBuilder,
+                                 @Value("${weather.http.response-timeout:PT5S}") Duration responseTimeout) {
+        this.webClient = webClientBuilder.baseUrl(OPEN_WEATHER_MAP_URL).build();
+        this.responseTimeout = responseTimeout;
+    }
+
+    /**
+     * Fetches the weather description for a city/country.
+     *
+     * @param city    The city name
+     * @param country The country code
+     * @param apiKey  The API key for authentication
+     * @return Mono emitting the weather description, or a {@link WeatherServiceException} on failure
+     */
+    public Mono<String> fetchDescription(String city, String country, String apiKey) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .queryParam("q", "{q}")
+                        .queryParam("appid", "{appid}")
+                        .build(city + "," + country, apiKey))
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .as(DataBufferUtils::join)
+                .map(buffer -> decodeDescription(buffer, city, country))
+                .timeout(responseTimeout)
+                .onErrorMap(e -> !(e instanceof WeatherServiceException), e -> {
+                    log.error("Error while fetching weather data reactively: {}", e.getMessage());
+                    return new WeatherServiceException("Failed to fetch weather data: " + e.getMessage());
+                });
+    }
+
+    private String decodeDescription(DataBuffer buffer, String city, String country) {
+        try (InputStream body = buffer.asInputStream(true)) {
+            WeatherApiResponse response = decoder.decode(body);
+            if (response.getWeather() == null || response.getWeather().isEmpty()) {
+                throw new WeatherServiceException("No weather data found for city: " + city + ", country: " + country);
+            }
+            return response.getWeather().get(0).getDescription();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
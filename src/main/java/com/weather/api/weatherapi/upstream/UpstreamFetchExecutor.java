@@ -0,0 +1,67 @@
+package com.weather.api.weatherapi.upstream;
+
+import com.weather.api.weatherapi.config.ThreadFactories;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded executor for parallel OpenWeatherMap fetches issued by batch lookups.
+ * <p>
+ * The number of threads caps how many upstream calls batch requests can have in flight at once.
+ * Fetches beyond the queue capacity fail immediately instead of queueing without bound.
+ */
+@Slf4j
+@Component
+public class UpstreamFetchExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Creates the executor.
+     *
+     * @param maxConcurrency The maximum number of concurrent upstream fetches
+     * @param queueCapacity  The maximum number of fetches waiting for a thread
+     * @param virtualThreads Whether fetches run on virtual threads
+     */
+    public UpstreamFetchExecutor(@Value("${weather.batch.max-concurrency:8}") int maxConcurrency,
+                                 @Value("${weather.batch.queue-capacity:1000}") int queueCapacity,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), ThreadFactories.create("weather-fetch-", virtualThreads),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Runs a fetch on the executor.
+     *
+     * @param fetch The fetch to run
+     * @param <T>   The result type
+     * @return A future completed with the fetch result, or failed if the executor is saturated
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> fetch) {
+        try {
+            return CompletableFuture.supplyAsync(fetch, executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Upstream fetch queue is full. Rejecting fetch.");
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Stops the fetch threads on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
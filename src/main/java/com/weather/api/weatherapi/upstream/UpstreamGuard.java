@@ -0,0 +1,97 @@
+package com.weather.api.weatherapi.upstream;
+
+import com.weather.api.weatherapi.exception.UpstreamUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker and concurrency bulkhead around OpenWeatherMap calls.
+ * <p>
+ * - The circuit opens when the failure rate or the slow-call rate over the sliding window exceeds
+ *   its threshold. While open, calls are rejected immediately; after the open duration a limited
+ *   number of half-open probe calls decide whether to close it again.
+ * - The bulkhead caps concurrent upstream calls so a degraded upstream cannot tie up every request thread.
+ * <p>
+ * Client errors (4xx, e.g. an unknown city) do not count as upstream failures. Rejected calls are
+ * reported as {@link UpstreamUnavailableException}.
+ */
+@Slf4j
+@Component
+public class UpstreamGuard {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public UpstreamGuard(CircuitBreakerConfig circuitBreakerConfig, BulkheadConfig bulkheadConfig) {
+        this.circuitBreaker = CircuitBreaker.of("openWeatherMap", circuitBreakerConfig);
+        this.bulkhead = Bulkhead.of("openWeatherMap", bulkheadConfig);
+        this.circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("OpenWeatherMap circuit breaker transition: {}", event.getStateTransition()));
+    }
+
+    @Autowired
+    public UpstreamGuard(
+            @Value("${weather.upstream.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${weather.upstream.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+            @Value("${weather.upstream.circuit-breaker.slow-call-duration:PT3S}") Duration slowCallDuration,
+            @Value("${weather.upstream.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${weather.upstream.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${weather.upstream.circuit-breaker.open-duration:PT30S}") Duration openDuration,
+            @Value("${weather.upstream.circuit-breaker.half-open-calls:3}") int halfOpenCalls,
+            @Value("${weather.upstream.bulkhead.max-concurrent-calls:50}") int maxConcurrentCalls,
+            @Value("${weather.upstream.bulkhead.max-wait:PT0S}") Duration maxWait) {
+        this(CircuitBreakerConfig.custom()
+                        .failureRateThreshold(failureRateThreshold)
+                        .slowCallRateThreshold(slowCallRateThreshold)
+                        .slowCallDurationThreshold(slowCallDuration)
+                        .slidingWindowSize(slidingWindowSize)
+                        .minimumNumberOfCalls(minimumCalls)
+                        .waitDurationInOpenState(openDuration)
+                        .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                        .ignoreExceptions(HttpClientErrorException.class, BulkheadFullException.class)
+                        .build(),
+                BulkheadConfig.custom()
+                        .maxConcurrentCalls(maxConcurrentCalls)
+                        .maxWaitDuration(maxWait)
+                        .build());
+    }
+
+    /**
+     * Runs an upstream call through the circuit breaker and bulkhead.
+     *
+     * @param upstreamCall The OpenWeatherMap call
+     * @param <T>          The result type
+     * @return The call result
+     * @throws UpstreamUnavailableException If the circuit is open or the bulkhead is full
+     */
+    public <T> T call(Supplier<T> upstreamCall) {
+        try {
+            return CircuitBreaker.decorateSupplier(circuitBreaker, Bulkhead.decorateSupplier(bulkhead, upstreamCall)).get();
+        } catch (CallNotPermittedException e) {
+            throw new UpstreamUnavailableException("OpenWeatherMap circuit breaker is open");
+        } catch (BulkheadFullException e) {
+            throw new UpstreamUnavailableException("Too many concurrent OpenWeatherMap calls");
+        }
+    }
+
+    /**
+     * Returns the current circuit breaker state.
+     *
+     * @return The state (e.g., CLOSED, OPEN, HALF_OPEN)
+     */
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+}
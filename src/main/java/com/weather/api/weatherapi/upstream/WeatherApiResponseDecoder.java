@@ -0,0 +1,89 @@
+package com.weather.api.weatherapi.upstream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.weather.api.weatherapi.dto.WeatherApiResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Streaming decoder for OpenWeatherMap "current weather" responses.
+ * <p>
+ * Only {@code weather[0].description} is used by the service, so instead of binding the whole
+ * document this decoder walks the token stream with a {@link JsonParser}, skips every other
+ * field without materializing it, and stops as soon as the first description has been read.
+ */
+public class WeatherApiResponseDecoder {
+
+    private static final String WEATHER_FIELD = "weather";
+    private static final String DESCRIPTION_FIELD = "description";
+
+    private final JsonFactory jsonFactory;
+
+    public WeatherApiResponseDecoder() {
+        this(new JsonFactory());
+    }
+
+    public WeatherApiResponseDecoder(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * Decodes the fields of {@link WeatherApiResponse} from an OpenWeatherMap JSON document.
+     *
+     * @param body The response body
+     * @return The decoded response; {@code weather} is null if the document has no "weather" array
+     * @throws IOException If the body cannot be read or is not a JSON object
+     */
+    public WeatherApiResponse decode(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object");
+            }
+
+            WeatherApiResponse response = new WeatherApiResponse();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (WEATHER_FIELD.equals(field) && value == JsonToken.START_ARRAY) {
+                    response.setWeather(readFirstWeather(parser));
+                    return response; // Everything after weather[0] is irrelevant
+                }
+                parser.skipChildren();
+            }
+            return response;
+        }
+    }
+
+    /**
+     * Reads the first element of the "weather" array.
+     *
+     * @param parser The parser positioned on the array start
+     * @return A single-element list, or an empty list if the array is empty
+     */
+    private List<WeatherApiResponse.Weather> readFirstWeather(JsonParser parser) throws IOException {
+        JsonToken element = parser.nextToken();
+        if (element == JsonToken.END_ARRAY) {
+            return Collections.emptyList();
+        }
+
+        WeatherApiResponse.Weather weather = new WeatherApiResponse.Weather();
+        if (element == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (DESCRIPTION_FIELD.equals(field) && value == JsonToken.VALUE_STRING) {
+                    weather.setDescription(parser.getText());
+                    break;
+                }
+                parser.skipChildren();
+            }
+        }
+        return Collections.singletonList(weather);
+    }
+}
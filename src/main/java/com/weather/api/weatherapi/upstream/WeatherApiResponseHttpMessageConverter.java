@@ -0,0 +1,53 @@
+package com.weather.api.weatherapi.upstream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.weather.api.weatherapi.dto.WeatherApiResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Read-only {@link org.springframework.http.converter.HttpMessageConverter} that decodes
+ * {@link WeatherApiResponse} with the streaming {@link WeatherApiResponseDecoder}.
+ * <p>
+ * Registered ahead of the default Jackson converter on the OpenWeatherMap {@code RestTemplate},
+ * so {@code getForObject(url, WeatherApiResponse.class)} uses the streaming path.
+ */
+public class WeatherApiResponseHttpMessageConverter extends AbstractHttpMessageConverter<WeatherApiResponse> {
+
+    private final WeatherApiResponseDecoder decoder;
+
+    public WeatherApiResponseHttpMessageConverter(WeatherApiResponseDecoder decoder) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.decoder = decoder;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return WeatherApiResponse.class == clazz;
+    }
+
+    @Override
+    protected WeatherApiResponse readInternal(Class<? extends WeatherApiResponse> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        try {
+            return decoder.decode(inputMessage.getBody());
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Invalid OpenWeatherMap response: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected boolean canWrite(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(WeatherApiResponse response, HttpOutputMessage outputMessage) {
+        throw new UnsupportedOperationException("WeatherApiResponse is only read from OpenWeatherMap");
+    }
+}
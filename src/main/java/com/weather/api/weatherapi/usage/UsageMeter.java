@@ -0,0 +1,243 @@
+package com.weather.api.weatherapi.usage;
+
+import com.weather.api.weatherapi.dto.ApiKeyUsage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Meters usage per API key and persists it in hourly buckets.
+ * <p>
+ * Requests only increment striped in-memory counters ({@link LongAdder} per key and metric). A
+ * scheduled flush drains the counters and adds them to the key's row for the current hour in the
+ * {@code api_key_usage} table, with one batched UPDATE and one batched INSERT for keys without a row
+ * yet, in a single transaction. If the flush fails, the drained counts are put back and retried on the
+ * next flush, so counts are neither lost nor written twice. Counts are attributed to the hour in which
+ * they are flushed, so a count may land in the next hour by up to one flush interval.
+ * <p>
+ * Only keys that passed validation are metered, so the number of counters is bounded by the number of
+ * valid keys.
+ */
+@Slf4j
+@Component
+public class UsageMeter {
+
+    private static final UsageMetric[] METRICS = UsageMetric.values();
+
+    private static final String UPDATE_SQL = "UPDATE api_key_usage SET "
+            + Arrays.stream(METRICS).map(m -> m.getColumn() + " = " + m.getColumn() + " + ?").collect(Collectors.joining(", "))
+            + " WHERE api_key = ? AND period_start = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO api_key_usage (api_key, period_start, "
+            + Arrays.stream(METRICS).map(UsageMetric::getColumn).collect(Collectors.joining(", "))
+            + ") VALUES (?, ?" + ", ?".repeat(METRICS.length) + ")";
+
+    private static final String SUM_SQL = "SELECT "
+            + Arrays.stream(METRICS).map(m -> "COALESCE(SUM(" + m.getColumn() + "), 0)").collect(Collectors.joining(", "))
+            + " FROM api_key_usage WHERE api_key = ? AND period_start >= ? AND period_start < ?";
+
+    private static final OffsetDateTime BEGINNING = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final OffsetDateTime END = OffsetDateTime.of(9999, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LongSupplier epochMillis;
+
+    /**
+     * Counts not yet flushed, indexed by {@link UsageMetric#ordinal()}.
+     */
+    private final Map<String, LongAdder[]> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    public UsageMeter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this(jdbcTemplate, transactionTemplate, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates the meter. Its {@code api_key_usage} table is created by the Flyway migrations.
+     *
+     * @param jdbcTemplate        The database holding the usage table
+     * @param transactionTemplate Runs each flush in one transaction
+     * @param epochMillis         The wall clock that assigns flushed counts to hours
+     */
+    UsageMeter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, LongSupplier epochMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.epochMillis = epochMillis;
+    }
+
+    /**
+     * Counts one occurrence of a metric.
+     *
+     * @param apiKey The validated API key
+     * @param metric The metric
+     */
+    public void record(String apiKey, UsageMetric metric) {
+        record(apiKey, metric, 1);
+    }
+
+    /**
+     * Counts occurrences of a metric.
+     *
+     * @param apiKey The validated API key
+     * @param metric The metric
+     * @param count  The number of occurrences
+     */
+    public void record(String apiKey, UsageMetric metric, long count) {
+        if (count <= 0) {
+            return;
+        }
+        LongAdder[] counters = pending.get(apiKey);
+        if (counters == null) {
+            counters = pending.computeIfAbsent(apiKey, key -> newCounters());
+        }
+        counters[metric.ordinal()].add(count);
+    }
+
+    /**
+     * Returns the usage of an API key in a period, including counts not yet flushed.
+     *
+     * @param apiKey The API key
+     * @param from   The start of the period (inclusive), or null for all recorded usage
+     * @param to     The end of the period (exclusive), or null for up to now
+     * @return The usage
+     */
+    public ApiKeyUsage getUsage(String apiKey, Instant from, Instant to) {
+        long[] totals = jdbcTemplate.queryForObject(SUM_SQL, (rs, rowNum) -> {
+            long[] sums = new long[METRICS.length];
+            for (int i = 0; i < sums.length; i++) {
+                sums[i] = rs.getLong(i + 1);
+            }
+            return sums;
+        }, apiKey, from != null ? utc(from) : BEGINNING, to != null ? utc(to) : END);
+
+        // Unflushed counts belong to the current hour
+        Instant currentPeriod = currentPeriod().toInstant();
+        LongAdder[] counters = pending.get(apiKey);
+        if (counters != null && (from == null || !from.isAfter(currentPeriod)) && (to == null || to.isAfter(currentPeriod))) {
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += counters[i].sum();
+            }
+        }
+        return new ApiKeyUsage(apiKey, from, to,
+                totals[UsageMetric.REQUESTS.ordinal()],
+                totals[UsageMetric.CACHE_HITS.ordinal()],
+                totals[UsageMetric.UPSTREAM_FETCHES.ordinal()],
+                totals[UsageMetric.REJECTIONS.ordinal()]);
+    }
+
+    /**
+     * Writes the counts accumulated since the last flush to the database.
+     */
+    @Scheduled(fixedDelayString = "${weather.usage.flush-interval:PT10S}",
+            initialDelayString = "${weather.usage.flush-interval:PT10S}")
+    public synchronized void flush() {
+        Map<String, long[]> drained = new LinkedHashMap<>();
+        pending.forEach((apiKey, counters) -> {
+            long[] counts = new long[METRICS.length];
+            boolean any = false;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = counters[i].sumThenReset();
+                any |= counts[i] != 0;
+            }
+            if (any) {
+                drained.put(apiKey, counts);
+            }
+        });
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        OffsetDateTime period = currentPeriod();
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(period, drained));
+            log.debug("Flushed usage of {} API keys for {}", drained.size(), period);
+        } catch (DataAccessException | TransactionException e) {
+            // Nothing was committed: keep the counts for the next flush
+            drained.forEach((apiKey, counts) -> {
+                for (int i = 0; i < counts.length; i++) {
+                    record(apiKey, METRICS[i], counts[i]);
+                }
+            });
+            log.warn("Failed to persist usage of {} API keys. Retrying on the next flush: {}", drained.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Flushes the remaining counts on shutdown.
+     */
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    private void write(OffsetDateTime period, Map<String, long[]> drained) {
+        List<String> apiKeys = new ArrayList<>(drained.keySet());
+        List<Object[]> updates = new ArrayList<>(apiKeys.size());
+        for (String apiKey : apiKeys) {
+            Object[] args = new Object[METRICS.length + 2];
+            long[] counts = drained.get(apiKey);
+            for (int i = 0; i < counts.length; i++) {
+                args[i] = counts[i];
+            }
+            args[METRICS.length] = apiKey;
+            args[METRICS.length + 1] = period;
+            updates.add(args);
+        }
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+
+        // Keys without a row for this hour yet
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                Object[] args = new Object[METRICS.length + 2];
+                args[0] = apiKeys.get(i);
+                args[1] = period;
+                long[] counts = drained.get(apiKeys.get(i));
+                for (int j = 0; j < counts.length; j++) {
+                    args[j + 2] = counts[j];
+                }
+                inserts.add(args);
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+    }
+
+    private OffsetDateTime currentPeriod() {
+        return utc(Instant.ofEpochMilli(epochMillis.getAsLong()).truncatedTo(ChronoUnit.HOURS));
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    private static LongAdder[] newCounters() {
+        LongAdder[] counters = new LongAdder[METRICS.length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,42 @@
+package com.weather.api.weatherapi.usage;
+
+/**
+ * A usage count metered per API key.
+ */
+public enum UsageMetric {
+
+    /**
+     * Locations requested within the rate limit (a batch counts each distinct location).
+     */
+    REQUESTS("requests"),
+
+    /**
+     * Locations answered from the in-memory cache or the database.
+     */
+    CACHE_HITS("cache_hits"),
+
+    /**
+     * Locations that needed an OpenWeatherMap fetch.
+     */
+    UPSTREAM_FETCHES("upstream_fetches"),
+
+    /**
+     * Requests refused by the rate limit.
+     */
+    REJECTIONS("rejections");
+
+    private final String column;
+
+    UsageMetric(String column) {
+        this.column = column;
+    }
+
+    /**
+     * Returns the column holding this count in the {@code api_key_usage} table.
+     *
+     * @return The column name
+     */
+    public String getColumn() {
+        return column;
+    }
+}
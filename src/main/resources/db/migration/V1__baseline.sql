@@ -0,0 +1,16 @@
+-- Schema as previously generated by Hibernate (spring.jpa.hibernate.ddl-auto=update).
+-- Existing databases are baselined at this version instead (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE api_key (
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    api_key VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_api_key_api_key UNIQUE (api_key)
+);
+
+CREATE TABLE weather_data (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    city        VARCHAR(255),
+    country     VARCHAR(255),
+    description VARCHAR(255),
+    timestamp   TIMESTAMP(6)
+);
@@ -0,0 +1,22 @@
+-- One row per location, found through a unique index on a normalized lookup key
+-- (trimmed, lower-cased "city|country", as built by WeatherKey).
+
+ALTER TABLE weather_data ADD COLUMN lookup_key VARCHAR(511);
+
+UPDATE weather_data
+SET lookup_key = LOWER(TRIM(COALESCE(city, ''))) || '|' || LOWER(TRIM(COALESCE(country, '')));
+
+-- Keep only the most recent row of each location
+DELETE FROM weather_data w
+WHERE EXISTS (
+    SELECT 1
+    FROM weather_data n
+    WHERE n.lookup_key = w.lookup_key
+      AND (COALESCE(n.timestamp, TIMESTAMP '1970-01-01 00:00:00') > COALESCE(w.timestamp, TIMESTAMP '1970-01-01 00:00:00')
+        OR (COALESCE(n.timestamp, TIMESTAMP '1970-01-01 00:00:00') = COALESCE(w.timestamp, TIMESTAMP '1970-01-01 00:00:00')
+            AND n.id > w.id))
+);
+
+ALTER TABLE weather_data ALTER COLUMN lookup_key SET NOT NULL;
+
+CREATE UNIQUE INDEX ux_weather_data_lookup_key ON weather_data (lookup_key);
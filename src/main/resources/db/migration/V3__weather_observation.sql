@@ -0,0 +1,20 @@
+-- Every upstream observation, append-only, partitioned by day.
+-- H2 has no declarative partitioning, so observed_day is the partition key: retention drops whole
+-- days and compaction rewrites one day at a time, both through the index that leads with it.
+-- (On PostgreSQL this table would be PARTITION BY RANGE (observed_day).)
+
+CREATE TABLE weather_observation (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    lookup_key   VARCHAR(511) NOT NULL,
+    city         VARCHAR(255),
+    country      VARCHAR(255),
+    description  VARCHAR(255),
+    observed_at  TIMESTAMP(6) NOT NULL,
+    observed_day DATE NOT NULL
+);
+
+-- Keyset pagination of a location's history, newest first
+CREATE INDEX ix_weather_observation_history ON weather_observation (lookup_key, observed_at, id);
+
+-- Retention and compaction, one day at a time
+CREATE INDEX ix_weather_observation_day ON weather_observation (observed_day, lookup_key, observed_at);
@@ -0,0 +1,23 @@
+-- Tables that used to be created by their components at startup, now owned by the migrations.
+-- IF NOT EXISTS keeps this migration safe on databases where a component already created them.
+
+-- Shared rate limit buckets (weather.rate-limit.store=jdbc): one GCRA arrival time per API key,
+-- in wall-clock nanoseconds since the epoch
+CREATE TABLE IF NOT EXISTS rate_limit_bucket (
+    api_key      VARCHAR(255) PRIMARY KEY,
+    arrival_time BIGINT NOT NULL
+);
+
+-- Expiry of idle buckets
+CREATE INDEX IF NOT EXISTS idx_rate_limit_bucket_arrival ON rate_limit_bucket (arrival_time);
+
+-- Per-key usage in hourly buckets; one column per UsageMetric
+CREATE TABLE IF NOT EXISTS api_key_usage (
+    api_key          VARCHAR(255) NOT NULL,
+    period_start     TIMESTAMP WITH TIME ZONE NOT NULL,
+    requests         BIGINT NOT NULL,
+    cache_hits       BIGINT NOT NULL,
+    upstream_fetches BIGINT NOT NULL,
+    rejections       BIGINT NOT NULL,
+    PRIMARY KEY (api_key, period_start)
+);
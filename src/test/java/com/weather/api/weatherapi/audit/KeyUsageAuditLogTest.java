@@ -0,0 +1,142 @@
+package com.weather.api.weatherapi.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyUsageAuditLogTest {
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+
+    /**
+     * Test that recorded requests are read back with a hashed key, never the key itself.
+     */
+    @Test
+    void testRecord_ReadBack() throws Exception {
+        // Arrange
+        KeyUsageAuditLog auditLog = new KeyUsageAuditLog(true, directory, 16, 4, clock::get);
+
+        // Act
+        auditLog.record("VALID_API_KEY", "/api/weather/getWeather", 200, AuditOutcome.ALLOWED);
+        clock.addAndGet(1_000);
+        auditLog.record("INVALID_API_KEY", "/api/weather/getWeather", 403, AuditOutcome.INVALID_KEY);
+        auditLog.record(null, "/api/weather/batch", 400, AuditOutcome.MISSING_KEY);
+        auditLog.close();
+        List<AuditRecord> records = AuditLogReader.readAll(directory);
+
+        // Assert
+        assertEquals(3, records.size());
+        assertEquals(new AuditRecord(Instant.ofEpochMilli(1_700_000_000_000L), KeyUsageAuditLog.hashKey("VALID_API_KEY"),
+                "/api/weather/getWeather", 200, AuditOutcome.ALLOWED), records.get(0));
+        assertEquals(AuditOutcome.INVALID_KEY, records.get(1).outcome());
+        assertEquals(Instant.ofEpochMilli(1_700_000_001_000L), records.get(1).timestamp());
+        assertEquals(0, records.get(2).keyHash());
+        assertNotEquals(KeyUsageAuditLog.hashKey("VALID_API_KEY"), KeyUsageAuditLog.hashKey("INVALID_API_KEY"));
+    }
+
+    /**
+     * Test that only the first characters of oversized keys are hashed.
+     */
+    @Test
+    void testHashKey_LongKeyTruncated() {
+        // Arrange
+        String prefix = "K".repeat(KeyUsageAuditLog.MAX_HASHED_KEY_LENGTH);
+
+        // Act & Assert
+        assertEquals(KeyUsageAuditLog.hashKey(prefix), KeyUsageAuditLog.hashKey(prefix + "X".repeat(1_000_000)));
+        assertNotEquals(KeyUsageAuditLog.hashKey(prefix), KeyUsageAuditLog.hashKey(prefix.substring(1) + "X"));
+    }
+
+    /**
+     * Test that long endpoints are truncated to the fixed record size.
+     */
+    @Test
+    void testRecord_LongEndpointTruncated() throws Exception {
+        // Arrange
+        KeyUsageAuditLog auditLog = new KeyUsageAuditLog(true, directory, 16, 4, clock::get);
+        String endpoint = "/api/weather/" + "x".repeat(100);
+
+        // Act
+        auditLog.record("VALID_API_KEY", endpoint, 200, AuditOutcome.ALLOWED);
+
+        // Assert
+        String recorded = AuditLogReader.readAll(directory).get(0).endpoint();
+        assertEquals(endpoint.substring(0, KeyUsageAuditLog.MAX_ENDPOINT_LENGTH), recorded);
+    }
+
+    /**
+     * Test that full segments are rotated and only the newest segments are kept.
+     */
+    @Test
+    void testRecord_RotatesAndRetainsNewestSegments() throws Exception {
+        // Arrange
+        KeyUsageAuditLog auditLog = new KeyUsageAuditLog(true, directory, 4, 2, clock::get);
+
+        // Act: 10 records fill two segments and start a third
+        for (int i = 0; i < 10; i++) {
+            auditLog.record("VALID_API_KEY", "/api/weather/getWeather", 200 + i, AuditOutcome.ALLOWED);
+        }
+
+        // Assert
+        List<Path> segments = KeyUsageAuditLog.segmentFiles(directory);
+        assertEquals(2, segments.size());
+        List<AuditRecord> records = AuditLogReader.readAll(directory);
+        assertEquals(6, records.size());
+        assertEquals(204, records.get(0).status());
+        assertEquals(209, records.get(5).status());
+    }
+
+    /**
+     * Test that concurrent writers never lose or overwrite records.
+     */
+    @Test
+    void testRecord_ConcurrentWriters() throws Exception {
+        // Arrange
+        KeyUsageAuditLog auditLog = new KeyUsageAuditLog(true, directory, 1_000, 100, clock::get);
+        ExecutorService writers = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int t = 0; t < 8; t++) {
+            writers.execute(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    auditLog.record("VALID_API_KEY", "/api/weather/getWeather", 200, AuditOutcome.ALLOWED);
+                }
+            });
+        }
+        writers.shutdown();
+        assertTrue(writers.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(8_000, AuditLogReader.readAll(directory).size());
+    }
+
+    /**
+     * Test that a new log never appends to segments left by a previous run.
+     */
+    @Test
+    void testRecord_RestartStartsNewSegment() throws Exception {
+        // Arrange
+        new KeyUsageAuditLog(true, directory, 16, 4, clock::get)
+                .record("VALID_API_KEY", "/api/weather/getWeather", 200, AuditOutcome.ALLOWED);
+
+        // Act
+        new KeyUsageAuditLog(true, directory, 16, 4, clock::get)
+                .record("VALID_API_KEY", "/api/weather/getWeather", 429, AuditOutcome.RATE_LIMITED);
+
+        // Assert
+        assertEquals(2, KeyUsageAuditLog.segmentFiles(directory).size());
+        assertEquals(2, AuditLogReader.readAll(directory).size());
+    }
+}
@@ -0,0 +1,62 @@
+package com.weather.api.weatherapi.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotKeyTrackerTest {
+
+    private HotKeyTracker hotKeyTracker;
+
+    @BeforeEach
+    void setUp() {
+        hotKeyTracker = new HotKeyTracker(2, 1024);
+    }
+
+    /**
+     * Test that the most requested locations are ranked first and colder ones are pushed out.
+     */
+    @Test
+    void testHottest_RanksByRequestCount() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            hotKeyTracker.record("London", "UK", "VALID_API_KEY");
+        }
+        for (int i = 0; i < 3; i++) {
+            hotKeyTracker.record("Paris", "FR", "VALID_API_KEY");
+        }
+        hotKeyTracker.record("Tokyo", "JP", "VALID_API_KEY");
+
+        // Act
+        List<HotKeyTracker.HotKey> hottest = hotKeyTracker.hottest(10);
+
+        // Assert
+        assertEquals(2, hottest.size());
+        assertEquals("London", hottest.get(0).city());
+        assertEquals(5, hottest.get(0).count());
+        assertEquals("Paris", hottest.get(1).city());
+    }
+
+    /**
+     * Test that decay halves the counts and drops locations that are no longer requested.
+     */
+    @Test
+    void testDecay_HalvesCounts() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            hotKeyTracker.record("London", "UK", "VALID_API_KEY");
+        }
+        hotKeyTracker.record("Paris", "FR", "VALID_API_KEY");
+
+        // Act
+        hotKeyTracker.decay();
+
+        // Assert
+        List<HotKeyTracker.HotKey> hottest = hotKeyTracker.hottest(10);
+        assertEquals(1, hottest.size());
+        assertEquals(2, hottest.get(0).count());
+    }
+}
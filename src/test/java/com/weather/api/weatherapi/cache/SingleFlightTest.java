@@ -0,0 +1,85 @@
+package com.weather.api.weatherapi.cache;
+
+import com.weather.api.weatherapi.exception.WeatherServiceException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    /**
+     * Test that concurrent callers for the same key share one execution.
+     */
+    @Test
+    void testExecute_ConcurrentCallersShareResult() throws Exception {
+        // Arrange
+        int callers = 8;
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            // Act
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> singleFlight.execute("london|uk", () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                awaitQuietly(release);
+                return "clear sky";
+            })));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("london|uk", () -> {
+                    executions.incrementAndGet();
+                    return "rain";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            // Assert
+            for (Future<String> result : results) {
+                assertEquals("clear sky", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+            assertEquals(0, singleFlight.inFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that the exception thrown by the execution is rethrown and the key is released.
+     */
+    @Test
+    void testExecute_ExceptionIsPropagatedAndKeyReleased() {
+        // Act & Assert
+        WeatherServiceException exception = assertThrows(WeatherServiceException.class, () ->
+                singleFlight.execute("paris|fr", () -> {
+                    throw new WeatherServiceException("upstream down");
+                }));
+        assertEquals("upstream down", exception.getMessage());
+        assertEquals(0, singleFlight.inFlightCount());
+        assertEquals("rain", singleFlight.execute("paris|fr", () -> "rain"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.weather.api.weatherapi.cache;
+
+import com.weather.api.weatherapi.dto.WeatherData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeatherCacheSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Test that a saved cache is restored into an empty cache.
+     */
+    @Test
+    void testLoad_RestoresSavedEntries() {
+        // Arrange
+        WeatherCache saved = new WeatherCache(Duration.ofMinutes(10), 100);
+        WeatherData london = new WeatherData("London", "UK", "clear sky");
+        saved.put(london);
+        saved.put(new WeatherData("Z\u00fcrich", "CH", "light snow"));
+        new WeatherCacheSnapshot(saved, true, directory.resolve("cache.snapshot"), () -> 0).save();
+        WeatherCache restored = new WeatherCache(Duration.ofMinutes(10), 100);
+
+        // Act
+        new WeatherCacheSnapshot(restored, true, directory.resolve("cache.snapshot"), () -> 0).load();
+
+        // Assert
+        assertEquals(2, restored.size());
+        WeatherData data = restored.get("london", "uk").orElseThrow();
+        assertEquals("clear sky", data.getDescription());
+        assertEquals(london.getTimestamp().withNano(london.getTimestamp().getNano() / 1_000_000 * 1_000_000),
+                data.getTimestamp());
+        assertEquals("light snow", restored.get("Z\u00fcrich", "CH").orElseThrow().getDescription());
+    }
+
+    /**
+     * Test that entries older than the TTL are not restored.
+     */
+    @Test
+    void testLoad_ExpiredEntriesSkipped() {
+        // Arrange
+        WeatherCache saved = new WeatherCache(Duration.ofHours(1), 100);
+        WeatherData expired = new WeatherData("Paris", "FR", "rain");
+        expired.setTimestamp(LocalDateTime.now().minusMinutes(20));
+        saved.put(expired);
+        saved.put(new WeatherData("London", "UK", "clear sky"));
+        new WeatherCacheSnapshot(saved, true, directory.resolve("cache.snapshot"), () -> 0).save();
+        WeatherCache restored = new WeatherCache(Duration.ofMinutes(10), 100);
+
+        // Act
+        new WeatherCacheSnapshot(restored, true, directory.resolve("cache.snapshot"), () -> 0).load();
+
+        // Assert
+        assertEquals(1, restored.size());
+        assertTrue(restored.getLastKnown("Paris", "FR").isEmpty());
+    }
+
+    /**
+     * Test that a corrupt snapshot is ignored and leaves the cache empty.
+     */
+    @Test
+    void testLoad_CorruptSnapshotIgnored() throws Exception {
+        // Arrange
+        Path file = directory.resolve("cache.snapshot");
+        WeatherCache saved = new WeatherCache(Duration.ofMinutes(10), 100);
+        saved.put(new WeatherData("London", "UK", "clear sky"));
+        new WeatherCacheSnapshot(saved, true, file, () -> 0).save();
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+        WeatherCache restored = new WeatherCache(Duration.ofMinutes(10), 100);
+
+        // Act
+        new WeatherCacheSnapshot(restored, true, file, () -> 0).load();
+
+        // Assert
+        assertEquals(0, restored.size());
+    }
+
+    /**
+     * Test that a snapshot of a later format version is rejected.
+     */
+    @Test
+    void testDecode_UnknownVersionRejected() {
+        // Arrange
+        ByteBuffer buffer = WeatherCacheSnapshot.encode(List.of(new WeatherData("London", "UK", "clear sky")), 0);
+        buffer.putShort(4, (short) (WeatherCacheSnapshot.VERSION + 1));
+
+        // Act & Assert
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> WeatherCacheSnapshot.decode(buffer));
+        assertTrue(e.getMessage().contains("version"));
+    }
+}
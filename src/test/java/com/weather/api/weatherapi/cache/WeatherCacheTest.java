@@ -0,0 +1,63 @@
+package com.weather.api.weatherapi.cache;
+
+import com.weather.api.weatherapi.dto.WeatherData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeatherCacheTest {
+
+    private WeatherCache weatherCache;
+
+    @BeforeEach
+    void setUp() {
+        weatherCache = new WeatherCache(Duration.ofMinutes(10), 2);
+    }
+
+    /**
+     * Test that fresh entries are returned regardless of city/country casing.
+     */
+    @Test
+    void testGet_FreshEntry() {
+        // Arrange
+        weatherCache.put(new WeatherData("London", "UK", "clear sky"));
+
+        // Act & Assert
+        assertEquals("clear sky", weatherCache.get(" london ", "uk").orElseThrow().getDescription());
+    }
+
+    /**
+     * Test that entries older than the TTL are not returned.
+     */
+    @Test
+    void testGet_StaleEntry() {
+        // Arrange
+        WeatherData staleData = new WeatherData("London", "UK", "clear sky");
+        staleData.setTimestamp(LocalDateTime.now().minusMinutes(11));
+        weatherCache.put(staleData);
+
+        // Act & Assert
+        assertTrue(weatherCache.get("London", "UK").isEmpty());
+        assertFalse(weatherCache.isFresh(staleData));
+    }
+
+    /**
+     * Test that the oldest entry is evicted once the cache exceeds its maximum size.
+     */
+    @Test
+    void testPut_EvictsOldestEntry() {
+        // Act
+        weatherCache.put(new WeatherData("London", "UK", "clear sky"));
+        weatherCache.put(new WeatherData("Paris", "FR", "rain"));
+        weatherCache.put(new WeatherData("Tokyo", "JP", "snow"));
+
+        // Assert
+        assertEquals(2, weatherCache.size());
+        assertTrue(weatherCache.get("London", "UK").isEmpty());
+        assertTrue(weatherCache.get("Tokyo", "JP").isPresent());
+    }
+}
@@ -0,0 +1,178 @@
+package com.weather.api.weatherapi.cache;
+
+import com.weather.api.weatherapi.dto.WeatherData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises {@link WeatherWriteBehind} on an embedded H2 database with the application's schema.
+ */
+class WeatherWriteBehindTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+                .addScripts("db/migration/V1__baseline.sql", "db/migration/V2__weather_data_lookup_key.sql",
+                        "db/migration/V3__weather_observation.sql", "db/migration/V4__runtime_tables.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    /**
+     * Test that repeated submissions for a location update its row once, with the latest data, while
+     * every observation is kept.
+     */
+    @Test
+    void testFlush_CoalescesRepeatedLocations() {
+        // Arrange
+        WeatherWriteBehind writeBehind = writeBehind(100);
+        writeBehind.submit(new WeatherData("London", "UK", "rain"));
+        writeBehind.submit(new WeatherData("london", "uk", "clear sky"));
+        writeBehind.submit(new WeatherData("Tokyo", "JP", "fog"));
+
+        // Act
+        int pendingBefore = writeBehind.getPending();
+        writeBehind.flush();
+
+        // Assert
+        assertEquals(2, pendingBefore);
+        assertEquals(0, writeBehind.getPending());
+        assertEquals("clear sky", description("london|uk"));
+        assertEquals("fog", description("tokyo|jp"));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM weather_observation", Integer.class));
+        writeBehind.close();
+    }
+
+    /**
+     * Test that a flush refreshes an existing row in place.
+     */
+    @Test
+    void testFlush_UpdatesExistingRow() {
+        // Arrange
+        WeatherWriteBehind writeBehind = writeBehind(100);
+        writeBehind.submit(new WeatherData("Paris", "FR", "rain"));
+        writeBehind.flush();
+
+        // Act
+        writeBehind.submit(new WeatherData("Paris", "FR", "sun"));
+        writeBehind.flush();
+
+        // Assert
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM weather_data", Integer.class));
+        assertEquals("sun", description("paris|fr"));
+        writeBehind.close();
+    }
+
+    /**
+     * Test that a full queue makes the caller write its own row.
+     */
+    @Test
+    void testSubmit_FullQueueWritesOnCaller() {
+        // Arrange
+        WeatherWriteBehind writeBehind = writeBehind(1);
+        writeBehind.submit(new WeatherData("London", "UK", "rain"));
+
+        // Act
+        writeBehind.submit(new WeatherData("Tokyo", "JP", "fog"));
+
+        // Assert
+        assertEquals(1, writeBehind.getPending());
+        assertEquals("fog", description("tokyo|jp"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM weather_data WHERE lookup_key = 'london|uk'", Integer.class));
+        writeBehind.close();
+    }
+
+    /**
+     * Test that when the queue is full with older data for the same location pending, the caller's
+     * newer row is written and the next flush does not overwrite it with the older data.
+     */
+    @Test
+    void testSubmit_FullQueueDropsOlderPendingForSameKey() {
+        // Arrange
+        WeatherWriteBehind writeBehind = writeBehind(1);
+        WeatherData older = new WeatherData("London", "UK", "rain");
+        older.setTimestamp(LocalDateTime.now().minusMinutes(5));
+        writeBehind.submit(older);
+
+        // Act
+        writeBehind.submit(new WeatherData("london", "uk", "clear sky"));
+        writeBehind.flush();
+
+        // Assert
+        assertEquals(0, writeBehind.getPending());
+        assertEquals("clear sky", description("london|uk"));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM weather_observation", Integer.class));
+        writeBehind.close();
+    }
+
+    /**
+     * Test that a failed flush keeps the data queued and a later flush writes it.
+     */
+    @Test
+    void testFlush_FailureKeepsData() {
+        // Arrange
+        WeatherWriteBehind writeBehind = writeBehind(100);
+        writeBehind.submit(new WeatherData("Oslo", "NO", "snow"));
+        jdbcTemplate.execute("ALTER TABLE weather_data RENAME TO weather_data_offline");
+
+        // Act
+        writeBehind.flush();
+        int pendingAfterFailure = writeBehind.getPending();
+        jdbcTemplate.execute("ALTER TABLE weather_data_offline RENAME TO weather_data");
+        writeBehind.flush();
+
+        // Assert
+        assertEquals(1, pendingAfterFailure);
+        assertEquals("snow", description("oslo|no"));
+        writeBehind.close();
+    }
+
+    /**
+     * Test that data still queued on shutdown is written.
+     */
+    @Test
+    void testClose_FlushesQueue() {
+        // Arrange
+        WeatherWriteBehind writeBehind = writeBehind(100);
+        writeBehind.submit(new WeatherData("Lima", "PE", "drizzle"));
+
+        // Act
+        writeBehind.close();
+
+        // Assert
+        assertEquals("drizzle", description("lima|pe"));
+    }
+
+    private WeatherWriteBehind writeBehind(int queueCapacity) {
+        // Flushes are triggered by the tests only
+        return new WeatherWriteBehind(jdbcTemplate, transactionTemplate, queueCapacity, 1000, Duration.ofHours(1));
+    }
+
+    private String description(String lookupKey) {
+        return jdbcTemplate.queryForObject("SELECT description FROM weather_data WHERE lookup_key = ?",
+                String.class, lookupKey);
+    }
+}
@@ -1,5 +1,6 @@
 package com.weather.api.weatherapi.controller;
 
+import com.weather.api.weatherapi.repository.ApiKeyRepository;
 import com.weather.api.weatherapi.service.ApiKeyService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 class ApiKeyServiceTest {
 
@@ -15,7 +17,7 @@ class ApiKeyServiceTest {
     @BeforeEach
     void setUp() {
         // Initialize the service with predefined valid API keys
-        apiKeyService = new ApiKeyService();
+        apiKeyService = new ApiKeyService(mock(ApiKeyRepository.class));
     }
 
     /**
@@ -2,14 +2,22 @@ package com.weather.api.weatherapi.controller;
 
 import com.weather.api.weatherapi.dto.*;
 import com.weather.api.weatherapi.exception.*;
+import com.weather.api.weatherapi.health.HealthProbe;
+import com.weather.api.weatherapi.service.WeatherHistoryService;
 import com.weather.api.weatherapi.service.WeatherService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -18,6 +26,12 @@ class WeatherControllerTest {
     @Mock
     private WeatherService weatherService;
 
+    @Mock
+    private WeatherHistoryService weatherHistoryService;
+
+    @Mock
+    private HealthProbe healthProbe;
+
     @InjectMocks
     private WeatherController weatherController;
 
@@ -47,14 +61,61 @@ class WeatherControllerTest {
         verify(weatherService, times(1)).getWeather(city, country, apiKey);
     }
 
+    /**
+     * Test getting a page of weather history.
+     */
+    @Test
+    void testGetHistory_Success() {
+        // Arrange
+        String apiKey = "API_KEY_1_e7dd890a480d1e9547cd9d92b2f803c7";
+        WeatherHistoryResponse page = new WeatherHistoryResponse("Tokyo", "JP",
+                List.of(new WeatherHistoryResponse.Observation("rain", LocalDateTime.of(2025, 4, 1, 12, 0))), "next");
+        when(weatherHistoryService.getHistory("Tokyo", "JP", apiKey, null, null, null, 100)).thenReturn(page);
+
+        // Act
+        ResponseEntity<WeatherHistoryResponse> response =
+                weatherController.getHistory("Tokyo", "JP", apiKey, null, null, null, 100);
+
+        // Assert
+        assertEquals(200, response.getStatusCodeValue());
+        assertSame(page, response.getBody());
+    }
+
+    /**
+     * Test that a batch exceeding the tier limit is answered with 400 and no Retry-After.
+     */
+    @Test
+    void testHandleBatchExceedsTierLimit() {
+        // Act
+        ResponseEntity<ErrorResponse> response = weatherController.handleBatchExceedsTierLimit(
+                new BatchExceedsTierLimitException(100, 5));
+
+        // Assert
+        assertEquals(400, response.getStatusCodeValue());
+        assertEquals("Batch exceeds tier limit of 5 requests", response.getBody().error());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    /**
+     * Test handling an invalid history cursor.
+     */
+    @Test
+    void testHandleInvalidCursor() {
+        // Act
+        ResponseEntity<ErrorResponse> response = weatherController.handleInvalidCursor();
+
+        // Assert
+        assertEquals(400, response.getStatusCodeValue());
+        assertEquals("Invalid cursor", response.getBody().error());
+    }
+
     /**
      * Test health check endpoint.
      */
     @Test
     void testHealthCheck() {
         // Arrange
-        boolean dbHealthy = true;
-        when(weatherService.isDatabaseHealthy()).thenReturn(dbHealthy);
+        when(healthProbe.getDatabase()).thenReturn(new ProbeResult(true, 1, Instant.now(), null));
 
         // Act
         ResponseEntity<HealthResponse> response = weatherController.healthCheck();
@@ -62,7 +123,43 @@ class WeatherControllerTest {
         // Assert
         assertEquals(200, response.getStatusCodeValue());
         assertTrue(response.getBody().databaseHealthy());
-        verify(weatherService, times(1)).isDatabaseHealthy();
+        verify(healthProbe, times(1)).getDatabase();
+    }
+
+    /**
+     * Test that liveness succeeds without consulting any dependency.
+     */
+    @Test
+    void testLiveness() {
+        // Act
+        ResponseEntity<LivenessResponse> response = weatherController.liveness();
+
+        // Assert
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals("UP", response.getBody().status());
+        verifyNoInteractions(healthProbe);
+    }
+
+    /**
+     * Test that readiness is 200 while degraded and 503 while down.
+     */
+    @Test
+    void testReadiness() {
+        // Arrange
+        ProbeResult up = new ProbeResult(true, 1, Instant.now(), null);
+        ProbeResult down = new ProbeResult(false, 1, Instant.now(), "Connection refused");
+        when(healthProbe.getReadiness())
+                .thenReturn(new ReadinessResponse("DEGRADED", up, down))
+                .thenReturn(new ReadinessResponse("DOWN", down, up));
+
+        // Act
+        ResponseEntity<ReadinessResponse> degraded = weatherController.readiness();
+        ResponseEntity<ReadinessResponse> notReady = weatherController.readiness();
+
+        // Assert
+        assertEquals(200, degraded.getStatusCodeValue());
+        assertEquals(503, notReady.getStatusCodeValue());
+        assertEquals("DOWN", notReady.getBody().status());
     }
 
     /**
@@ -84,11 +181,13 @@ class WeatherControllerTest {
     @Test
     void testHandleRateLimitExceeded() {
         // Act
-        ResponseEntity<ErrorResponse> response = weatherController.handleRateLimitExceeded();
+        ResponseEntity<ErrorResponse> response =
+                weatherController.handleRateLimitExceeded(new RateLimitExceededException(Duration.ofMillis(90_500)));
 
         // Assert
         assertEquals(429, response.getStatusCodeValue());
         assertEquals("Rate limit exceeded", response.getBody().error());
+        assertEquals("91", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
     }
 
     /**
@@ -0,0 +1,76 @@
+package com.weather.api.weatherapi.filter;
+
+import com.weather.api.weatherapi.cache.WeatherCache;
+import com.weather.api.weatherapi.dto.WeatherData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyFilterTest {
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private AdaptiveConcurrencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        WeatherCache weatherCache = new WeatherCache(Duration.ofMinutes(10), 100);
+        weatherCache.put(new WeatherData("London", "UK", "clear sky"));
+        limiter = new AdaptiveConcurrencyLimiter(5, 5, 5, 0.8, 1.5, Duration.ofMillis(100));
+        filter = new AdaptiveConcurrencyFilter(limiter, weatherCache, true);
+    }
+
+    /**
+     * Test that at the limit, a cache miss is shed with 503 while a cache hit is still served.
+     */
+    @Test
+    void testDoFilter_MissShedHitServed() throws Exception {
+        // Arrange: 4 requests in flight use the whole share of the limit available to misses
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(true));
+        }
+
+        // Act
+        MockHttpServletResponse miss = filter("Tokyo", "JP");
+        MockHttpServletResponse hit = filter("London", "UK");
+
+        // Assert
+        assertEquals(503, miss.getStatus());
+        assertEquals("1", miss.getHeader("Retry-After"));
+        assertEquals(200, hit.getStatus());
+        assertEquals(4, limiter.getInFlight());
+    }
+
+    /**
+     * Test that public endpoints are never shed.
+     */
+    @Test
+    void testDoFilter_HealthNeverShed() throws Exception {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(false));
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/weather/health");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Assert
+        assertEquals(200, response.getStatus());
+    }
+
+    private MockHttpServletResponse filter(String city, String country) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/weather/getWeather");
+        request.addParameter("city", city);
+        request.addParameter("country", country);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,141 @@
+package com.weather.api.weatherapi.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Duration WINDOW = Duration.ofMillis(100);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * Test that requests needing an upstream fetch are shed before cache hits.
+     */
+    @Test
+    void testTryAcquire_MissesShedFirst() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.8, 1.5, WINDOW, clock::get);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(limiter.tryAcquire(true));
+        }
+
+        // Act & Assert
+        assertFalse(limiter.tryAcquire(true));
+        assertTrue(limiter.tryAcquire(false));
+        assertTrue(limiter.tryAcquire(false));
+        assertFalse(limiter.tryAcquire(false));
+        assertEquals(10, limiter.getInFlight());
+        assertEquals(2, limiter.getShed());
+    }
+
+    /**
+     * Test that a saturated limit grows while latency stays at its baseline.
+     */
+    @Test
+    void testRelease_SteadyLatencyGrowsLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 1, 100, 0.8, 1.5, WINDOW, clock::get);
+
+        // Act
+        for (int window = 0; window < 30; window++) {
+            runSaturatedWindow(limiter, 10);
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() > 40, "limit " + limiter.getLimit());
+        assertTrue(limiter.getLimit() <= 100);
+    }
+
+    /**
+     * Test that the limit shrinks when latency rises well above its baseline, but not below the minimum.
+     */
+    @Test
+    void testRelease_RisingLatencyShrinksLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 5, 100, 0.8, 1.5, WINDOW, clock::get);
+        runSaturatedWindow(limiter, 10);
+        int before = limiter.getLimit();
+
+        // Act
+        for (int window = 0; window < 50; window++) {
+            runSaturatedWindow(limiter, 200);
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() < before / 2, "limit " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 5);
+    }
+
+    /**
+     * Test that a lightly used limit is left unchanged.
+     */
+    @Test
+    void testRelease_IdleLimitUnchanged() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 1, 100, 0.8, 1.5, WINDOW, clock::get);
+
+        // Act: one request at a time
+        for (int i = 0; i < 200; i++) {
+            assertTrue(limiter.tryAcquire(false));
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        // Assert
+        assertEquals(50, limiter.getLimit());
+    }
+
+    /**
+     * Test that concurrent releases across many windows keep the limit within its bounds.
+     */
+    @Test
+    void testRelease_ConcurrentWindowsStayInBounds() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 10, 40, 0.8, 1.5, WINDOW, clock::get);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (limiter.tryAcquire(false)) {
+                        clock.addAndGet(WINDOW.toNanos() / 50);
+                        limiter.release(TimeUnit.MILLISECONDS.toNanos(5));
+                    }
+                }
+            });
+        }
+
+        // Act
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertEquals(0, limiter.getInFlight());
+        assertTrue(limiter.getLimit() >= 10 && limiter.getLimit() <= 40);
+    }
+
+    /**
+     * Fills every permit with cache hits, then releases them all with the given latency, ending the window.
+     */
+    private void runSaturatedWindow(AdaptiveConcurrencyLimiter limiter, long latencyMillis) {
+        int admitted = 0;
+        while (limiter.tryAcquire(false)) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            if (i == admitted - 1) {
+                clock.addAndGet(WINDOW.toNanos());
+            }
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.weather.api.weatherapi.filter;
+
+import com.weather.api.weatherapi.audit.AuditOutcome;
+import com.weather.api.weatherapi.audit.KeyUsageAuditLog;
+import com.weather.api.weatherapi.service.ApiKeyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ApiKeyFilterTest {
+
+    private static final String VALID_API_KEY = "e7dd890a480d1e9547cd9d92b2f803c7";
+
+    private ApiKeyService apiKeyService;
+    private KeyUsageAuditLog auditLog;
+    private ApiKeyFilter apiKeyFilter;
+
+    @BeforeEach
+    void setUp() {
+        apiKeyService = mock(ApiKeyService.class);
+        when(apiKeyService.listApiKeys()).thenReturn(Set.of(VALID_API_KEY));
+        when(apiKeyService.isValidKey(VALID_API_KEY)).thenReturn(true);
+        auditLog = mock(KeyUsageAuditLog.class);
+        apiKeyFilter = new ApiKeyFilter(apiKeyService, auditLog, 16, Duration.ofSeconds(10), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Test that a valid API key passes through to the controller.
+     */
+    @Test
+    void testDoFilter_ValidKey() throws Exception {
+        // Act
+        MockHttpServletResponse response = filter(VALID_API_KEY);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        verify(apiKeyService, times(1)).isValidKey(VALID_API_KEY);
+        assertTrue(ApiKeyAuthentication.isAuthenticated(VALID_API_KEY));
+        verify(auditLog).record(VALID_API_KEY, "/api/weather/getWeather", 200, AuditOutcome.ALLOWED);
+    }
+
+    /**
+     * Test that public endpoints are served without an API key.
+     */
+    @Test
+    void testDoFilter_PublicEndpointSkipsValidation() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/key/list");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        apiKeyFilter.doFilter(request, response, new MockFilterChain());
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        verifyNoInteractions(apiKeyService, auditLog);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    /**
+     * Test that a key ruled out by the Bloom filter is rejected without consulting the key store.
+     */
+    @Test
+    void testDoFilter_InvalidKeyRejectedUpFront() throws Exception {
+        // Act
+        MockHttpServletResponse response = filter("INVALID_API_KEY");
+
+        // Assert
+        assertEquals(403, response.getStatus());
+        assertEquals("{\"error\":\"Invalid API key\"}", response.getContentAsString());
+        verify(apiKeyService, never()).isValidKey("INVALID_API_KEY");
+        verify(auditLog).record("INVALID_API_KEY", "/api/weather/getWeather", 403, AuditOutcome.INVALID_KEY);
+    }
+
+    /**
+     * Test that a rejected key is refused from the negative cache on repeat requests.
+     */
+    @Test
+    void testDoFilter_RepeatOffenderCached() throws Exception {
+        // Arrange: a key that passes the Bloom filter but is not valid
+        BloomFilter bloomFilter = BloomFilter.of(Set.of(VALID_API_KEY), 0.01);
+        String falsePositive = null;
+        for (int i = 0; falsePositive == null; i++) {
+            String candidate = "GUESS_" + i;
+            if (bloomFilter.mightContain(candidate)) {
+                falsePositive = candidate;
+            }
+        }
+
+        // Act
+        assertEquals(403, filter(falsePositive).getStatus());
+        assertEquals(403, filter(falsePositive).getStatus());
+
+        // Assert
+        verify(apiKeyService, times(1)).isValidKey(falsePositive);
+        verify(auditLog, times(1)).record(falsePositive, "/api/weather/getWeather", 403, AuditOutcome.INVALID_KEY);
+    }
+
+    /**
+     * Test that a flood of distinct invalid keys is audited at most the configured number of times per interval.
+     */
+    @Test
+    void testDoFilter_InvalidKeyAuditsLimited() throws Exception {
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertEquals(403, filter("INVALID_API_KEY_" + i).getStatus());
+        }
+
+        // Assert
+        verify(auditLog, times(2)).record(anyString(), anyString(), anyInt(), eq(AuditOutcome.INVALID_KEY));
+    }
+
+    /**
+     * Test that keys too long for the negative cache are rejected without being audited.
+     */
+    @Test
+    void testDoFilter_OversizedKeyNotAudited() throws Exception {
+        // Act
+        assertEquals(403, filter("X".repeat(NegativeCache.MAX_KEY_LENGTH + 1)).getStatus());
+
+        // Assert
+        verify(auditLog, never()).record(anyString(), anyString(), anyInt(), any());
+    }
+
+    /**
+     * Test that a newly added key is accepted even if it was rejected before.
+     */
+    @Test
+    void testDoFilter_KeyChangesResetRejections() throws Exception {
+        // Arrange
+        assertEquals(403, filter("NEW_API_KEY").getStatus());
+        when(apiKeyService.listApiKeys()).thenReturn(Set.of(VALID_API_KEY, "NEW_API_KEY"));
+        when(apiKeyService.isValidKey("NEW_API_KEY")).thenReturn(true);
+
+        // Act & Assert
+        assertEquals(200, filter("NEW_API_KEY").getStatus());
+    }
+
+    private MockHttpServletResponse filter(String apiKey) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/weather/getWeather");
+        request.addParameter("apiKey", apiKey);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        apiKeyFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
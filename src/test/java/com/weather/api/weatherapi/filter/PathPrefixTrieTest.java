@@ -0,0 +1,59 @@
+package com.weather.api.weatherapi.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathPrefixTrieTest {
+
+    private final PathPrefixTrie trie = PathPrefixTrie.compile(List.of("/api/weather/health", "/api/key/**"));
+
+    /**
+     * Test that an exact pattern matches only the path itself.
+     */
+    @Test
+    void testMatches_ExactPath() {
+        // Act & Assert
+        assertTrue(trie.matches("/api/weather/health"));
+        assertFalse(trie.matches("/api/weather/healthz"));
+        assertFalse(trie.matches("/api/weather/health/details"));
+        assertFalse(trie.matches("/api/weather"));
+    }
+
+    /**
+     * Test that a subtree pattern matches its base path and everything below it.
+     */
+    @Test
+    void testMatches_Subtree() {
+        // Act & Assert
+        assertTrue(trie.matches("/api/key"));
+        assertTrue(trie.matches("/api/key/"));
+        assertTrue(trie.matches("/api/key/list"));
+        assertTrue(trie.matches("/api/key/quota/usage"));
+    }
+
+    /**
+     * Test that a subtree pattern does not match sibling paths sharing its prefix.
+     */
+    @Test
+    void testMatches_SiblingPrefixNotMatched() {
+        // Act & Assert
+        assertFalse(trie.matches("/api/keyboard"));
+        assertFalse(trie.matches("/api/ke"));
+        assertFalse(trie.matches("/api/weather/getWeather"));
+    }
+
+    /**
+     * Test that the public endpoints cover the Swagger UI assets that Spring Security permits.
+     */
+    @Test
+    void testPublicEndpoints_SwaggerAssets() {
+        // Act & Assert
+        assertTrue(PublicEndpoints.MATCHER.matches("/swagger-ui.html"));
+        assertTrue(PublicEndpoints.MATCHER.matches("/swagger-ui/index.html"));
+        assertTrue(PublicEndpoints.MATCHER.matches("/v3/api-docs/swagger-config"));
+        assertFalse(PublicEndpoints.MATCHER.matches("/api/weather/getWeather"));
+    }
+}
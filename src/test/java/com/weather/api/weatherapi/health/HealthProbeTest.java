@@ -0,0 +1,137 @@
+package com.weather.api.weatherapi.health;
+
+import com.weather.api.weatherapi.dto.ReadinessResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Exercises {@link HealthProbe} on an embedded H2 database with a stubbed upstream.
+ */
+class HealthProbeTest {
+
+    private static final String UPSTREAM_URL = "http://upstream.test/";
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private EmbeddedDatabase database;
+    private HealthProbe healthProbe;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        healthProbe = new HealthProbe(new JdbcTemplate(database), restTemplate, UPSTREAM_URL, Duration.ofSeconds(5),
+                clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    /**
+     * Test that the instance is not ready before the first probe.
+     */
+    @Test
+    void testGetReadiness_DownBeforeFirstProbe() {
+        // Act
+        ReadinessResponse readiness = healthProbe.getReadiness();
+
+        // Assert
+        assertEquals("DOWN", readiness.status());
+        assertFalse(readiness.database().up());
+    }
+
+    /**
+     * Test that a reachable database and upstream make the instance ready, and that a client error
+     * from the upstream counts as reachable.
+     */
+    @Test
+    void testProbe_Up() {
+        // Arrange
+        when(restTemplate.headForHeaders(UPSTREAM_URL))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.UNAUTHORIZED, "Unauthorized", HttpHeaders.EMPTY,
+                        null, null));
+
+        // Act
+        healthProbe.probe();
+        ReadinessResponse readiness = healthProbe.getReadiness();
+
+        // Assert
+        assertEquals("UP", readiness.status());
+        assertTrue(readiness.database().up());
+        assertTrue(readiness.upstream().up());
+        assertNull(readiness.database().error());
+    }
+
+    /**
+     * Test that an unreachable upstream only degrades the instance.
+     */
+    @Test
+    void testProbe_UpstreamUnreachableDegraded() {
+        // Arrange
+        when(restTemplate.headForHeaders(UPSTREAM_URL)).thenThrow(new ResourceAccessException("Connection refused"));
+
+        // Act
+        healthProbe.probe();
+        ReadinessResponse readiness = healthProbe.getReadiness();
+
+        // Assert
+        assertEquals("DEGRADED", readiness.status());
+        assertTrue(readiness.database().up());
+        assertEquals("Connection refused", readiness.upstream().error());
+    }
+
+    /**
+     * Test that a database failure makes the instance not ready.
+     */
+    @Test
+    void testProbe_DatabaseDown() {
+        // Arrange
+        JdbcTemplate unreachable = mock(JdbcTemplate.class);
+        when(unreachable.queryForObject("SELECT 1", Integer.class))
+                .thenThrow(new CannotGetJdbcConnectionException("Connection refused"));
+        healthProbe = new HealthProbe(unreachable, restTemplate, UPSTREAM_URL, Duration.ofSeconds(5), clock::get);
+
+        // Act
+        healthProbe.probe();
+
+        // Assert
+        assertEquals("DOWN", healthProbe.getReadiness().status());
+        assertEquals("Connection refused", healthProbe.getDatabase().error());
+    }
+
+    /**
+     * Test that results older than three intervals are reported as down.
+     */
+    @Test
+    void testGetDatabase_StaleResultDown() {
+        // Arrange
+        healthProbe.probe();
+        assertTrue(healthProbe.getDatabase().up());
+
+        // Act
+        clock.addAndGet(Duration.ofSeconds(16).toMillis());
+
+        // Assert
+        assertFalse(healthProbe.getDatabase().up());
+        assertEquals("Probe result is stale", healthProbe.getDatabase().error());
+        assertEquals("DOWN", healthProbe.getReadiness().status());
+    }
+}
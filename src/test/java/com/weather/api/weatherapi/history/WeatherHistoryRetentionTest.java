@@ -0,0 +1,118 @@
+package com.weather.api.weatherapi.history;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises {@link WeatherHistoryRetention} on an embedded H2 database with the application's schema.
+ */
+class WeatherHistoryRetentionTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 4, 10);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private WeatherHistoryRetention retention;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+                .addScripts("db/migration/V1__baseline.sql", "db/migration/V2__weather_data_lookup_key.sql",
+                        "db/migration/V3__weather_observation.sql", "db/migration/V4__runtime_tables.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        retention = new WeatherHistoryRetention(jdbcTemplate, 7, 1, 2, () -> TODAY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    /**
+     * Test that days past the retention period are deleted, over several chunks.
+     */
+    @Test
+    void testRun_DeletesExpiredDays() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            insert("london|uk", TODAY.minusDays(8).atTime(i, 0));
+        }
+        insert("london|uk", TODAY.minusDays(7).atTime(10, 0));
+        insert("london|uk", TODAY.atTime(10, 0));
+
+        // Act
+        retention.run();
+
+        // Assert
+        assertEquals(0, count("observed_day < ?", TODAY.minusDays(7)));
+        assertEquals(2, count("1 = 1"));
+    }
+
+    /**
+     * Test that completed days are thinned to the last observation per location and hour, and today is left alone.
+     */
+    @Test
+    void testRun_CompactsCompletedDays() {
+        // Arrange
+        LocalDateTime yesterday = TODAY.minusDays(1).atTime(9, 0);
+        insert("london|uk", yesterday.plusMinutes(5));
+        insert("london|uk", yesterday.plusMinutes(15));
+        insert("london|uk", yesterday.plusMinutes(25));
+        insert("london|uk", yesterday.plusHours(1));
+        insert("tokyo|jp", yesterday.plusMinutes(5));
+        insert("london|uk", TODAY.atTime(9, 5));
+        insert("london|uk", TODAY.atTime(9, 15));
+
+        // Act
+        retention.run();
+
+        // Assert
+        assertEquals(3, count("observed_day = ?", TODAY.minusDays(1)));
+        assertEquals(1, count("lookup_key = 'london|uk' AND observed_at = ?", yesterday.plusMinutes(25)));
+        assertEquals(2, count("observed_day = ?", TODAY));
+    }
+
+    /**
+     * Test that days missed while maintenance did not run are compacted on the next run.
+     */
+    @Test
+    void testRun_CatchesUpMissedDays() {
+        // Arrange
+        AtomicReference<LocalDate> today = new AtomicReference<>(TODAY.minusDays(6));
+        WeatherHistoryRetention paused = new WeatherHistoryRetention(jdbcTemplate, 7, 1, 2, today::get);
+        paused.run();
+        LocalDateTime missed = TODAY.minusDays(5).atTime(9, 0);
+        insert("london|uk", missed.plusMinutes(5));
+        insert("london|uk", missed.plusMinutes(15));
+        insert("london|uk", missed.plusMinutes(25));
+
+        // Act: the next run comes five days later
+        today.set(TODAY);
+        paused.run();
+
+        // Assert
+        assertEquals(1, count("observed_day = ?", TODAY.minusDays(5)));
+        assertEquals(1, count("observed_at = ?", missed.plusMinutes(25)));
+    }
+
+    private void insert(String lookupKey, LocalDateTime observedAt) {
+        jdbcTemplate.update("INSERT INTO weather_observation (lookup_key, city, country, description, observed_at, observed_day) "
+                + "VALUES (?, 'city', 'country', 'rain', ?, ?)", lookupKey, observedAt, observedAt.toLocalDate());
+    }
+
+    private int count(String condition, Object... args) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM weather_observation WHERE " + condition, Integer.class, args);
+    }
+}
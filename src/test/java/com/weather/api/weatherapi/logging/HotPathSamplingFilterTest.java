@@ -0,0 +1,78 @@
+package com.weather.api.weatherapi.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MarkerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotPathSamplingFilterTest {
+
+    private Logger logger;
+    private HotPathSamplingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        logger = new LoggerContext().getLogger("test");
+        logger.setLevel(Level.INFO);
+        filter = new HotPathSamplingFilter();
+        filter.setSampleRate(100);
+    }
+
+    /**
+     * Test that roughly one in sampleRate hot-path lines is kept.
+     */
+    @Test
+    void testDecide_SamplesHotPathLines() {
+        // Act
+        int kept = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.decide(HotPath.MARKER, logger, Level.INFO, "line", null, null) == FilterReply.NEUTRAL) {
+                kept++;
+            }
+        }
+
+        // Assert
+        assertTrue(kept > 700 && kept < 1_300, "kept " + kept);
+    }
+
+    /**
+     * Test that lines without the hot-path marker are never dropped.
+     */
+    @Test
+    void testDecide_OtherLinesUnaffected() {
+        // Act & Assert
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, "line", null, null));
+        assertEquals(FilterReply.NEUTRAL,
+                filter.decide(MarkerFactory.getMarker("OTHER"), logger, Level.INFO, "line", null, null));
+    }
+
+    /**
+     * Test that a sample rate of 1 keeps every hot-path line.
+     */
+    @Test
+    void testDecide_SampleRateOneKeepsAll() {
+        // Arrange
+        filter.setSampleRate(1);
+
+        // Act & Assert
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(HotPath.MARKER, logger, Level.INFO, "line", null, null));
+        }
+    }
+
+    /**
+     * Test that API keys are masked down to their first four characters.
+     */
+    @Test
+    void testMask() {
+        // Act & Assert
+        assertEquals("e7dd****", HotPath.mask("e7dd890a480d1e9547cd9d92b2f803c7"));
+        assertEquals("****", HotPath.mask("abc"));
+        assertEquals("****", HotPath.mask(null));
+    }
+}
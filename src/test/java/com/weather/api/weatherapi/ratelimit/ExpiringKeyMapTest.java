@@ -0,0 +1,84 @@
+package com.weather.api.weatherapi.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringKeyMapTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private ExpiringKeyMap<AtomicLong> expiringKeyMap;
+
+    @BeforeEach
+    void setUp() {
+        // Each value is its own deadline
+        expiringKeyMap = new ExpiringKeyMap<>(AtomicLong::get, clock::get, 10, Duration.ofSeconds(1));
+    }
+
+    /**
+     * Test that each entry expires on its own deadline rather than all at once.
+     */
+    @Test
+    void testExpire_EntriesAgeOutIndividually() {
+        // Arrange
+        expiringKeyMap.get("API_KEY_1", k -> new AtomicLong(seconds(5)));
+        expiringKeyMap.get("API_KEY_2", k -> new AtomicLong(seconds(20)));
+
+        // Act
+        clock.set(seconds(10));
+        expiringKeyMap.expire();
+
+        // Assert
+        assertNull(expiringKeyMap.getIfPresent("API_KEY_1"));
+        assertNotNull(expiringKeyMap.getIfPresent("API_KEY_2"));
+        assertEquals(1, expiringKeyMap.size());
+    }
+
+    /**
+     * Test that an entry whose deadline moved forward is re-scheduled instead of expired.
+     */
+    @Test
+    void testExpire_ExtendedDeadlineKeepsEntry() {
+        // Arrange
+        AtomicLong value = expiringKeyMap.get("API_KEY_1", k -> new AtomicLong(seconds(5)));
+        value.set(seconds(600));
+
+        // Act
+        clock.set(seconds(60));
+        expiringKeyMap.expire();
+
+        // Assert
+        assertEquals(1, expiringKeyMap.size());
+
+        clock.set(seconds(601));
+        expiringKeyMap.expire();
+        assertEquals(0, expiringKeyMap.size());
+    }
+
+    /**
+     * Test that exceeding the key cap evicts the entries closest to expiry.
+     */
+    @Test
+    void testGet_EvictsOverCap() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            long deadline = seconds(100 + i);
+            expiringKeyMap.get("API_KEY_" + i, k -> new AtomicLong(deadline));
+        }
+
+        // Act
+        expiringKeyMap.get("API_KEY_NEW", k -> new AtomicLong(seconds(500)));
+
+        // Assert
+        assertTrue(expiringKeyMap.size() <= 10);
+        assertNotNull(expiringKeyMap.getIfPresent("API_KEY_NEW"));
+    }
+
+    private static long seconds(long seconds) {
+        return Duration.ofSeconds(seconds).toNanos();
+    }
+}
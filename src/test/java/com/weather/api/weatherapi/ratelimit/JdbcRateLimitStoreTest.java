@@ -0,0 +1,97 @@
+package com.weather.api.weatherapi.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises {@link JdbcRateLimitStore} on an embedded H2 database standing in for the shared database.
+ */
+class JdbcRateLimitStoreTest {
+
+    private static final RateLimitTier TIER = new RateLimitTier(10, Duration.ofMinutes(10));
+
+    private final AtomicLong clock = new AtomicLong(Duration.ofDays(1).toNanos());
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private JdbcRateLimitStore node1;
+    private JdbcRateLimitStore node2;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+                .addScripts("db/migration/V1__baseline.sql", "db/migration/V2__weather_data_lookup_key.sql",
+                        "db/migration/V3__weather_observation.sql", "db/migration/V4__runtime_tables.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database));
+        node1 = new JdbcRateLimitStore(jdbcTemplate, transactionTemplate, clock::get);
+        node2 = new JdbcRateLimitStore(jdbcTemplate, transactionTemplate, clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    /**
+     * Test that reservations from two nodes draw from the same bucket and are partially granted when it runs low.
+     */
+    @Test
+    void testReserve_SharedBucket() {
+        // Act
+        Reservation first = node1.reserve("API_KEY_1", 6, TIER);
+        Reservation second = node2.reserve("API_KEY_1", 6, TIER);
+
+        // Assert
+        assertEquals(6, first.granted());
+        assertEquals(4, second.granted());
+        assertEquals(0, second.remaining());
+        assertEquals(Duration.ofMinutes(1).toNanos(), second.retryAfterNanos());
+        assertEquals(0, node1.peek("API_KEY_1", TIER).remaining());
+    }
+
+    /**
+     * Test that released tokens can be reserved again, but never beyond a full bucket.
+     */
+    @Test
+    void testRelease_ReturnsTokens() {
+        // Arrange
+        node1.reserve("API_KEY_1", 6, TIER);
+
+        // Act
+        node1.release("API_KEY_1", 4, TIER);
+        node2.release("API_KEY_1", 4, TIER);
+
+        // Assert
+        assertEquals(10, node2.peek("API_KEY_1", TIER).remaining());
+    }
+
+    /**
+     * Test that full buckets are deleted and the key starts again with full quota.
+     */
+    @Test
+    void testExpireIdle_DeletesFullBuckets() {
+        // Arrange
+        node1.reserve("API_KEY_1", 10, TIER);
+
+        // Act
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+        node1.expireIdle();
+
+        // Assert
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rate_limit_bucket", Integer.class));
+        assertEquals(10, node2.reserve("API_KEY_1", 10, TIER).granted());
+    }
+}
@@ -0,0 +1,160 @@
+package com.weather.api.weatherapi.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeasedRateLimiterTest {
+
+    private static final RateLimitTier TIER = new RateLimitTier(1000, Duration.ofHours(1));
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger storeCalls = new AtomicInteger();
+    private RateLimitStore store;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryRateLimitStore inMemoryStore = new InMemoryRateLimitStore(clock::get, 100, Duration.ofSeconds(1));
+        store = new RateLimitStore() {
+            @Override
+            public Reservation reserve(String key, long permits, RateLimitTier tier) {
+                storeCalls.incrementAndGet();
+                return inMemoryStore.reserve(key, permits, tier);
+            }
+
+            @Override
+            public void release(String key, long permits, RateLimitTier tier) {
+                inMemoryStore.release(key, permits, tier);
+            }
+
+            @Override
+            public Reservation peek(String key, RateLimitTier tier) {
+                return inMemoryStore.peek(key, tier);
+            }
+
+            @Override
+            public void expireIdle() {
+                inMemoryStore.expireIdle();
+            }
+
+            @Override
+            public void clear() {
+                inMemoryStore.clear();
+            }
+        };
+    }
+
+    /**
+     * Test that requests are admitted from a local lease and the store is consulted once per batch.
+     */
+    @Test
+    void testTryAcquire_LeasesTokensInBatches() {
+        // Arrange
+        LeasedRateLimiter rateLimiter = limiter();
+
+        // Act
+        for (int i = 0; i < 25; i++) {
+            assertTrue(rateLimiter.tryAcquire("API_KEY_1", 1, TIER).allowed());
+        }
+
+        // Assert: 1% of the limit (10 tokens) per lease
+        assertEquals(3, storeCalls.get());
+    }
+
+    /**
+     * Test that two nodes sharing a store admit no more than the key's quota between them.
+     */
+    @Test
+    void testTryAcquire_LimitIsGlobalAcrossNodes() {
+        // Arrange
+        LeasedRateLimiter node1 = limiter();
+        LeasedRateLimiter node2 = limiter();
+
+        // Act
+        int admitted = 0;
+        for (int i = 0; i < 1500; i++) {
+            LeasedRateLimiter node = i % 2 == 0 ? node1 : node2;
+            if (node.tryAcquire("API_KEY_1", 1, TIER).allowed()) {
+                admitted++;
+            }
+        }
+
+        // Assert
+        assertEquals(1000, admitted);
+        assertFalse(node1.tryAcquire("API_KEY_1", 1, TIER).allowed());
+    }
+
+    /**
+     * Test that an exhausted key is rejected locally until the store can grant a token again.
+     */
+    @Test
+    void testTryAcquire_RejectsLocallyUntilRetryAfter() {
+        // Arrange
+        LeasedRateLimiter rateLimiter = limiter();
+        assertTrue(rateLimiter.tryAcquire("API_KEY_1", 1000, TIER).allowed());
+        RateLimitDecision rejected = rateLimiter.tryAcquire("API_KEY_1", 1, TIER);
+        int callsAfterRejection = storeCalls.get();
+
+        // Act
+        RateLimitDecision rejectedAgain = rateLimiter.tryAcquire("API_KEY_1", 1, TIER);
+
+        // Assert
+        assertFalse(rejected.allowed());
+        assertEquals(Duration.ofMillis(3600), rejected.retryAfter());
+        assertFalse(rejectedAgain.allowed());
+        assertEquals(callsAfterRejection, storeCalls.get());
+    }
+
+    /**
+     * Test that a key sending a request every few seconds gets its full quota although each request
+     * outlives its lease.
+     */
+    @Test
+    void testTryAcquire_ExpiredLeasesRefunded() {
+        // Arrange: one request every 4 seconds stays below 1000 per hour
+        LeasedRateLimiter rateLimiter = new LeasedRateLimiter(store, clock::get, 100, Duration.ofSeconds(1), 100,
+                Duration.ofSeconds(1));
+
+        // Act
+        int admitted = 0;
+        for (int i = 0; i < 900; i++) {
+            if (rateLimiter.tryAcquire("API_KEY_1", 1, TIER).allowed()) {
+                admitted++;
+            }
+            clock.addAndGet(Duration.ofSeconds(4).toNanos());
+            rateLimiter.expireIdle();
+        }
+
+        // Assert
+        assertEquals(900, admitted);
+        assertEquals(0, rateLimiter.size());
+    }
+
+    /**
+     * Test that a lease refilled after expiring, but before it was refunded, keeps its unused tokens.
+     */
+    @Test
+    void testTryAcquire_ExpiredLeaseReusedOnRefill() {
+        // Arrange
+        LeasedRateLimiter rateLimiter = new LeasedRateLimiter(store, clock::get, 100, Duration.ofSeconds(1), 100,
+                Duration.ofSeconds(1));
+        assertTrue(rateLimiter.tryAcquire("API_KEY_1", 1, TIER).allowed());
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        // Act
+        RateLimitDecision decision = rateLimiter.tryAcquire("API_KEY_1", 1, TIER);
+
+        // Assert: the second lease only topped up the 9 tokens left
+        assertTrue(decision.allowed());
+        assertEquals(998, decision.remaining());
+    }
+
+    private LeasedRateLimiter limiter() {
+        return new LeasedRateLimiter(store, clock::get, 100, Duration.ofMinutes(1), 100, Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,55 @@
+package com.weather.api.weatherapi.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowRateLimiterTest {
+
+    private static final RateLimitTier TIER = new RateLimitTier(10, Duration.ofMinutes(10));
+
+    private final AtomicLong clock = new AtomicLong();
+    private SlidingWindowRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new SlidingWindowRateLimiter(clock::get);
+    }
+
+    /**
+     * Test that the limit applies within a window and rejected requests consume nothing.
+     */
+    @Test
+    void testTryAcquire_LimitWithinWindow() {
+        // Act
+        assertTrue(rateLimiter.tryAcquire("API_KEY_1", 8, TIER).allowed());
+        RateLimitDecision rejected = rateLimiter.tryAcquire("API_KEY_1", 3, TIER);
+
+        // Assert
+        assertFalse(rejected.allowed());
+        assertEquals(2, rejected.remaining());
+        assertTrue(rateLimiter.tryAcquire("API_KEY_1", 2, TIER).allowed());
+    }
+
+    /**
+     * Test that the previous window still counts, weighted by its overlap, so quota does not reset at the boundary.
+     */
+    @Test
+    void testTryAcquire_PreviousWindowWeighted() {
+        // Arrange
+        assertTrue(rateLimiter.tryAcquire("API_KEY_1", 10, TIER).allowed());
+
+        // Act: a quarter into the next window, 75% of the previous window's requests still count
+        clock.set(Duration.ofMinutes(12).plusSeconds(30).toNanos());
+
+        // Assert
+        assertTrue(rateLimiter.tryAcquire("API_KEY_1", 2, TIER).allowed());
+        RateLimitDecision rejected = rateLimiter.tryAcquire("API_KEY_1", 1, TIER);
+        assertFalse(rejected.allowed());
+        assertEquals(30, rejected.retryAfterSeconds());
+    }
+}
@@ -0,0 +1,71 @@
+package com.weather.api.weatherapi.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private static final RateLimitTier TIER = new RateLimitTier(5, Duration.ofMinutes(5));
+
+    private final AtomicLong clock = new AtomicLong();
+    private TokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new TokenBucketRateLimiter(clock::get);
+    }
+
+    /**
+     * Test that a full bucket admits a burst up to the limit and reports when the next request fits.
+     */
+    @Test
+    void testTryAcquire_BurstThenRetryAfter() {
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertTrue(rateLimiter.tryAcquire("API_KEY_1", 1, TIER).allowed());
+        }
+        RateLimitDecision rejected = rateLimiter.tryAcquire("API_KEY_1", 1, TIER);
+
+        // Assert
+        assertFalse(rejected.allowed());
+        assertEquals(0, rejected.remaining());
+        assertEquals(Duration.ofMinutes(1), rejected.retryAfter());
+    }
+
+    /**
+     * Test that quota refills one request per emission interval rather than all at once.
+     */
+    @Test
+    void testTryAcquire_RefillsGradually() {
+        // Arrange
+        assertTrue(rateLimiter.tryAcquire("API_KEY_1", 5, TIER).allowed());
+
+        // Act
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        // Assert
+        RateLimitDecision decision = rateLimiter.tryAcquire("API_KEY_1", 1, TIER);
+        assertTrue(decision.allowed());
+        assertEquals(0, decision.remaining());
+        assertFalse(rateLimiter.tryAcquire("API_KEY_1", 1, TIER).allowed());
+    }
+
+    /**
+     * Test that probing reports the quota without consuming it.
+     */
+    @Test
+    void testProbe_DoesNotConsume() {
+        // Act
+        RateLimitDecision probe = rateLimiter.probe("API_KEY_1", 1, TIER);
+
+        // Assert
+        assertTrue(probe.allowed());
+        assertEquals(4, probe.remaining());
+        assertEquals(4, rateLimiter.tryAcquire("API_KEY_1", 1, TIER).remaining());
+    }
+}
@@ -1,19 +1,27 @@
 package com.weather.api.weatherapi.service;
 
+import com.weather.api.weatherapi.entity.ApiKey;
+import com.weather.api.weatherapi.repository.ApiKeyRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
 
 class ApiKeyServiceTest {
 
+    private ApiKeyRepository apiKeyRepository;
     private ApiKeyService apiKeyService;
 
     @BeforeEach
     void setUp() {
-        apiKeyService = new ApiKeyService(); // Use the actual service, not a mock
+        apiKeyRepository = mock(ApiKeyRepository.class); // Empty database: the predefined keys are seeded
+        apiKeyService = new ApiKeyService(apiKeyRepository); // Use the actual service, not a mock
     }
 
     /**
@@ -69,4 +77,68 @@ class ApiKeyServiceTest {
         Set<String> actualKeys = apiKeyService.listApiKeys();
         assertEquals(expectedKeys, actualKeys);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that the predefined keys are seeded into an empty database.
+     */
+    @Test
+    void testConstructor_SeedsEmptyDatabase() {
+        verify(apiKeyRepository, times(1)).saveAll(anyList());
+    }
+
+    /**
+     * Test that keys already in the database are loaded instead of the predefined keys.
+     */
+    @Test
+    void testConstructor_LoadsKeysFromDatabase() {
+        // Arrange
+        ApiKeyRepository populatedRepository = mock(ApiKeyRepository.class);
+        when(populatedRepository.count()).thenReturn(1L);
+        when(populatedRepository.findAll()).thenReturn(List.of(new ApiKey("STORED_API_KEY")));
+
+        // Act
+        ApiKeyService service = new ApiKeyService(populatedRepository);
+
+        // Assert
+        assertEquals(Set.of("STORED_API_KEY"), service.listApiKeys());
+        verify(populatedRepository, never()).saveAll(anyList());
+    }
+
+    /**
+     * Test that reloading unchanged keys keeps the same snapshot, and a change replaces it.
+     */
+    @Test
+    void testReload_KeepsSnapshotWhenUnchanged() {
+        // Arrange
+        ApiKeyRepository populatedRepository = mock(ApiKeyRepository.class);
+        when(populatedRepository.count()).thenReturn(1L);
+        when(populatedRepository.findAll()).thenReturn(List.of(new ApiKey("STORED_API_KEY")));
+        ApiKeyService service = new ApiKeyService(populatedRepository);
+        Set<String> snapshot = service.listApiKeys();
+
+        // Act
+        service.reload();
+        Set<String> unchanged = service.listApiKeys();
+        when(populatedRepository.findAll()).thenReturn(List.of(new ApiKey("STORED_API_KEY"), new ApiKey("OTHER_API_KEY")));
+        service.reload();
+
+        // Assert
+        assertSame(snapshot, unchanged);
+        assertEquals(Set.of("STORED_API_KEY", "OTHER_API_KEY"), service.listApiKeys());
+    }
+
+    /**
+     * Test that adding and deleting keys is written to the database.
+     */
+    @Test
+    void testAddAndDeleteApiKey_Persisted() {
+        String newApiKey = "NEW_API_KEY_1234567890abcdef";
+
+        apiKeyService.addApiKey(newApiKey);
+        apiKeyService.deleteApiKey(newApiKey);
+
+        verify(apiKeyRepository, times(1)).save(any(ApiKey.class));
+        verify(apiKeyRepository, times(1)).deleteByApiKey(newApiKey);
+        assertFalse(apiKeyService.isValidKey(newApiKey));
+    }
+}
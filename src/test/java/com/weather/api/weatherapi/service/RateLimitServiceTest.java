@@ -1,5 +1,6 @@
 package com.weather.api.weatherapi.service;
 
+import com.weather.api.weatherapi.exception.BatchExceedsTierLimitException;
 import com.weather.api.weatherapi.exception.RateLimitExceededException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -49,6 +50,39 @@ class RateLimitServiceTest {
         assertEquals("Rate limit exceeded", exception.getMessage());
     }
 
+    /**
+     * Test that a multi-permit request counts each permit and a rejected one consumes nothing.
+     */
+    @Test
+    void testValidateRateLimit_MultiplePermits() {
+        String apiKey = "API_KEY_1";
+
+        // Use 3 of the 5 allowed requests
+        assertDoesNotThrow(() -> rateLimitService.validateRateLimit(apiKey, 3));
+
+        // A batch of 3 more would exceed the limit
+        assertThrows(RateLimitExceededException.class, () -> rateLimitService.validateRateLimit(apiKey, 3));
+
+        // The remaining 2 requests are still available
+        assertDoesNotThrow(() -> rateLimitService.validateRateLimit(apiKey, 2));
+    }
+
+    /**
+     * Test that a batch larger than the tier limit is rejected as a client error and consumes nothing.
+     */
+    @Test
+    void testValidateRateLimit_BatchExceedsTierLimit() {
+        String apiKey = "API_KEY_1";
+
+        // 6 permits can never fit in a tier of 5 requests per hour
+        BatchExceedsTierLimitException exception = assertThrows(BatchExceedsTierLimitException.class,
+                () -> rateLimitService.validateRateLimit(apiKey, 6));
+        assertEquals(5, exception.getLimit());
+
+        // The full quota is still available
+        assertDoesNotThrow(() -> rateLimitService.validateRateLimit(apiKey, 5));
+    }
+
     /**
      * Test resetting the request counts after an hour.
      */
@@ -0,0 +1,118 @@
+package com.weather.api.weatherapi.service;
+
+import com.weather.api.weatherapi.cache.WeatherCache;
+import com.weather.api.weatherapi.cache.WeatherWriteBehind;
+import com.weather.api.weatherapi.dto.WeatherData;
+import com.weather.api.weatherapi.exception.InvalidApiKeyException;
+import com.weather.api.weatherapi.exception.WeatherServiceException;
+import com.weather.api.weatherapi.upstream.ReactiveWeatherClient;
+import com.weather.api.weatherapi.usage.UsageMeter;
+import com.weather.api.weatherapi.usage.UsageMetric;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveWeatherServiceTest {
+
+    @Mock
+    private ReactiveWeatherClient weatherClient;
+
+    @Spy
+    private WeatherCache weatherCache = new WeatherCache(Duration.ofMinutes(10), 100);
+
+    @Mock
+    private WeatherWriteBehind weatherWriteBehind;
+
+    @Mock
+    private RateLimitService rateLimitService;
+
+    @Mock
+    private ApiKeyService apiKeyService;
+
+    @Mock
+    private UsageMeter usageMeter;
+
+    @InjectMocks
+    private ReactiveWeatherService reactiveWeatherService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Test that a cache hit is returned without calling OpenWeatherMap.
+     */
+    @Test
+    void testGetWeather_CacheHit() {
+        // Arrange
+        when(apiKeyService.isValidKey("VALID_API_KEY")).thenReturn(true);
+        weatherCache.put(new WeatherData("London", "UK", "clear sky"));
+
+        // Act
+        WeatherData result = reactiveWeatherService.getWeather("London", "UK", "VALID_API_KEY").block();
+
+        // Assert
+        assertEquals("clear sky", result.getDescription());
+        verify(rateLimitService, times(1)).validateRateLimit("VALID_API_KEY");
+        verify(usageMeter, times(1)).record("VALID_API_KEY", UsageMetric.CACHE_HITS);
+        verifyNoInteractions(weatherClient);
+    }
+
+    /**
+     * Test that a miss is fetched from OpenWeatherMap and cached.
+     */
+    @Test
+    void testGetWeather_MissFetchedAndCached() {
+        // Arrange
+        when(apiKeyService.isValidKey("VALID_API_KEY")).thenReturn(true);
+        when(weatherClient.fetchDescription("Tokyo", "JP", "VALID_API_KEY")).thenReturn(Mono.just("rain"));
+
+        // Act
+        WeatherData result = reactiveWeatherService.getWeather("Tokyo", "JP", "VALID_API_KEY").block();
+
+        // Assert
+        assertEquals("rain", result.getDescription());
+        assertTrue(weatherCache.get("Tokyo", "JP").isPresent());
+        verify(weatherWriteBehind, timeout(1000)).submit(any(WeatherData.class));
+    }
+
+    /**
+     * Test that an invalid API key is signalled as an error without any upstream call.
+     */
+    @Test
+    void testGetWeather_InvalidApiKey() {
+        // Arrange
+        when(apiKeyService.isValidKey("INVALID_API_KEY")).thenReturn(false);
+
+        // Act & Assert
+        Mono<WeatherData> result = reactiveWeatherService.getWeather("London", "UK", "INVALID_API_KEY");
+        assertThrows(InvalidApiKeyException.class, result::block);
+        verify(rateLimitService, never()).validateRateLimit(anyString());
+        verifyNoInteractions(weatherClient);
+    }
+
+    /**
+     * Test that an upstream failure is propagated as a WeatherServiceException.
+     */
+    @Test
+    void testGetWeather_UpstreamFailure() {
+        // Arrange
+        when(apiKeyService.isValidKey("VALID_API_KEY")).thenReturn(true);
+        when(weatherClient.fetchDescription("Atlantis", "XX", "VALID_API_KEY"))
+                .thenReturn(Mono.error(new WeatherServiceException("upstream down")));
+
+        // Act & Assert
+        Mono<WeatherData> result = reactiveWeatherService.getWeather("Atlantis", "XX", "VALID_API_KEY");
+        assertThrows(WeatherServiceException.class, result::block);
+    }
+}
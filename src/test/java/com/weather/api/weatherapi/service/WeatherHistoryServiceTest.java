@@ -0,0 +1,119 @@
+package com.weather.api.weatherapi.service;
+
+import com.weather.api.weatherapi.dto.WeatherHistoryResponse;
+import com.weather.api.weatherapi.entity.WeatherObservation;
+import com.weather.api.weatherapi.exception.InvalidApiKeyException;
+import com.weather.api.weatherapi.exception.InvalidCursorException;
+import com.weather.api.weatherapi.history.HistoryCursor;
+import com.weather.api.weatherapi.repository.WeatherObservationRepository;
+import com.weather.api.weatherapi.usage.UsageMeter;
+import com.weather.api.weatherapi.usage.UsageMetric;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WeatherHistoryServiceTest {
+
+    private static final String API_KEY = "VALID_API_KEY";
+    private static final LocalDateTime NOON = LocalDateTime.of(2025, 4, 1, 12, 0);
+
+    @Mock
+    private WeatherObservationRepository observationRepository;
+
+    @Mock
+    private RateLimitService rateLimitService;
+
+    @Mock
+    private ApiKeyService apiKeyService;
+
+    @Mock
+    private UsageMeter usageMeter;
+
+    @InjectMocks
+    private WeatherHistoryService weatherHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(apiKeyService.isValidKey(API_KEY)).thenReturn(true);
+    }
+
+    /**
+     * Test that a full page returns a cursor pointing at its last observation.
+     */
+    @Test
+    void testGetHistory_FullPageHasCursor() {
+        // Arrange: one row more than the limit means there is a next page
+        when(observationRepository.findPageBefore(eq("london|uk"), any(), any(), eq(Long.MIN_VALUE), eq(PageRequest.of(0, 3))))
+                .thenReturn(List.of(observation(3, NOON), observation(2, NOON.minusHours(1)),
+                        observation(1, NOON.minusHours(2))));
+
+        // Act
+        WeatherHistoryResponse page = weatherHistoryService.getHistory("London", "UK", API_KEY, null, null, null, 2);
+
+        // Assert
+        assertEquals(2, page.observations().size());
+        assertEquals(NOON, page.observations().get(0).observedAt());
+        assertEquals(new HistoryCursor(NOON.minusHours(1), 2), HistoryCursor.decode(page.nextCursor()));
+        verify(usageMeter, times(1)).record(API_KEY, UsageMetric.REQUESTS);
+    }
+
+    /**
+     * Test that the next page starts after the cursor and the last page has no cursor.
+     */
+    @Test
+    void testGetHistory_NextPageFromCursor() {
+        // Arrange
+        String cursor = new HistoryCursor(NOON.minusHours(1), 2).encode();
+        when(observationRepository.findPageBefore(eq("london|uk"), any(), eq(NOON.minusHours(1)), eq(2L), any()))
+                .thenReturn(List.of(observation(1, NOON.minusHours(2))));
+
+        // Act
+        WeatherHistoryResponse page = weatherHistoryService.getHistory("London", "UK", API_KEY, null, null, cursor, 2);
+
+        // Assert
+        assertEquals(1, page.observations().size());
+        assertNull(page.nextCursor());
+    }
+
+    /**
+     * Test that a malformed cursor is rejected.
+     */
+    @Test
+    void testGetHistory_InvalidCursor() {
+        // Act & Assert
+        assertThrows(InvalidCursorException.class,
+                () -> weatherHistoryService.getHistory("London", "UK", API_KEY, null, null, "not-a-cursor", 10));
+        verify(observationRepository, never()).findPageBefore(any(), any(), any(), anyLong(), any());
+    }
+
+    /**
+     * Test that an invalid API key is rejected before the history is read.
+     */
+    @Test
+    void testGetHistory_InvalidApiKey() {
+        // Act & Assert
+        assertThrows(InvalidApiKeyException.class,
+                () -> weatherHistoryService.getHistory("London", "UK", "INVALID", null, null, null, 10));
+        verifyNoInteractions(observationRepository);
+    }
+
+    private static WeatherObservation observation(long id, LocalDateTime observedAt) {
+        WeatherObservation observation = new WeatherObservation();
+        observation.setId(id);
+        observation.setLookupKey("london|uk");
+        observation.setDescription("rain");
+        observation.setObservedAt(observedAt);
+        observation.setObservedDay(observedAt.toLocalDate());
+        return observation;
+    }
+}
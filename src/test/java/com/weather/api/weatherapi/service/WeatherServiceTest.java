@@ -1,19 +1,41 @@
 package com.weather.api.weatherapi.service;
 
+import com.weather.api.weatherapi.cache.BackgroundRefresher;
+import com.weather.api.weatherapi.cache.HotKeyTracker;
+import com.weather.api.weatherapi.cache.WeatherCache;
+import com.weather.api.weatherapi.cache.WeatherKey;
+import com.weather.api.weatherapi.cache.WeatherWriteBehind;
 import com.weather.api.weatherapi.dto.WeatherApiResponse;
+import com.weather.api.weatherapi.dto.WeatherBatchRequest;
+import com.weather.api.weatherapi.dto.WeatherBatchResult;
 import com.weather.api.weatherapi.dto.WeatherData;
 import com.weather.api.weatherapi.exception.InvalidApiKeyException;
+import com.weather.api.weatherapi.exception.RateLimitExceededException;
+import com.weather.api.weatherapi.exception.UpstreamUnavailableException;
 import com.weather.api.weatherapi.exception.WeatherServiceException;
 import com.weather.api.weatherapi.repository.WeatherRepository;
+import com.weather.api.weatherapi.upstream.UpstreamFetchExecutor;
+import com.weather.api.weatherapi.upstream.UpstreamGuard;
+import com.weather.api.weatherapi.usage.UsageMeter;
+import com.weather.api.weatherapi.usage.UsageMetric;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,6 +54,27 @@ class WeatherServiceTest {
     @Mock
     private ApiKeyService apiKeyService; // Add mock for ApiKeyService
 
+    @Spy
+    private WeatherCache weatherCache = new WeatherCache(Duration.ofMinutes(10), 100);
+
+    @Mock
+    private BackgroundRefresher backgroundRefresher;
+
+    @Mock
+    private UpstreamFetchExecutor upstreamFetchExecutor;
+
+    @Mock
+    private HotKeyTracker hotKeyTracker;
+
+    @Mock
+    private UsageMeter usageMeter;
+
+    @Mock
+    private WeatherWriteBehind weatherWriteBehind;
+
+    @Spy
+    private UpstreamGuard upstreamGuard = new UpstreamGuard(CircuitBreakerConfig.ofDefaults(), BulkheadConfig.ofDefaults());
+
     @InjectMocks
     private WeatherService weatherService;
 
@@ -58,7 +101,7 @@ class WeatherServiceTest {
 
         // Mock cached data
         WeatherData cachedData = new WeatherData(city, country, "clear sky");
-        when(weatherRepository.findByCityAndCountry(city, country)).thenReturn(Optional.of(cachedData));
+        when(weatherRepository.findReadOnly(city, country)).thenReturn(Optional.of(cachedData));
 
         // Act
         WeatherData result = weatherService.getWeather(city, country, validApiKey);
@@ -70,8 +113,9 @@ class WeatherServiceTest {
         // Verify interactions
         verify(apiKeyService, times(1)).isValidKey(validApiKey);
         verify(rateLimitService, times(1)).validateRateLimit(validApiKey);
-        verify(weatherRepository, times(1)).findByCityAndCountry(city, country);
+        verify(weatherRepository, times(1)).findReadOnly(city, country);
         verify(restTemplate, never()).getForObject(anyString(), eq(WeatherApiResponse.class));
+        verify(hotKeyTracker, times(1)).record(city, country, validApiKey);
     }
 
     /**
@@ -96,7 +140,7 @@ class WeatherServiceTest {
         // Verify that subsequent methods are not called
         verify(apiKeyService, times(1)).isValidKey(invalidApiKey);
         verify(rateLimitService, never()).validateRateLimit(anyString());
-        verify(weatherRepository, never()).findByCityAndCountry(anyString(), anyString());
+        verify(weatherRepository, never()).findReadOnly(anyString(), anyString());
         verify(restTemplate, never()).getForObject(anyString(), eq(WeatherApiResponse.class));
     }
     /**
@@ -116,7 +160,7 @@ class WeatherServiceTest {
         doNothing().when(rateLimitService).validateRateLimit(validApiKey);
 
         // Mock no cached data
-        when(weatherRepository.findByCityAndCountry(city, country)).thenReturn(Optional.empty());
+        when(weatherRepository.findReadOnly(city, country)).thenReturn(Optional.empty());
 
         // Mock OpenWeatherMap API response
         WeatherApiResponse apiResponse = new WeatherApiResponse();
@@ -125,10 +169,6 @@ class WeatherServiceTest {
         apiResponse.setWeather(Collections.singletonList(weatherItem));
         when(restTemplate.getForObject(anyString(), eq(WeatherApiResponse.class))).thenReturn(apiResponse);
 
-        // Mock saving to the database
-        WeatherData savedData = new WeatherData(city, country, "clear sky");
-        when(weatherRepository.save(any(WeatherData.class))).thenReturn(savedData);
-
         // Act
         WeatherData result = weatherService.getWeather(city, country, validApiKey);
 
@@ -139,9 +179,9 @@ class WeatherServiceTest {
         // Verify interactions
         verify(apiKeyService, times(1)).isValidKey(validApiKey);
         verify(rateLimitService, times(1)).validateRateLimit(validApiKey);
-        verify(weatherRepository, times(1)).findByCityAndCountry(city, country);
+        verify(weatherRepository, times(1)).findReadOnly(city, country);
         verify(restTemplate, times(1)).getForObject(anyString(), eq(WeatherApiResponse.class));
-        verify(weatherRepository, times(1)).save(any(WeatherData.class));
+        verify(weatherWriteBehind, times(1)).submit(any(WeatherData.class));
     }
 
     /**
@@ -161,7 +201,7 @@ class WeatherServiceTest {
         doNothing().when(rateLimitService).validateRateLimit(validApiKey);
 
         // Mock no cached data
-        when(weatherRepository.findByCityAndCountry(city, country)).thenReturn(Optional.empty());
+        when(weatherRepository.findReadOnly(city, country)).thenReturn(Optional.empty());
 
         // Mock OpenWeatherMap API response as null
         when(restTemplate.getForObject(anyString(), eq(WeatherApiResponse.class))).thenReturn(null);
@@ -175,39 +215,230 @@ class WeatherServiceTest {
         // Verify interactions
         verify(apiKeyService, times(1)).isValidKey(validApiKey);
         verify(rateLimitService, times(1)).validateRateLimit(validApiKey);
-        verify(weatherRepository, times(1)).findByCityAndCountry(city, country);
+        verify(weatherRepository, times(1)).findReadOnly(city, country);
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(WeatherApiResponse.class));
+        verify(hotKeyTracker, never()).record(anyString(), anyString(), anyString());
+    }
+
+    /**
+     * Test that a second request for the same city is served from the in-memory cache.
+     */
+    @Test
+    void testGetWeather_InMemoryCacheHit_SkipsRepository() {
+        // Arrange
+        String city = "London";
+        String country = "UK";
+        String validApiKey = "VALID_API_KEY";
+        when(apiKeyService.isValidKey(validApiKey)).thenReturn(true);
+        WeatherData cachedData = new WeatherData(city, country, "clear sky");
+        when(weatherRepository.findReadOnly(city, country)).thenReturn(Optional.of(cachedData));
+
+        // Act
+        weatherService.getWeather(city, country, validApiKey);
+        WeatherData result = weatherService.getWeather("london", "uk", validApiKey);
+
+        // Assert
+        assertEquals("clear sky", result.getDescription());
+        verify(weatherRepository, times(1)).findReadOnly(city, country);
+        verify(weatherRepository, never()).findReadOnly("london", "uk");
+    }
+
+    /**
+     * Test that requests, cache hits and upstream fetches are metered per API key.
+     */
+    @Test
+    void testGetWeather_UsageMetered() {
+        // Arrange
+        String validApiKey = "VALID_API_KEY";
+        when(apiKeyService.isValidKey(validApiKey)).thenReturn(true);
+        weatherCache.put(new WeatherData("London", "UK", "clear sky"));
+        WeatherApiResponse response = new WeatherApiResponse();
+        WeatherApiResponse.Weather weather = new WeatherApiResponse.Weather();
+        weather.setDescription("rain");
+        response.setWeather(List.of(weather));
+        when(restTemplate.getForObject(anyString(), eq(WeatherApiResponse.class))).thenReturn(response);
+        when(weatherRepository.findReadOnly("Tokyo", "JP")).thenReturn(Optional.empty());
+
+        // Act
+        weatherService.getWeather("London", "UK", validApiKey);
+        weatherService.getWeather("Tokyo", "JP", validApiKey);
+
+        // Assert
+        verify(usageMeter, times(2)).record(validApiKey, UsageMetric.REQUESTS);
+        verify(usageMeter, times(1)).record(validApiKey, UsageMetric.CACHE_HITS);
+        verify(usageMeter, times(1)).record(validApiKey, UsageMetric.UPSTREAM_FETCHES);
+    }
+
+    /**
+     * Test that a rate limit rejection is metered and not counted as a request.
+     */
+    @Test
+    void testGetWeather_RateLimitRejectionMetered() {
+        // Arrange
+        String validApiKey = "VALID_API_KEY";
+        when(apiKeyService.isValidKey(validApiKey)).thenReturn(true);
+        doThrow(new RateLimitExceededException(Duration.ofMinutes(1))).when(rateLimitService).validateRateLimit(validApiKey);
+
+        // Act & Assert
+        assertThrows(RateLimitExceededException.class, () -> weatherService.getWeather("London", "UK", validApiKey));
+        verify(usageMeter, times(1)).record(validApiKey, UsageMetric.REJECTIONS);
+        verify(usageMeter, never()).record(validApiKey, UsageMetric.REQUESTS);
+    }
+
+    /**
+     * Test that a database row older than the TTL is refetched and queued for writing instead of returned.
+     */
+    @Test
+    void testGetWeather_StaleDatabaseRow_Refetched() {
+        // Arrange
+        String city = "Paris";
+        String country = "FR";
+        String validApiKey = "VALID_API_KEY";
+        when(apiKeyService.isValidKey(validApiKey)).thenReturn(true);
+        WeatherData staleData = new WeatherData(city, country, "rain");
+        staleData.setTimestamp(LocalDateTime.now().minusHours(1));
+        when(weatherRepository.findReadOnly(city, country)).thenReturn(Optional.of(staleData));
+
+        WeatherApiResponse apiResponse = new WeatherApiResponse();
+        WeatherApiResponse.Weather weatherItem = new WeatherApiResponse.Weather();
+        weatherItem.setDescription("clear sky");
+        apiResponse.setWeather(Collections.singletonList(weatherItem));
+        when(restTemplate.getForObject(anyString(), eq(WeatherApiResponse.class))).thenReturn(apiResponse);
+
+        // Act
+        WeatherData result = weatherService.getWeather(city, country, validApiKey);
+
+        // Assert
+        assertEquals("clear sky", result.getDescription());
+        verify(weatherWriteBehind, times(1)).submit(argThat(data ->
+                "paris|fr".equals(data.getLookupKey()) && "clear sky".equals(data.getDescription())));
+        verify(weatherRepository, never()).save(any(WeatherData.class));
+    }
+
+    /**
+     * Test that a stale entry is served immediately and refreshed in the background.
+     */
+    @Test
+    void testGetWeather_StaleWhileRevalidate_ServesStaleAndRefreshes() {
+        // Arrange
+        String city = "Berlin";
+        String country = "DE";
+        String validApiKey = "VALID_API_KEY";
+        when(apiKeyService.isValidKey(validApiKey)).thenReturn(true);
+        WeatherData staleData = new WeatherData(city, country, "fog");
+        staleData.setTimestamp(LocalDateTime.now().minusMinutes(30));
+        doReturn(Optional.of(staleData)).when(weatherCache).getStale(city, country);
+
+        // Act
+        WeatherData result = weatherService.getWeather(city, country, validApiKey);
+
+        // Assert
+        assertSame(staleData, result);
+        verify(backgroundRefresher, times(1)).submit(eq(WeatherKey.of(city, country)), any(Runnable.class));
+        verify(weatherRepository, never()).findReadOnly(anyString(), anyString());
+        verify(restTemplate, never()).getForObject(anyString(), eq(WeatherApiResponse.class));
+    }
+
+    /**
+     * Test a batch lookup with a duplicate location, a database hit and an upstream miss.
+     */
+    @Test
+    void testGetWeatherBatch_DedupesAndFetchesOnlyMisses() {
+        // Arrange
+        String validApiKey = "VALID_API_KEY";
+        when(apiKeyService.isValidKey(validApiKey)).thenReturn(true);
+        when(weatherRepository.findReadOnly(Set.of("london|uk", "tokyo|jp")))
+                .thenReturn(List.of(new WeatherData("London", "UK", "clear sky")));
+        when(upstreamFetchExecutor.submit(any())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(invocation.<Supplier<?>>getArgument(0).get()));
+
+        WeatherApiResponse apiResponse = new WeatherApiResponse();
+        WeatherApiResponse.Weather weatherItem = new WeatherApiResponse.Weather();
+        weatherItem.setDescription("rain");
+        apiResponse.setWeather(Collections.singletonList(weatherItem));
+        when(restTemplate.getForObject(anyString(), eq(WeatherApiResponse.class))).thenReturn(apiResponse);
+
+        List<WeatherBatchRequest.Location> locations = List.of(
+                new WeatherBatchRequest.Location("London", "UK"),
+                new WeatherBatchRequest.Location("Tokyo", "JP"),
+                new WeatherBatchRequest.Location("london", "uk"));
+
+        // Act
+        List<WeatherBatchResult> results = weatherService.getWeatherBatch(locations, validApiKey);
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals("clear sky", results.get(0).description());
+        assertEquals("rain", results.get(1).description());
+        assertEquals("clear sky", results.get(2).description());
+        verify(rateLimitService, times(1)).validateRateLimit(validApiKey, 2);
+        verify(weatherRepository, times(1)).findReadOnly(anyCollection());
         verify(restTemplate, times(1)).getForObject(anyString(), eq(WeatherApiResponse.class));
     }
 
     /**
-     * Test database health check success.
+     * Test that a failed upstream fetch is reported per location instead of failing the batch.
      */
     @Test
-    void testIsDatabaseHealthy_Success() {
+    void testGetWeatherBatch_PerItemError() {
         // Arrange
-        when(weatherRepository.healthCheck()).thenReturn(1);
+        String validApiKey = "VALID_API_KEY";
+        when(apiKeyService.isValidKey(validApiKey)).thenReturn(true);
+        when(weatherRepository.findReadOnly(anyCollection())).thenReturn(List.of());
+        when(upstreamFetchExecutor.submit(any()))
+                .thenReturn(CompletableFuture.failedFuture(new WeatherServiceException("upstream down")));
 
         // Act
-        boolean isHealthy = weatherService.isDatabaseHealthy();
+        List<WeatherBatchResult> results = weatherService.getWeatherBatch(
+                List.of(new WeatherBatchRequest.Location("Atlantis", "XX")), validApiKey);
 
         // Assert
-        assertTrue(isHealthy);
-        verify(weatherRepository, times(1)).healthCheck();
+        assertEquals(1, results.size());
+        assertNull(results.get(0).description());
+        assertEquals("External service unavailable", results.get(0).error());
+        verify(hotKeyTracker, never()).record(anyString(), anyString(), anyString());
     }
 
     /**
-     * Test database health check failure.
+     * Test that the last known data is returned, flagged as stale, while the circuit is open.
      */
     @Test
-    void testIsDatabaseHealthy_Failure() {
+    void testGetWeather_CircuitOpen_ReturnsLastKnownData() {
         // Arrange
-        when(weatherRepository.healthCheck()).thenThrow(new RuntimeException("Database connection failed"));
+        String city = "Oslo";
+        String country = "NO";
+        String validApiKey = "VALID_API_KEY";
+        when(apiKeyService.isValidKey(validApiKey)).thenReturn(true);
+        WeatherData staleData = new WeatherData(city, country, "snow");
+        staleData.setTimestamp(LocalDateTime.now().minusHours(2));
+        when(weatherRepository.findReadOnly(city, country)).thenReturn(Optional.of(staleData));
+        doThrow(new UpstreamUnavailableException("OpenWeatherMap circuit breaker is open"))
+                .when(upstreamGuard).call(any());
 
         // Act
-        boolean isHealthy = weatherService.isDatabaseHealthy();
+        WeatherData result = weatherService.getWeather(city, country, validApiKey);
 
         // Assert
-        assertFalse(isHealthy);
-        verify(weatherRepository, times(1)).healthCheck();
+        assertTrue(result.isStale());
+        assertEquals("snow", result.getDescription());
+        assertFalse(staleData.isStale());
+        verify(weatherWriteBehind, never()).submit(any(WeatherData.class));
+    }
+
+    /**
+     * Test that the request fails fast while the circuit is open and nothing is known.
+     */
+    @Test
+    void testGetWeather_CircuitOpen_NoLastKnownData() {
+        // Arrange
+        String validApiKey = "VALID_API_KEY";
+        when(apiKeyService.isValidKey(validApiKey)).thenReturn(true);
+        when(weatherRepository.findReadOnly("Lima", "PE")).thenReturn(Optional.empty());
+        doThrow(new UpstreamUnavailableException("OpenWeatherMap circuit breaker is open"))
+                .when(upstreamGuard).call(any());
+
+        // Act & Assert
+        assertThrows(UpstreamUnavailableException.class, () -> weatherService.getWeather("Lima", "PE", validApiKey));
+        verify(restTemplate, never()).getForObject(anyString(), eq(WeatherApiResponse.class));
     }
 }
\ No newline at end of file
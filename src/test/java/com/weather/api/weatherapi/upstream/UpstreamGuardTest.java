@@ -0,0 +1,153 @@
+package com.weather.api.weatherapi.upstream;
+
+import com.sun.net.httpserver.HttpServer;
+import com.weather.api.weatherapi.exception.UpstreamUnavailableException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises {@link UpstreamGuard} against a local OpenWeatherMap stub that injects errors and latency.
+ */
+class UpstreamGuardTest {
+
+    private HttpServer stub;
+    private ExecutorService stubExecutor;
+    private RestTemplate restTemplate;
+    private String baseUrl;
+
+    private volatile int stubStatus = 200;
+    private volatile long stubLatencyMs = 0;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stubExecutor = Executors.newCachedThreadPool();
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/data/2.5/weather", exchange -> {
+            try {
+                Thread.sleep(stubLatencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"weather\":[{\"description\":\"clear sky\"}]}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(stubStatus, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stub.setExecutor(stubExecutor);
+        stub.start();
+        baseUrl = "http://127.0.0.1:" + stub.getAddress().getPort() + "/data/2.5/weather";
+        restTemplate = new RestTemplate(new SimpleClientHttpRequestFactory());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    /**
+     * Test that upstream errors open the circuit and later calls are rejected without reaching the stub.
+     */
+    @Test
+    void testCall_ErrorsOpenCircuit() {
+        // Arrange
+        UpstreamGuard guard = new UpstreamGuard(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build(), BulkheadConfig.ofDefaults());
+        stubStatus = 500;
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpServerErrorException.class, () -> guard.call(() -> restTemplate.getForObject(baseUrl, String.class)));
+        }
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, guard.getState());
+        stubStatus = 200;
+        assertThrows(UpstreamUnavailableException.class, () -> guard.call(() -> restTemplate.getForObject(baseUrl, String.class)));
+    }
+
+    /**
+     * Test that slow upstream calls open the circuit once the slow-call rate threshold is reached.
+     */
+    @Test
+    void testCall_SlowCallsOpenCircuit() {
+        // Arrange
+        UpstreamGuard guard = new UpstreamGuard(CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .slowCallDurationThreshold(Duration.ofMillis(50))
+                .slowCallRateThreshold(100)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build(), BulkheadConfig.ofDefaults());
+        stubLatencyMs = 150;
+
+        // Act
+        for (int i = 0; i < 2; i++) {
+            assertEquals(200, guard.call(() -> restTemplate.getForEntity(baseUrl, String.class)).getStatusCode().value());
+        }
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, guard.getState());
+    }
+
+    /**
+     * Test that calls beyond the bulkhead limit are rejected immediately.
+     */
+    @Test
+    void testCall_BulkheadFull() throws Exception {
+        // Arrange
+        UpstreamGuard guard = new UpstreamGuard(CircuitBreakerConfig.ofDefaults(), BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<String> first = caller.submit(() -> guard.call(() -> {
+                inFlight.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "first";
+            }));
+            assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+
+            // Act & Assert
+            assertThrows(UpstreamUnavailableException.class, () -> guard.call(() -> "second"));
+            release.countDown();
+            assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        } finally {
+            caller.shutdownNow();
+        }
+    }
+}
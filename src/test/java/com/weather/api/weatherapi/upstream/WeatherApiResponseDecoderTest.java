@@ -0,0 +1,76 @@
+package com.weather.api.weatherapi.upstream;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.weather.api.weatherapi.dto.WeatherApiResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeatherApiResponseDecoderTest {
+
+    private final WeatherApiResponseDecoder decoder = new WeatherApiResponseDecoder();
+
+    /**
+     * Test decoding the first description from a full OpenWeatherMap document.
+     */
+    @Test
+    void testDecode_FullDocument() throws IOException {
+        // Arrange
+        String json = """
+                {"coord":{"lon":-0.13,"lat":51.51},
+                 "weather":[{"id":800,"main":"Clear","description":"clear sky","icon":"01d"},
+                            {"id":701,"main":"Mist","description":"mist","icon":"50d"}],
+                 "base":"stations","main":{"temp":289.92,"humidity":72},
+                 "name":"London","cod":200}
+                """;
+
+        // Act
+        WeatherApiResponse response = decoder.decode(body(json));
+
+        // Assert
+        assertEquals(1, response.getWeather().size());
+        assertEquals("clear sky", response.getWeather().get(0).getDescription());
+    }
+
+    /**
+     * Test that an empty "weather" array decodes to an empty list.
+     */
+    @Test
+    void testDecode_EmptyWeatherArray() throws IOException {
+        // Act
+        WeatherApiResponse response = decoder.decode(body("{\"weather\":[],\"cod\":200}"));
+
+        // Assert
+        assertTrue(response.getWeather().isEmpty());
+    }
+
+    /**
+     * Test that a document without "weather" decodes to a null list.
+     */
+    @Test
+    void testDecode_MissingWeather() throws IOException {
+        // Act
+        WeatherApiResponse response = decoder.decode(body("{\"cod\":\"404\",\"message\":\"city not found\"}"));
+
+        // Assert
+        assertNull(response.getWeather());
+    }
+
+    /**
+     * Test that a body which is not a JSON object is rejected.
+     */
+    @Test
+    void testDecode_NotAnObject() {
+        // Act & Assert
+        assertThrows(JsonParseException.class, () -> decoder.decode(body("[1,2,3]")));
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
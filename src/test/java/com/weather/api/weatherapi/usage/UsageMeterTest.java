@@ -0,0 +1,129 @@
+package com.weather.api.weatherapi.usage;
+
+import com.weather.api.weatherapi.dto.ApiKeyUsage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises {@link UsageMeter} on an embedded H2 database.
+ */
+class UsageMeterTest {
+
+    private static final Instant HOUR = Instant.parse("2025-04-01T10:00:00Z");
+
+    private final AtomicLong clock = new AtomicLong(HOUR.plus(Duration.ofMinutes(5)).toEpochMilli());
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private UsageMeter usageMeter;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+                .addScripts("db/migration/V1__baseline.sql", "db/migration/V2__weather_data_lookup_key.sql",
+                        "db/migration/V3__weather_observation.sql", "db/migration/V4__runtime_tables.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database));
+        usageMeter = new UsageMeter(jdbcTemplate, transactionTemplate, clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    /**
+     * Test that counts are reported before a flush and unchanged after it.
+     */
+    @Test
+    void testGetUsage_PendingAndFlushed() {
+        // Arrange
+        usageMeter.record("key-1", UsageMetric.REQUESTS, 3);
+        usageMeter.record("key-1", UsageMetric.CACHE_HITS, 2);
+        usageMeter.record("key-1", UsageMetric.UPSTREAM_FETCHES);
+        usageMeter.record("key-2", UsageMetric.REJECTIONS);
+
+        // Act
+        ApiKeyUsage pending = usageMeter.getUsage("key-1", null, null);
+        usageMeter.flush();
+        ApiKeyUsage flushed = usageMeter.getUsage("key-1", null, null);
+
+        // Assert
+        assertEquals(new ApiKeyUsage("key-1", null, null, 3, 2, 1, 0), pending);
+        assertEquals(pending, flushed);
+        assertEquals(1, usageMeter.getUsage("key-2", null, null).rejections());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM api_key_usage", Integer.class));
+    }
+
+    /**
+     * Test that flushes in the same hour add to one row and flushes in another hour start a new one.
+     */
+    @Test
+    void testFlush_AccumulatesPerHour() {
+        // Arrange
+        usageMeter.record("key-1", UsageMetric.REQUESTS, 2);
+        usageMeter.flush();
+        usageMeter.record("key-1", UsageMetric.REQUESTS, 5);
+        usageMeter.flush();
+        clock.addAndGet(Duration.ofHours(1).toMillis());
+        usageMeter.record("key-1", UsageMetric.REQUESTS, 10);
+        usageMeter.flush();
+
+        // Act
+        ApiKeyUsage firstHour = usageMeter.getUsage("key-1", HOUR, HOUR.plus(Duration.ofHours(1)));
+        ApiKeyUsage secondHour = usageMeter.getUsage("key-1", HOUR.plus(Duration.ofHours(1)), null);
+        ApiKeyUsage total = usageMeter.getUsage("key-1", null, null);
+
+        // Assert
+        assertEquals(7, firstHour.requests());
+        assertEquals(10, secondHour.requests());
+        assertEquals(17, total.requests());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM api_key_usage", Integer.class));
+    }
+
+    /**
+     * Test that unflushed counts are left out of periods that end before the current hour.
+     */
+    @Test
+    void testGetUsage_PendingOutsidePeriod() {
+        // Arrange
+        usageMeter.record("key-1", UsageMetric.REQUESTS);
+
+        // Act
+        ApiKeyUsage earlier = usageMeter.getUsage("key-1", HOUR.minus(Duration.ofHours(1)), HOUR);
+
+        // Assert
+        assertEquals(0, earlier.requests());
+    }
+
+    /**
+     * Test that counts drained by a failed flush are kept and written by the next one.
+     */
+    @Test
+    void testFlush_FailureKeepsCounts() {
+        // Arrange
+        usageMeter.record("key-1", UsageMetric.REQUESTS, 4);
+        jdbcTemplate.execute("ALTER TABLE api_key_usage RENAME TO api_key_usage_offline");
+
+        // Act
+        usageMeter.flush();
+        jdbcTemplate.execute("ALTER TABLE api_key_usage_offline RENAME TO api_key_usage");
+        usageMeter.flush();
+
+        // Assert
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT requests FROM api_key_usage", Long.class));
+    }
+}